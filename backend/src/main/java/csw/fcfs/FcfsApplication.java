@@ -8,7 +8,19 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
-@EnableConfigurationProperties(csw.fcfs.storage.StorageProperties.class)
+@EnableConfigurationProperties({
+		csw.fcfs.storage.StorageProperties.class,
+		csw.fcfs.claim.ClaimJournalProperties.class,
+		csw.fcfs.claim.ClaimOutboxProperties.class,
+		csw.fcfs.claim.ClaimSoldOutProperties.class,
+		csw.fcfs.claim.ClaimAsyncProperties.class,
+		csw.fcfs.claim.WaitingRoomProperties.class,
+		csw.fcfs.service.ClaimBatchProperties.class,
+		csw.fcfs.config.cache.LayeredCacheProperties.class,
+		csw.fcfs.post.PublicFeedProperties.class,
+		csw.fcfs.post.PostLifecycleProperties.class,
+		csw.fcfs.config.ratelimit.RateLimitProperties.class
+})
 @EnableAsync
 public class FcfsApplication {
 
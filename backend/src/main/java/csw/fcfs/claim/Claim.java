@@ -12,14 +12,20 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "ux_claim_post_user", columnNames = {"post_id", "user_id"}),
+        indexes = @Index(name = "ix_claim_post_rank", columnList = "post_id, rank"))
 @Getter
 @Builder
 @NoArgsConstructor
@@ -38,6 +44,14 @@ public class Claim {
     @JoinColumn(name = "user_id")
     private UserAccount user;
 
+    // Redis가 부여한 게시물 내 당첨 순번 (FCFS 순서, hot-post 샤딩 게시물은 null)
+    @Column(name = "rank")
+    private Long rank;
+
+    // Redis 서버가 클레임을 수락한 시각 (DB 기록 시각과 무관)
+    @Column(name = "accepted_at")
+    private Instant acceptedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
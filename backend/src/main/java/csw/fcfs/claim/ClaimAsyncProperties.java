@@ -0,0 +1,20 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("claim.async")
+public class ClaimAsyncProperties {
+
+    // 노드당 동시에 Redis 응답을 기다릴 수 있는 최대 클레임 수 (초과 시 즉시 BUSY)
+    private int maxInFlight = 10_000;
+
+    // Redis 응답 대기 최대 시간 (초과 시 TIMEOUT - 클레임 결과는 재요청으로 확인)
+    private Duration timeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,107 @@
+package csw.fcfs.claim;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저널 엔트리를 JPA 대신 JDBC로 한 트랜잭션에 반영
+ * - 연속된 CLAIM은 multi-row INSERT 한 문장으로 묶는다.
+ * - DECLAIM을 만나면 앞선 INSERT를 먼저 실행해 같은 게시물 내 순서를 보존한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 배치 전체를 하나의 트랜잭션(커넥션 1회 체크아웃)으로 기록
+     */
+    public void write(List<ClaimJournalEntry> entries) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ClaimJournalEntry> inserts = new ArrayList<>();
+            for (ClaimJournalEntry entry : entries) {
+                if (entry.operation() == ClaimJournalEntry.Operation.CLAIM) {
+                    inserts.add(entry);
+                } else {
+                    insertAll(inserts);
+                    inserts.clear();
+                    delete(entry);
+                }
+            }
+            insertAll(inserts);
+        });
+    }
+
+    /**
+     * 1건 단위 기록 결과
+     *
+     * @param written   커밋된 엔트리
+     * @param retryable 일시적 오류로 기록하지 못해 재시도가 필요한 엔트리
+     *                  (무결성 위반처럼 재시도해도 실패할 엔트리는 어느 쪽에도 포함되지 않음)
+     */
+    public record Outcome(List<ClaimJournalEntry> written, List<ClaimJournalEntry> retryable) {
+    }
+
+    /**
+     * 배치 실패 시 문제 행만 걸러내기 위한 1건 단위 기록
+     * (무결성 위반처럼 재시도해도 실패할 엔트리는 로그만 남기고 제외)
+     */
+    public Outcome writeEach(List<ClaimJournalEntry> entries) {
+        List<ClaimJournalEntry> written = new ArrayList<>(entries.size());
+        List<ClaimJournalEntry> retryable = new ArrayList<>();
+        for (ClaimJournalEntry entry : entries) {
+            try {
+                write(List.of(entry));
+                written.add(entry);
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping {} for user {} and post {}: {}",
+                        entry.operation(), entry.userId(), entry.postId(), e.getMessage());
+            } catch (Exception e) {
+                log.error("Failed to persist {} for user {} and post {}: {}",
+                        entry.operation(), entry.userId(), entry.postId(), e.getMessage());
+                retryable.add(entry);
+            }
+        }
+        return new Outcome(written, retryable);
+    }
+
+    private void insertAll(List<ClaimJournalEntry> inserts) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO claim (post_id, user_id, rank, accepted_at, created_at) VALUES ");
+        Object[] params = new Object[inserts.size() * 5];
+        int i = 0;
+        for (ClaimJournalEntry entry : inserts) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?, ?, ?, ?, ?)");
+            params[i++] = entry.postId();
+            params[i++] = entry.userId();
+            params[i++] = entry.rank();
+            params[i++] = Timestamp.from(entry.acceptedAt());
+            params[i++] = Timestamp.from(entry.acceptedAt());
+        }
+        // outbox 재전송 시 중복 행이 생기지 않도록 (post_id, user_id) 유니크 인덱스 기준으로 무시
+        sql.append(" ON CONFLICT (post_id, user_id) DO NOTHING");
+        jdbcTemplate.update(sql.toString(), params);
+    }
+
+    private void delete(ClaimJournalEntry entry) {
+        jdbcTemplate.update("DELETE FROM claim WHERE post_id = ? AND user_id = ?", entry.postId(), entry.userId());
+    }
+}
@@ -0,0 +1,170 @@
+package csw.fcfs.claim;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.user.Role;
+
+/**
+ * ClaimDescriptor / ClaimUser 전용 Redis 값 직렬화기
+ * <p>
+ * JSON(+default typing) 대신 필드 순서가 고정된 바이너리로 기록한다.
+ * [버전 1B][타입 1B][필드...] - 시각은 epoch micros(PostgreSQL 정밀도), enum은 ordinal.
+ * enum 순서나 필드 구성이 바뀌면 VERSION을 올린다. 버전이 다른 값은 캐시 미스로 처리되어 다시 적재된다.
+ */
+public class ClaimCacheCodec implements RedisSerializer<Object> {
+
+    static final byte VERSION = 2;
+
+    private static final byte DESCRIPTOR = 1;
+    private static final byte USER = 2;
+
+    private static final byte NULL_ORDINAL = -1;
+
+    private static final PostVisibility[] VISIBILITIES = PostVisibility.values();
+    private static final ClaimEngineType[] ENGINES = ClaimEngineType.values();
+    private static final Role[] ROLES = Role.values();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof ClaimDescriptor descriptor) {
+            return serialize(descriptor);
+        }
+        if (value instanceof ClaimUser user) {
+            return serialize(user);
+        }
+        throw new SerializationException("Unsupported claim cache value: " + value.getClass().getName());
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 2 || bytes[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        try {
+            return switch (bytes[1]) {
+                case DESCRIPTOR -> readDescriptor(buffer);
+                case USER -> readUser(buffer);
+                default -> throw new SerializationException("Unknown claim cache value type: " + bytes[1]);
+            };
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Corrupted claim cache value", e);
+        }
+    }
+
+    private static byte[] serialize(ClaimDescriptor d) {
+        byte[] title = utf8(d.title());
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 8 + 2 + 8 + 1 + 9 + 9 + 4 + (title != null ? title.length : 0) + 2 + 1 + 1)
+                .put(VERSION).put(DESCRIPTOR)
+                .putLong(d.postId())
+                .putShort(d.quota())
+                .putLong(d.ownerId())
+                .put(ordinal(d.visibility()));
+        putInstant(buffer, d.openAt());
+        putInstant(buffer, d.closeAt());
+        putBytes(buffer, title);
+        buffer.putShort(d.claimShards())
+                .put(ordinal(d.engine()))
+                .put((byte) (d.waitingRoom() ? 1 : 0));
+        return trimmed(buffer);
+    }
+
+    private static ClaimDescriptor readDescriptor(ByteBuffer buffer) {
+        return new ClaimDescriptor(
+                buffer.getLong(),
+                buffer.getShort(),
+                buffer.getLong(),
+                enumAt(VISIBILITIES, buffer.get()),
+                getInstant(buffer),
+                getInstant(buffer),
+                getString(buffer),
+                buffer.getShort(),
+                enumAt(ENGINES, buffer.get()),
+                buffer.get() == 1
+        );
+    }
+
+    private static byte[] serialize(ClaimUser u) {
+        byte[] email = utf8(u.email());
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 8 + 4 + (email != null ? email.length : 0) + 1 + 1)
+                .put(VERSION).put(USER)
+                .putLong(u.id());
+        putBytes(buffer, email);
+        buffer.put(ordinal(u.role()))
+                .put((byte) (u.premium() ? 1 : 0));
+        return trimmed(buffer);
+    }
+
+    private static ClaimUser readUser(ByteBuffer buffer) {
+        return new ClaimUser(
+                buffer.getLong(),
+                getString(buffer),
+                enumAt(ROLES, buffer.get()),
+                buffer.get() == 1
+        );
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NULL_ORDINAL : (byte) value.ordinal();
+    }
+
+    private static <E> E enumAt(E[] values, byte ordinal) {
+        return ordinal == NULL_ORDINAL ? null : values[ordinal];
+    }
+
+    // null 여부 1B + epoch micros 8B
+    private static void putInstant(ByteBuffer buffer, Instant instant) {
+        if (instant == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        buffer.put((byte) 1).putLong(ChronoUnit.MICROS.between(Instant.EPOCH, instant));
+    }
+
+    private static Instant getInstant(ByteBuffer buffer) {
+        return buffer.get() == 0 ? null : Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+    }
+
+    // 길이 4B(null이면 -1) + UTF-8 바이트
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] trimmed(ByteBuffer buffer) {
+        if (buffer.position() == buffer.capacity()) {
+            return buffer.array();
+        }
+        byte[] bytes = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,140 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.stereotype.Service;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 만료된 게시물 클레임 캐시(당첨자 SET/카운터)를 PostgreSQL 기준으로 재구성
+ * <p>
+ * 조회 요청은 DB 집계로 바로 응답하고, 재구성은 요청 스레드 밖에서 게시물당 한 번만 실행한다.
+ * - 노드 안: 게시물별 진행 중 future를 공유 (single-flight)
+ * - 노드 간: post:{id}:rebuild_lock SET NX로 한 노드만 실행
+ * - 당첨자 ID는 쿼리 1회로 읽고 claim_rebuild.lua 한 번으로 SET/카운터/시퀀스를 기록
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimCacheRebuildService {
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+
+    private final RedisService redisService;
+    private final ClaimRepository claimRepository;
+    private final ClaimOutbox claimOutbox;
+    private final ClaimJournal claimJournal;
+    private final ClaimEngines claimEngines;
+    private final Executor taskExecutor;
+
+    private final Map<Long, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Redis에 당첨자가 없는(0 또는 응답 없음) 게시물만 골라 DB 당첨자 수로 채우고 재구성을 예약
+     *
+     * @param redisCounts 게시물 ID → Redis 당첨자 수 (ClaimEngines.countClaims 결과)
+     * @return 게시물 ID → 응답에 쓸 당첨자 수
+     */
+    public Map<Long, Long> withPersistedCounts(Collection<Post> posts, Map<Long, Long> redisCounts) {
+        Map<Long, Post> cold = new HashMap<>();
+        for (Post post : posts) {
+            Long count = redisCounts.get(post.getId());
+            if (count == null || count == 0) {
+                cold.put(post.getId(), post);
+            }
+        }
+        if (cold.isEmpty()) {
+            return redisCounts;
+        }
+
+        Map<Long, Long> counts = new HashMap<>(redisCounts);
+        for (Object[] row : claimRepository.countByPostIds(cold.keySet())) {
+            Long postId = (Long) row[0];
+            Long persisted = (Long) row[1];
+            counts.put(postId, persisted);
+            rebuildAsync(cold.get(postId));
+        }
+        return counts;
+    }
+
+    /**
+     * 게시물 캐시 재구성을 백그라운드로 예약 (이미 진행 중이면 그 future를 반환)
+     */
+    public CompletableFuture<Void> rebuildAsync(Post post) {
+        Long postId = post.getId();
+        if (claimEngines.forPost(post) instanceof ShardedClaimEngine) {
+            // Hot-post 모드는 당첨자가 home 샤드별로 나뉘어 있어 DB만으로는 재배치할 수 없음
+            log.warn("Skipping claim cache rebuild for sharded post {}", postId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(postId, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    rebuild(postId);
+                    pending.complete(null);
+                } catch (Exception e) {
+                    log.error("Failed to rebuild claim cache for post {}: {}", postId, e.getMessage());
+                    pending.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(postId, pending);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(postId, pending);
+            pending.completeExceptionally(e);
+        }
+        return pending;
+    }
+
+    private void rebuild(Long postId) {
+        // 아직 DB로 옮겨지지 않은 CLAIM/DECLAIM이 있으면 DB 기준 재구성이 그 변경을 되돌리므로 다음 조회로 미룸
+        if ((claimOutbox.isEnabled() && claimOutbox.hasPending(postId)) || claimJournal.hasPending(postId)) {
+            log.debug("Claim cache rebuild for post {} deferred, writes still pending", postId);
+            return;
+        }
+
+        String lockKey = "post:{" + postId + "}:rebuild_lock";
+        if (!Boolean.TRUE.equals(redisService.setIfAbsent(lockKey, "1", LOCK_TTL))) {
+            return; // 다른 노드가 재구성 중
+        }
+
+        try {
+            List<Long> userIds = claimRepository.findUserIdsByPostId(postId);
+            Long maxRank = claimRepository.findMaxRankByPostId(postId);
+
+            List<String> args = new ArrayList<>(userIds.size() + 1);
+            args.add(String.valueOf(maxRank != null ? maxRank : 0));
+            for (Long userId : userIds) {
+                args.add(String.valueOf(userId));
+            }
+
+            String count = redisService.executeScriptBySha1(
+                    redisService.getClaimRebuildScriptSha1(),
+                    List.of("post:{" + postId + "}:claimants", "post:{" + postId + "}:claims_count",
+                            LuaClaimEngine.seqKey(postId)),
+                    args.toArray(String[]::new));
+            log.info("Rebuilt claim cache for post {} with {} claimants", postId, count);
+        } finally {
+            redisService.deleteKeys(lockKey);
+        }
+    }
+}
@@ -1,18 +1,17 @@
 package csw.fcfs.claim;
 
 import java.security.Principal;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import csw.fcfs.post.Post;
-import csw.fcfs.post.repository.PostRepository;
-import csw.fcfs.user.UserAccount;
-import csw.fcfs.user.repository.UserAccountRepository;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -21,18 +20,23 @@ import lombok.RequiredArgsConstructor;
 public class ClaimController {
 
     private final ClaimService claimService;
-    private final PostRepository postRepository;
-    private final UserAccountRepository userAccountRepository;
 
     @PostMapping("/{postId}")
-    public ResponseEntity<String> claimPost(@PathVariable Long postId, Principal principal) {
-        // Load entities upfront for the optimized claimPost method
-        Post post = postRepository.findByIdWithOwner(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
-        return ResponseEntity.ok(claimService.claimPost(post, user));
+    public CompletableFuture<ResponseEntity<String>> claimPost(@PathVariable Long postId, Principal principal,
+            @RequestHeader(name = WaitingRoomService.TICKET_HEADER, required = false) String queueTicket) {
+        // 게시물은 인-프로세스 claim descriptor, 사용자는 JWT uid 클레임에서 해석 (DB 조회 없음)
+        // Redis 응답을 기다리는 동안 요청 스레드를 점유하지 않도록 비동기로 반환
+        // 대기열 게시물은 X-Queue-Ticket 헤더의 입장 허가된 티켓이 필요
+        return claimService.claimPostAsync(postId, principal, queueTicket).thenApply(ClaimController::toResponse);
+    }
+
+    /**
+     * 클레임 결과 → 응답 (BUSY/TIMEOUT은 재시도 가능한 503). /api/posts/{id}/claim에서도 같이 사용
+     */
+    public static ResponseEntity<String> toResponse(String result) {
+        return ClaimService.isOverloaded(result)
+                ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result)
+                : ResponseEntity.ok(result);
     }
 
     @DeleteMapping("/{postId}")
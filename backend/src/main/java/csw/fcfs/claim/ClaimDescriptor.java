@@ -0,0 +1,43 @@
+package csw.fcfs.claim;
+
+import java.time.Instant;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostVisibility;
+
+/**
+ * 클레임 처리에 필요한 게시물 정보만 담은 불변 스냅샷
+ * JPA 엔티티 대신 이 레코드를 메모리에 보관하여 클레임 요청이 DB를 거치지 않도록 한다.
+ */
+public record ClaimDescriptor(
+        Long postId,
+        short quota,
+        Long ownerId,
+        PostVisibility visibility,
+        Instant openAt,
+        Instant closeAt,
+        String title,         // 당첨 메일 제목용
+        short claimShards,    // 1이면 단일 키, 그 이상이면 hot-post 샤딩
+        ClaimEngineType engine,
+        boolean waitingRoom   // 입장 허가된 대기열 티켓이 있어야 클레임 가능
+) {
+
+    public boolean isSharded() {
+        return claimShards > 1;
+    }
+
+    public static ClaimDescriptor from(Post post) {
+        return new ClaimDescriptor(
+                post.getId(),
+                post.getQuota(),
+                post.getOwner().getId(),
+                post.getVisibility(),
+                post.getOpenAt(),
+                post.getCloseAt(),
+                post.getTitle(),
+                post.getClaimShards(),
+                post.getClaimEngine(),
+                post.isWaitingRoom()
+        );
+    }
+}
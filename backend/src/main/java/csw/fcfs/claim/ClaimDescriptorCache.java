@@ -0,0 +1,50 @@
+package csw.fcfs.claim;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import csw.fcfs.post.repository.PostRepository;
+
+/**
+ * 클레임 fast path용 게시물 캐시
+ * - postId → ClaimDescriptor
+ * (사용자 ID는 JWT uid 클레임 / {@link csw.fcfs.user.UserCache}에서 해석)
+ * <p>
+ * "posts" 계층 캐시(로컬 Caffeine + Redis, ClaimCacheCodec)에 보관한다.
+ * - 로컬 히트는 역직렬화 없이 레코드를 그대로 반환 (클레임 요청은 Redis 스크립트만 호출)
+ * - 로컬 계층은 cache.local.max-ttl 뒤 만료되므로 무효화 메시지가 유실돼도 오래된 설정이 계속 남지 않는다
+ * - 수정 시 evictPost → 모든 노드의 로컬 계층까지 pub/sub으로 무효화
+ */
+@Service
+public class ClaimDescriptorCache {
+
+    static final String CACHE_NAME = "posts";
+
+    private final PostRepository postRepository;
+    private final Cache descriptors;
+
+    public ClaimDescriptorCache(PostRepository postRepository, CacheManager cacheManager) {
+        this.postRepository = postRepository;
+        this.descriptors = cacheManager.getCache(CACHE_NAME);
+    }
+
+    public ClaimDescriptor getDescriptor(Long postId) {
+        // 같은 노드의 동시 미스는 한 번만 적재 (LayeredCache single-flight)
+        ClaimDescriptor descriptor = descriptors.get(postId, () -> postRepository.findByIdWithOwner(postId)
+                .map(ClaimDescriptor::from)
+                .orElse(null));
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return descriptor;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 후에 무효화한다 (TransactionAwareCacheDecorator가 afterCommit으로 등록).
+     * 커밋 전에 비우면 같은 노드가 커밋 전 값을 다시 적재할 수 있다.
+     */
+    public void evictPost(Long postId) {
+        descriptors.evict(postId);
+    }
+}
@@ -0,0 +1,38 @@
+package csw.fcfs.claim;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import csw.fcfs.post.Post;
+
+/**
+ * 게시물 하나의 선착순 판정을 Redis에서 수행하는 전략
+ * <p>
+ * 반환값은 claim.lua와 같은 결과 코드(SUCCESS, ALREADY_CLAIMED, QUOTA_EXCEEDED, NOT_CLAIMED)를 사용하고,
+ * 당첨 기록(outbox 또는 저널)도 엔진이 책임진다.
+ */
+public interface ClaimEngine {
+
+    String claim(ClaimDescriptor post, Long userId, String email);
+
+    /**
+     * 요청 스레드를 점유하지 않는 클레임
+     * 기본 구현은 여러 번 왕복하는 엔진(hot-post spill 등)을 위해 fallback executor에서 동기 claim을 실행한다.
+     */
+    default CompletableFuture<String> claimAsync(ClaimDescriptor post, Long userId, String email, Executor fallback) {
+        return CompletableFuture.supplyAsync(() -> claim(post, userId, email), fallback);
+    }
+
+    String declaim(ClaimDescriptor post, Long userId);
+
+    /**
+     * 게시물의 현재 설정 기준으로 엔진이 사용하는 Redis 키 삭제 (당첨자가 없을 때만 호출 - 게시물 수정/엔진 변경)
+     */
+    void clear(Post post);
+
+    /**
+     * 클레임 전에 필요한 Redis 상태를 미리 준비 (기본: 첫 클레임에서 지연 생성)
+     */
+    default void prime(Post post) {
+    }
+}
@@ -0,0 +1,6 @@
+package csw.fcfs.claim;
+
+public enum ClaimEngineType {
+    LUA,        // SADD + INCR (claim.lua), claimShards > 1 이면 hot-post 샤딩
+    TOKEN_LIST  // 미리 만든 토큰 리스트 LPOP + 사용자 dedupe SET
+}
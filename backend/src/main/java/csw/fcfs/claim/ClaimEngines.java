@@ -0,0 +1,184 @@
+package csw.fcfs.claim;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PublicFeedCache;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시물별 클레임 엔진 선택과 전환
+ * - TOKEN_LIST → TokenListClaimEngine
+ * - LUA + claimShards > 1 → ShardedClaimEngine (hot-post 모드)
+ * - LUA → LuaClaimEngine (기본)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimEngines {
+
+    public static final int MAX_SHARDS = 64;
+
+    private final LuaClaimEngine luaClaimEngine;
+    private final ShardedClaimEngine shardedClaimEngine;
+    private final TokenListClaimEngine tokenListClaimEngine;
+    private final PostRepository postRepository;
+    private final ClaimRepository claimRepository;
+    private final ClaimDescriptorCache claimDescriptorCache;
+    private final RedisService redisService;
+    private final ClaimSoldOutCache claimSoldOutCache;
+    private final PublicFeedCache publicFeedCache;
+
+    public ClaimEngine forPost(ClaimDescriptor post) {
+        return select(post.engine(), post.claimShards());
+    }
+
+    public ClaimEngine forPost(Post post) {
+        return select(post.getClaimEngine(), post.getClaimShards());
+    }
+
+    private ClaimEngine select(ClaimEngineType engine, int shards) {
+        if (engine == ClaimEngineType.TOKEN_LIST) {
+            return tokenListClaimEngine;
+        }
+        return shards > 1 ? shardedClaimEngine : luaClaimEngine;
+    }
+
+    /**
+     * 현재 Redis 기준 당첨자 수 (모든 엔진이 당첨자 SET을 유지)
+     */
+    public long countClaims(Post post) {
+        if (forPost(post) == shardedClaimEngine) {
+            return shardedClaimEngine.countClaims(post.getId(), post.getClaimShards());
+        }
+        Long size = redisService.getSetSize("post:{" + post.getId() + "}:claimants");
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Redis 또는 PostgreSQL에 당첨자가 있는지
+     * (Redis 키가 만료/유실돼도 이미 기록된 당첨자가 있으면 엔진/샤드를 바꾸거나 토큰을 다시 채우면 안 된다)
+     */
+    public boolean hasClaims(Post post) {
+        return countClaims(post) > 0 || claimRepository.countByPostId(post.getId()) > 0;
+    }
+
+    /**
+     * 목록용 당첨자 수 일괄 조회: 모든 게시물(샤드 포함)의 SCARD를 한 번의 파이프라인으로 실행
+     *
+     * @return 게시물 ID → 당첨자 수 (Redis 응답이 없으면 null)
+     */
+    public Map<Long, Long> countClaims(Collection<Post> posts) {
+        Map<Long, List<String>> keysByPost = new HashMap<>(posts.size() * 2);
+        for (Post post : posts) {
+            keysByPost.put(post.getId(), claimantsKeys(post.getId(), post.getClaimEngine(), post.getClaimShards()));
+        }
+        return countClaims(keysByPost);
+    }
+
+    /**
+     * 엔티티 없이 당첨자 SET 키만으로 일괄 조회 (공개 피드 조각 등)
+     *
+     * @param keysByPost 게시물 ID → claimantsKeys 결과
+     */
+    public Map<Long, Long> countClaims(Map<Long, List<String>> keysByPost) {
+        List<String> keys = new ArrayList<>(keysByPost.size());
+        keysByPost.values().forEach(keys::addAll);
+        Map<String, Long> sizes = redisService.getSetSizes(keys);
+
+        Map<Long, Long> counts = new HashMap<>(keysByPost.size() * 2);
+        keysByPost.forEach((postId, postKeys) -> {
+            Long total = null;
+            for (String key : postKeys) {
+                Long size = sizes.get(key);
+                if (size != null) {
+                    total = (total != null ? total : 0L) + size;
+                }
+            }
+            counts.put(postId, total);
+        });
+        return counts;
+    }
+
+    public List<String> claimantsKeys(Long postId, ClaimEngineType engine, int shards) {
+        if (select(engine, shards) != shardedClaimEngine) {
+            return List.of("post:{" + postId + "}:claimants");
+        }
+        List<String> keys = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            keys.add(ShardedClaimEngine.claimantsKey(postId, shard));
+        }
+        return keys;
+    }
+
+    /**
+     * 게시물 수정 후 quota 등이 바뀌었을 수 있으므로 엔진 상태를 다시 준비
+     */
+    public void reset(Post post) {
+        ClaimEngine engine = forPost(post);
+        engine.clear(post);
+        engine.prime(post);
+        claimSoldOutCache.reopen(post.getId());
+    }
+
+    /**
+     * 게시물의 샤드 수 변경 (1 = hot-post 모드 해제)
+     */
+    @Transactional
+    public void changeShards(Long postId, int shards) {
+        if (shards < 1 || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("Claim shards must be between 1 and " + MAX_SHARDS);
+        }
+        changeMode(postId, post -> {
+            if (shards > 1 && post.getClaimEngine() != ClaimEngineType.LUA) {
+                throw new IllegalStateException("Claim shards are only supported by the LUA claim engine.");
+            }
+            post.setClaimShards((short) shards);
+        });
+    }
+
+    @Transactional
+    public void changeEngine(Long postId, ClaimEngineType engine) {
+        changeMode(postId, post -> {
+            if (engine != ClaimEngineType.LUA && post.getClaimShards() > 1) {
+                throw new IllegalStateException("Claim shards are only supported by the LUA claim engine.");
+            }
+            post.setClaimEngine(engine);
+        });
+    }
+
+    /**
+     * 엔진/샤드 배정이 바뀌면 기존 당첨자의 중복 검사가 깨지므로 당첨자가 없는 게시물만 변경할 수 있다.
+     */
+    private void changeMode(Long postId, Consumer<Post> change) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+
+        if (hasClaims(post)) {
+            throw new IllegalStateException("Cannot change the claim engine of a post with existing claims.");
+        }
+
+        // 변경 전 설정 기준으로 키 정리 (변경이 거부되더라도 샤드 토큰은 다음 클레임에서 지연 생성됨)
+        forPost(post).clear(post);
+        change.accept(post);
+        postRepository.save(post);
+        claimDescriptorCache.evictPost(postId);
+        // 피드 조각의 엔진/샤드 정보로 당첨자 수를 세므로 함께 갱신
+        publicFeedCache.upsert(post);
+
+        forPost(post).prime(post);
+        claimSoldOutCache.reopen(postId);
+        log.info("Post {} now uses the {} claim engine with {} shard(s)", postId, post.getClaimEngine(), post.getClaimShards());
+    }
+}
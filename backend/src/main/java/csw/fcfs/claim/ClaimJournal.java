@@ -0,0 +1,301 @@
+package csw.fcfs.claim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import csw.fcfs.notification.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클레임 write-behind 파이프라인
+ * <p>
+ * 당첨 1건마다 REQUIRES_NEW 트랜잭션을 여는 대신, 워커별 bounded 큐에 쌓아두고
+ * 소수의 writer 워커가 batchSize 또는 flushInterval 기준으로 multi-row INSERT 한다.
+ * postId로 워커를 고정해 같은 게시물의 CLAIM/DECLAIM 순서를 보존한다.
+ */
+@Service
+@Slf4j
+public class ClaimJournal implements SmartLifecycle {
+
+    private final ClaimBatchWriter claimBatchWriter;
+    private final EmailService emailService;
+    private final ClaimJournalProperties properties;
+
+    private final List<BlockingQueue<ClaimJournalEntry>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Counter enqueuedCounter;
+    private final Counter overflowCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    public ClaimJournal(ClaimBatchWriter claimBatchWriter, EmailService emailService,
+                        ClaimJournalProperties properties, MeterRegistry meterRegistry) {
+        this.claimBatchWriter = claimBatchWriter;
+        this.emailService = emailService;
+        this.properties = properties;
+
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            queues.add(new ArrayBlockingQueue<>(properties.getCapacity()));
+        }
+
+        Gauge.builder("claim.journal.pending", queues, qs -> qs.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Claim journal entries waiting to be flushed")
+                .register(meterRegistry);
+        this.enqueuedCounter = meterRegistry.counter("claim.journal.enqueued");
+        this.overflowCounter = meterRegistry.counter("claim.journal.overflow");
+        this.writtenCounter = meterRegistry.counter("claim.journal.written");
+        this.failedCounter = meterRegistry.counter("claim.journal.failed");
+        this.droppedCounter = meterRegistry.counter("claim.journal.dropped");
+        this.batchSizeSummary = DistributionSummary.builder("claim.journal.batch.size")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("claim.journal.flush")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void append(ClaimJournalEntry entry) {
+        enqueuedCounter.increment();
+        BlockingQueue<ClaimJournalEntry> queue = queueFor(entry.postId());
+        long offerTimeout = properties.getOfferTimeout().toMillis();
+        boolean overflowed = false;
+
+        try {
+            while (running) {
+                if (queue.offer(entry, offerTimeout, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                // Backpressure: 자리가 날 때까지 호출 스레드를 막는다. 직접 기록하면 큐에 남은
+                // 같은 게시물의 앞선 CLAIM보다 DECLAIM이 먼저 커밋될 수 있다.
+                if (!overflowed) {
+                    overflowed = true;
+                    overflowCounter.increment();
+                    log.warn("Claim journal is full, blocking {} for post {} until the queue drains",
+                            entry.operation(), entry.postId());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 워커가 없으면(시작 전/종료 중) 같은 큐에 남은 엔트리부터 순서대로 바로 기록
+        flushInline(queue, entry);
+    }
+
+    private void flushInline(BlockingQueue<ClaimJournalEntry> queue, ClaimJournalEntry entry) {
+        synchronized (queue) {
+            List<ClaimJournalEntry> batch = new ArrayList<>(queue.size() + 1);
+            queue.drainTo(batch);
+            batch.add(entry);
+            flush(batch);
+        }
+    }
+
+    public int pending() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    /**
+     * 게시물의 엔트리가 아직 큐에 남아있는지 (캐시 재구성 전 확인용, 큐 순회)
+     */
+    public boolean hasPending(Long postId) {
+        for (ClaimJournalEntry entry : queueFor(postId)) {
+            if (entry.postId().equals(postId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BlockingQueue<ClaimJournalEntry> queueFor(Long postId) {
+        return queues.get((int) Math.floorMod(postId, (long) queues.size()));
+    }
+
+    private void drainLoop(BlockingQueue<ClaimJournalEntry> queue) {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<ClaimJournalEntry> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                ClaimJournalEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 크기 또는 시간 중 먼저 도달하는 조건으로 배치 마감
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ClaimJournalEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 중이면 남은 엔트리를 마저 비운다
+                queue.drainTo(batch);
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ClaimJournalEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        batchSizeSummary.record(batch.size());
+        List<ClaimJournalEntry> written = new ArrayList<>(batch.size());
+        List<ClaimJournalEntry> pending = attempt(batch, written);
+        if (!pending.isEmpty()) {
+            retry(pending, written);
+        }
+        writtenCounter.increment(written.size());
+
+        // 실제로 커밋된 당첨만 알림
+        for (ClaimJournalEntry entry : written) {
+            if (entry.operation() == ClaimJournalEntry.Operation.CLAIM) {
+                notifyWinner(entry);
+            }
+        }
+    }
+
+    /**
+     * 한 번 기록을 시도하고 커밋된 엔트리를 written에 담는다
+     *
+     * @return 일시적 오류로 다시 시도해야 하는 엔트리
+     */
+    private List<ClaimJournalEntry> attempt(List<ClaimJournalEntry> entries, List<ClaimJournalEntry> written) {
+        try {
+            flushTimer.record(() -> claimBatchWriter.write(entries));
+            written.addAll(entries);
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            // 한 행(예: 삭제된 게시물) 때문에 배치 전체가 버려지지 않도록 1건씩 나눠 기록
+            log.warn("Batch write of {} claim journal entries failed, retrying one by one: {}", entries.size(), e.getMessage());
+            failedCounter.increment();
+            ClaimBatchWriter.Outcome outcome = claimBatchWriter.writeEach(entries);
+            written.addAll(outcome.written());
+            return outcome.retryable();
+        } catch (Exception e) {
+            // DB 장애 등 - 1건씩 나눠도 실패하므로 배치째 재시도
+            log.warn("Batch write of {} claim journal entries failed: {}", entries.size(), e.getMessage());
+            failedCounter.increment();
+            return new ArrayList<>(entries);
+        }
+    }
+
+    /**
+     * 재시도 동안 워커가 큐를 비우지 못하므로 큐가 차면 append가 동기 기록으로 넘어가 backpressure가 걸린다.
+     * 같은 워커 안에서 재시도해 게시물별 CLAIM/DECLAIM 순서를 유지한다.
+     */
+    private void retry(List<ClaimJournalEntry> pending, List<ClaimJournalEntry> written) {
+        long backoff = properties.getRetryBackoff().toMillis();
+        long deadline = System.nanoTime() + properties.getRetryTimeout().toNanos();
+        while (!pending.isEmpty() && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) < deadline) {
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                // 강제 종료 - 남은 엔트리는 아래에서 포기 처리
+                Thread.currentThread().interrupt();
+                break;
+            }
+            pending = attempt(pending, written);
+            backoff = Math.min(backoff * 2, properties.getMaxRetryBackoff().toMillis());
+        }
+
+        if (!pending.isEmpty()) {
+            droppedCounter.increment(pending.size());
+            for (ClaimJournalEntry entry : pending) {
+                // Redis에는 반영된 클레임이므로 수동 복구할 수 있도록 전체 정보를 남긴다
+                log.error("Giving up on {} for user {} and post {} (rank {}, accepted at {}) after {}",
+                        entry.operation(), entry.userId(), entry.postId(), entry.rank(), entry.acceptedAt(),
+                        properties.getRetryTimeout());
+            }
+        }
+    }
+
+    private void notifyWinner(ClaimJournalEntry entry) {
+        try {
+            String subject = "Congratulations! You've successfully claimed the post: " + entry.postTitle();
+            String text = "Dear " + entry.email() + ",\n\nCongratulations! You have successfully claimed the post titled '" + entry.postTitle() + "'.\n\nThank you for using our platform!\n\nBest regards,\nThe FCFS Team";
+            emailService.sendEmail(entry.email(), subject, text);
+        } catch (Exception e) {
+            log.error("Failed to notify user {} for post {}: {}", entry.userId(), entry.postId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<ClaimJournalEntry> queue = queues.get(i);
+            workers.add(Thread.ofPlatform()
+                    .name("claim-journal-" + i)
+                    .start(() -> drainLoop(queue)));
+        }
+        log.info("Claim journal started with {} workers (batch {}, interval {})",
+                queues.size(), properties.getBatchSize(), properties.getFlushInterval());
+    }
+
+    @Override
+    public void stop() {
+        // Graceful shutdown: 신규 poll 대기를 끝내고 남은 엔트리를 모두 flush
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Thread worker : workers) {
+            try {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                worker.join(Math.max(1, remaining));
+                if (worker.isAlive()) {
+                    worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        log.info("Claim journal stopped, {} entries left unflushed", pending());
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버가 요청 수신을 멈춘 뒤에 저널을 비우도록 더 늦게 종료
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,31 @@
+package csw.fcfs.claim;
+
+import java.time.Instant;
+
+/**
+ * Write-behind 저널에 쌓이는 클레임 변경 1건
+ * CLAIM은 INSERT, DECLAIM은 DELETE로 PostgreSQL에 반영된다.
+ */
+public record ClaimJournalEntry(
+        Operation operation,
+        Long postId,
+        Long userId,
+        String email,        // 당첨 메일 수신자 (DECLAIM은 null)
+        String postTitle,    // 당첨 메일 제목용 (DECLAIM은 null)
+        Long rank,           // Redis가 부여한 게시물 내 당첨 순번 (DECLAIM, hot-post 샤딩은 null)
+        Instant acceptedAt   // Redis가 클레임을 수락한 시각
+) {
+
+    public enum Operation {
+        CLAIM, DECLAIM
+    }
+
+    public static ClaimJournalEntry claim(ClaimDescriptor post, Long userId, String email, ClaimResult result) {
+        Instant acceptedAt = result.acceptedAt() != null ? result.acceptedAt() : Instant.now();
+        return new ClaimJournalEntry(Operation.CLAIM, post.postId(), userId, email, post.title(), result.rank(), acceptedAt);
+    }
+
+    public static ClaimJournalEntry declaim(Long postId, Long userId) {
+        return new ClaimJournalEntry(Operation.DECLAIM, postId, userId, null, null, null, Instant.now());
+    }
+}
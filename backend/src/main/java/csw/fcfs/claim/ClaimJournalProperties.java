@@ -0,0 +1,39 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("claim.journal")
+public class ClaimJournalProperties {
+
+    // 워커별 큐 용량 (전체 용량 = capacity * workers)
+    private int capacity = 20_000;
+
+    // 한 번에 flush할 최대 행 수
+    private int batchSize = 500;
+
+    // 배치가 가득 차지 않아도 flush하는 최대 대기 시간
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    // 큐가 가득 찼을 때 종료 여부를 다시 확인하는 간격 (자리가 날 때까지 호출 스레드는 계속 대기)
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    // 저널을 비우는 writer 워커 수 (postId로 파티셔닝)
+    private int workers = 2;
+
+    // 종료 시 남은 저널을 비우기 위해 기다리는 최대 시간
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    // 일시적 DB 오류로 기록하지 못한 엔트리 재시도 간격 (실패할 때마다 2배, maxRetryBackoff까지)
+    private Duration retryBackoff = Duration.ofMillis(100);
+    private Duration maxRetryBackoff = Duration.ofSeconds(5);
+
+    // 이 시간 동안 재시도해도 기록하지 못한 엔트리는 오류 로그를 남기고 포기
+    private Duration retryTimeout = Duration.ofMinutes(1);
+}
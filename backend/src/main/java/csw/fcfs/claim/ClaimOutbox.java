@@ -0,0 +1,76 @@
+package csw.fcfs.claim;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시물별 클레임 outbox 스트림(post:{id}:outbox)의 키와 레지스트리 관리
+ * <p>
+ * 스트림은 게시물 키와 같은 해시 슬롯에 있어야 claim.lua에서 원자적으로 XADD 할 수 있으므로
+ * 게시물마다 하나씩 두고, consumer가 찾을 수 있도록 레지스트리 SET에 등록한다.
+ * 등록은 첫 클레임 스크립트 실행 <b>전</b>에 하므로 크래시가 나도 발견되지 않는 스트림은 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClaimOutbox {
+
+    public static final String REGISTRY_KEY = "claims:outbox:streams";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ClaimOutboxProperties properties;
+
+    // 스트림 키 → 마지막 등록 시각 (노드 로컬, registrationTtl마다 재등록)
+    private final Map<String, Long> registeredAt = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public static String streamKey(Long postId) {
+        return "post:{" + postId + "}:outbox";
+    }
+
+    /**
+     * Hot-post 모드의 샤드별 스트림 (post:{id:shard}:outbox)
+     */
+    public static String streamKey(Long postId, int shard) {
+        return "post:{" + postId + ":" + shard + "}:outbox";
+    }
+
+    public static Long postIdOf(String streamKey) {
+        String tag = streamKey.substring(streamKey.indexOf('{') + 1, streamKey.indexOf('}'));
+        int shardSeparator = tag.indexOf(':');
+        return Long.valueOf(shardSeparator < 0 ? tag : tag.substring(0, shardSeparator));
+    }
+
+    public void register(Long postId) {
+        register(streamKey(postId));
+    }
+
+    public void register(String streamKey) {
+        long now = System.currentTimeMillis();
+        Long last = registeredAt.get(streamKey);
+        if (last != null && now - last < properties.getRegistrationTtl().toMillis()) {
+            return;
+        }
+        redisTemplate.opsForSet().add(REGISTRY_KEY, streamKey);
+        registeredAt.put(streamKey, now);
+    }
+
+    /**
+     * 스트림에 아직 PostgreSQL로 옮겨지지 않은 엔트리가 있는지 확인
+     */
+    public boolean hasPending(Long postId) {
+        return hasPending(streamKey(postId));
+    }
+
+    public boolean hasPending(String streamKey) {
+        Long size = redisTemplate.opsForStream().size(streamKey);
+        return size != null && size > 0;
+    }
+}
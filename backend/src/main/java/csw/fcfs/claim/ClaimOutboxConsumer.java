@@ -0,0 +1,382 @@
+package csw.fcfs.claim;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import csw.fcfs.notification.EmailService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클레임 outbox 스트림을 PostgreSQL로 옮기는 consumer-group 워커
+ * <p>
+ * XREADGROUP으로 읽어 ClaimBatchWriter로 bulk INSERT/DELETE 한 뒤 커밋이 끝난 엔트리만 XACK + XDEL 한다.
+ * 여러 노드가 같은 group을 공유하므로 drain 작업이 자연스럽게 분산된다.
+ * 일시적 DB 오류로 ACK 하지 못한 자신의 pending 엔트리는 주기적으로(실패가 이어지면 간격을 늘려) 처음부터 다시 읽고,
+ * 죽은 노드의 pending 엔트리는 XCLAIM으로 회수한다.
+ */
+@Component
+@ConditionalOnProperty(name = "claim.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ClaimOutboxConsumer implements SmartLifecycle {
+
+    private final StringRedisTemplate redisTemplate;
+    private final StreamOperations<String, Object, Object> streamOps;
+    private final ClaimBatchWriter claimBatchWriter;
+    private final ClaimDescriptorCache claimDescriptorCache;
+    private final EmailService emailService;
+    private final ClaimOutboxProperties properties;
+    private final String consumerName;
+
+    private final Set<String> streams = ConcurrentHashMap.newKeySet();
+    private final Set<String> groupsReady = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastActivity = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ClaimOutboxConsumer(StringRedisTemplate redisTemplate, ClaimBatchWriter claimBatchWriter,
+                               ClaimDescriptorCache claimDescriptorCache, EmailService emailService,
+                               ClaimOutboxProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.streamOps = redisTemplate.opsForStream();
+        this.claimBatchWriter = claimBatchWriter;
+        this.claimDescriptorCache = claimDescriptorCache;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.consumerName = resolveConsumerName(properties.getConsumerName());
+    }
+
+    private static String resolveConsumerName(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        // 같은 호스트의 여러 인스턴스가 서로의 PEL을 가져가지 않도록 pid를 붙인다
+        // (재시작하면 이름이 바뀌므로 이전 실행의 pending 엔트리는 reclaim으로 회수됨)
+        long pid = ProcessHandle.current().pid();
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + pid;
+        } catch (Exception e) {
+            return "claim-writer-" + pid;
+        }
+    }
+
+    /**
+     * 한 번의 XREADGROUP 결과 (읽은 엔트리 수, 커밋 후 ACK 한 엔트리 수)
+     */
+    record Drained(int read, int acked) {
+        static final Drained NONE = new Drained(0, 0);
+    }
+
+    private void run() {
+        long nextRefresh = 0;
+        long nextReclaim = System.currentTimeMillis() + properties.getReclaimInterval().toMillis();
+        long pendingRetryDelay = properties.getPendingRetryInterval().toMillis();
+        long nextPendingRetry = System.currentTimeMillis() + pendingRetryDelay;
+
+        // 고정 consumer-name으로 재시작한 경우: 이전 실행에서 ACK 하지 못한 자신의 pending 엔트리부터 처리
+        refreshStreams();
+        for (String stream : streams) {
+            safely(stream, () -> recoverPending(stream));
+        }
+
+        while (running) {
+            long now = System.currentTimeMillis();
+            if (now >= nextRefresh) {
+                refreshStreams();
+                nextRefresh = now + properties.getRegistryRefreshInterval().toMillis();
+            }
+
+            int processed = 0;
+            for (String stream : streams) {
+                Drained[] drained = {Drained.NONE};
+                safely(stream, () -> drained[0] = drain(stream, ReadOffset.lastConsumed()));
+                processed += drained[0].acked();
+            }
+
+            if (now >= nextPendingRetry) {
+                boolean[] stuck = {false};
+                for (String stream : streams) {
+                    if (!safely(stream, () -> stuck[0] |= recoverPending(stream))) {
+                        stuck[0] = true;
+                    }
+                }
+                // DB 장애가 이어지는 동안은 같은 엔트리를 자주 다시 쓰지 않도록 간격을 늘린다
+                pendingRetryDelay = stuck[0]
+                        ? Math.min(pendingRetryDelay * 2, properties.getMaxPendingRetryInterval().toMillis())
+                        : properties.getPendingRetryInterval().toMillis();
+                nextPendingRetry = now + pendingRetryDelay;
+            }
+
+            if (now >= nextReclaim) {
+                for (String stream : streams) {
+                    safely(stream, () -> reclaim(stream));
+                }
+                nextReclaim = now + properties.getReclaimInterval().toMillis();
+            }
+
+            // 새 엔트리를 읽었더라도 하나도 기록하지 못했으면(DB 장애) 바로 다시 돌지 않는다
+            if (processed == 0) {
+                try {
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean safely(String stream, Runnable task) {
+        try {
+            task.run();
+            return true;
+        } catch (Exception e) {
+            // 한 스트림의 오류(예: Redis 장애)가 다른 스트림 drain을 막지 않도록. 엔트리는 pending으로 남아 재시도된다.
+            log.warn("Claim outbox processing failed for {}: {}", stream, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 자신의 PEL을 처음부터 다시 읽어 기록한다. 한 번에 하나도 ACK 하지 못하면 멈춘다 (DB 장애 중 헛돌지 않도록).
+     *
+     * @return ACK 하지 못한 엔트리가 남아 있는지
+     */
+    boolean recoverPending(String stream) {
+        Drained drained;
+        do {
+            drained = drain(stream, ReadOffset.from("0"));
+        } while (drained.acked() > 0);
+        return drained.read() > 0;
+    }
+
+    void refreshStreams() {
+        Set<String> registered = redisTemplate.opsForSet().members(ClaimOutbox.REGISTRY_KEY);
+        if (registered == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String stream : registered) {
+            if (streams.add(stream)) {
+                lastActivity.put(stream, now);
+            }
+        }
+        streams.retainAll(registered);
+        lastActivity.keySet().retainAll(registered);
+        groupsReady.retainAll(registered);
+    }
+
+    private void ensureGroup(String stream) {
+        if (groupsReady.contains(stream)) {
+            return;
+        }
+        try {
+            redisTemplate.execute((RedisCallback<String>) conn -> createGroup(conn, stream));
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && !(e.getCause() != null && String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                throw e;
+            }
+        }
+        groupsReady.add(stream);
+    }
+
+    private String createGroup(RedisConnection conn, String stream) {
+        // MKSTREAM: 레지스트리에는 있지만 아직 XADD 전인 스트림도 group을 만들 수 있도록
+        return conn.streamCommands().xGroupCreate(
+                stream.getBytes(StandardCharsets.UTF_8), properties.getGroup(), ReadOffset.from("0"), true);
+    }
+
+    Drained drain(String stream, ReadOffset offset) {
+        ensureGroup(stream);
+        List<MapRecord<String, Object, Object>> records = readGroup(stream, offset);
+
+        if (records == null || records.isEmpty()) {
+            unregisterIfIdle(stream);
+            return Drained.NONE;
+        }
+        lastActivity.put(stream, System.currentTimeMillis());
+        return new Drained(records.size(), process(stream, records));
+    }
+
+    // StreamOperations.read는 제네릭 varargs(StreamOffset<K>...)라 호출부에서 배열 생성 경고가 난다 - 단일 offset만 전달
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, Object, Object>> readGroup(String stream, ReadOffset offset) {
+        return streamOps.read(
+                Consumer.from(properties.getGroup(), consumerName),
+                StreamReadOptions.empty().count(properties.getBatchSize()),
+                StreamOffset.create(stream, offset));
+    }
+
+    void reclaim(String stream) {
+        ensureGroup(stream);
+        PendingMessages pending = streamOps.pending(stream, properties.getGroup(), Range.unbounded(), properties.getBatchSize());
+        List<RecordId> stale = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (!consumerName.equals(message.getConsumerName())
+                    && message.getElapsedTimeSinceLastDelivery().compareTo(properties.getReclaimMinIdle()) >= 0) {
+                stale.add(message.getId());
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = streamOps.claim(
+                stream, properties.getGroup(), consumerName, properties.getReclaimMinIdle(), stale.toArray(RecordId[]::new));
+        if (claimed != null && !claimed.isEmpty()) {
+            log.info("Reclaimed {} pending outbox entries from {}", claimed.size(), stream);
+            process(stream, claimed);
+        }
+    }
+
+    private int process(String stream, List<MapRecord<String, Object, Object>> records) {
+        Long postId = ClaimOutbox.postIdOf(stream);
+        String title = postTitle(postId);
+
+        List<ClaimJournalEntry> entries = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            entries.add(toEntry(postId, title, record));
+        }
+
+        List<ClaimJournalEntry> retryable;
+        try {
+            claimBatchWriter.write(entries);
+            retryable = List.of();
+        } catch (DataIntegrityViolationException e) {
+            // 한 행(예: 삭제된 게시물) 때문에 배치 전체가 막히지 않도록 1건씩 나눠 기록
+            log.warn("Batch write of {} outbox entries from {} failed, retrying one by one: {}", entries.size(), stream, e.getMessage());
+            retryable = claimBatchWriter.writeEach(entries).retryable();
+        } catch (Exception e) {
+            // DB 장애 등 - 1건씩 나눠도 실패하므로 전부 pending으로 남긴다
+            log.warn("Batch write of {} outbox entries from {} failed, leaving them pending: {}", entries.size(), stream, e.getMessage());
+            retryable = entries;
+        }
+
+        // 커밋된 엔트리만 ACK (재시도 대상은 pending으로 남겨 다음 pending 재시도 때 다시 처리)
+        List<RecordId> done = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (!retryable.contains(entries.get(i))) {
+                done.add(records.get(i).getId());
+            }
+        }
+        if (!done.isEmpty()) {
+            RecordId[] ids = done.toArray(RecordId[]::new);
+            streamOps.acknowledge(stream, properties.getGroup(), ids);
+            streamOps.delete(stream, ids);
+        }
+
+        for (ClaimJournalEntry entry : entries) {
+            if (entry.operation() == ClaimJournalEntry.Operation.CLAIM && !retryable.contains(entry)) {
+                notifyWinner(entry);
+            }
+        }
+        return done.size();
+    }
+
+    private ClaimJournalEntry toEntry(Long postId, String title, MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        ClaimJournalEntry.Operation operation = ClaimJournalEntry.Operation.valueOf(String.valueOf(fields.get("op")));
+        Long userId = Long.valueOf(String.valueOf(fields.get("user")));
+        Object email = fields.get("email");
+
+        // 스크립트가 남긴 순번/수락 시각 (없으면 스트림 ID의 밀리초 부분 = Redis 서버 시각)
+        Object rank = fields.get("rank");
+        Object at = fields.get("at");
+        Instant acceptedAt = at != null
+                ? ClaimResult.fromEpochMicros(at.toString())
+                : Instant.ofEpochMilli(record.getId().getTimestamp());
+        return new ClaimJournalEntry(operation, postId, userId,
+                email != null && !"".equals(email) ? email.toString() : null, title,
+                rank != null ? Long.valueOf(rank.toString()) : null, acceptedAt);
+    }
+
+    private String postTitle(Long postId) {
+        try {
+            return claimDescriptorCache.getDescriptor(postId).title();
+        } catch (IllegalArgumentException e) {
+            return null; // 삭제된 게시물 - INSERT는 FK 위반으로 걸러진다
+        }
+    }
+
+    private void notifyWinner(ClaimJournalEntry entry) {
+        if (entry.email() == null) {
+            return;
+        }
+        try {
+            String subject = "Congratulations! You've successfully claimed the post: " + entry.postTitle();
+            String text = "Dear " + entry.email() + ",\n\nCongratulations! You have successfully claimed the post titled '" + entry.postTitle() + "'.\n\nThank you for using our platform!\n\nBest regards,\nThe FCFS Team";
+            emailService.sendEmail(entry.email(), subject, text);
+        } catch (Exception e) {
+            log.error("Failed to notify user {} for post {}: {}", entry.userId(), entry.postId(), e.getMessage());
+        }
+    }
+
+    private void unregisterIfIdle(String stream) {
+        Long last = lastActivity.get(stream);
+        if (last == null || System.currentTimeMillis() - last < properties.getIdleUnregister().toMillis()) {
+            return;
+        }
+        Long size = streamOps.size(stream);
+        if (size == null || size == 0) {
+            redisTemplate.opsForSet().remove(ClaimOutbox.REGISTRY_KEY, stream);
+            streams.remove(stream);
+            lastActivity.remove(stream);
+            groupsReady.remove(stream);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("claim-outbox-" + consumerName).start(this::run);
+        log.info("Claim outbox consumer '{}' started in group '{}'", consumerName, properties.getGroup());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(properties.getPollInterval().toMillis() + 5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        // ClaimJournal과 마찬가지로 웹 서버 종료 이후에 멈춘다
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
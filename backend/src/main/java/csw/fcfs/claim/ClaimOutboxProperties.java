@@ -0,0 +1,45 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("claim.outbox")
+public class ClaimOutboxProperties {
+
+    // false면 claim.lua가 스트림에 기록하지 않고 인-메모리 저널(ClaimJournal)을 사용
+    private boolean enabled = true;
+
+    // 모든 노드가 공유하는 consumer group
+    private String group = "claim-writers";
+
+    // 재시작 후에도 자신의 pending 엔트리를 바로 다시 읽으려면 노드별로 고정된 고유 이름을 지정
+    // (비우면 호스트명-pid, 재시작 전 pending 엔트리는 reclaimMinIdle 뒤 XCLAIM으로 회수)
+    private String consumerName;
+
+    // XREADGROUP COUNT
+    private int batchSize = 500;
+
+    // 읽을 엔트리가 없을 때 다음 폴링까지 대기 시간
+    private Duration pollInterval = Duration.ofMillis(20);
+
+    // 기록에 실패해 ACK 하지 못한 자신의 pending 엔트리를 다시 읽는 주기 (계속 실패하면 2배씩, max까지)
+    private Duration pendingRetryInterval = Duration.ofSeconds(5);
+    private Duration maxPendingRetryInterval = Duration.ofMinutes(1);
+
+    // 다른(죽은) consumer의 pending 엔트리를 XCLAIM 하는 주기와 최소 idle 시간
+    private Duration reclaimInterval = Duration.ofSeconds(30);
+    private Duration reclaimMinIdle = Duration.ofMinutes(1);
+
+    // 스트림 레지스트리 재조회 / 재등록 주기
+    private Duration registryRefreshInterval = Duration.ofSeconds(1);
+    private Duration registrationTtl = Duration.ofMinutes(1);
+
+    // 비어 있는 스트림을 레지스트리에서 제거하기까지의 유휴 시간 (registrationTtl보다 충분히 길어야 함)
+    private Duration idleUnregister = Duration.ofMinutes(10);
+}
@@ -1,5 +1,6 @@
 package csw.fcfs.claim;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +24,7 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     @Query("SELECT c FROM Claim c " +
            "JOIN FETCH c.user u " +
            "WHERE c.post = :post " +
-           "ORDER BY c.createdAt ASC")
+           "ORDER BY c.rank ASC, c.acceptedAt ASC")
     List<Claim> findByPostWithUser(@Param("post") Post post);
 
     @Query("SELECT c FROM Claim c " +
@@ -36,12 +37,29 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
            "JOIN FETCH c.post p " +
            "JOIN FETCH c.user u " +
            "WHERE c.post = :post " +
-           "ORDER BY c.createdAt ASC")
+           "ORDER BY c.rank ASC, c.acceptedAt ASC")
     List<Claim> findByPostWithFullDetails(@Param("post") Post post);
 
+    // 게시물 배치의 당첨자를 한 번에 조회 (게시물별 당첨 순서 유지)
+    @Query("SELECT c FROM Claim c " +
+           "JOIN FETCH c.user u " +
+           "WHERE c.post.id IN :postIds " +
+           "ORDER BY c.post.id ASC, c.rank ASC, c.acceptedAt ASC")
+    List<Claim> findByPostIdsWithUser(@Param("postIds") Collection<Long> postIds);
+
     @Query("SELECT COUNT(c) FROM Claim c WHERE c.user.id = :userId")
     long countByUserId(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(c) FROM Claim c WHERE c.post.id = :postId")
     long countByPostId(@Param("postId") Long postId);
+
+    // 목록 페이지의 캐시 미스 게시물들을 한 번에 집계 ([postId, count])
+    @Query("SELECT c.post.id, COUNT(c) FROM Claim c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT c.user.id FROM Claim c WHERE c.post.id = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    @Query("SELECT MAX(c.rank) FROM Claim c WHERE c.post.id = :postId")
+    Long findMaxRankByPostId(@Param("postId") Long postId);
 }
@@ -0,0 +1,30 @@
+package csw.fcfs.claim;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 클레임 스크립트 응답
+ * <p>
+ * 당첨은 "SUCCESS:&lt;rank&gt;:&lt;epoch micros&gt;" 형태로 Redis가 부여한 순번과 서버 시각을 함께 돌려주고
+ * (게시물 전체 순번이 없는 hot-post 샤딩은 rank를 비운 "SUCCESS::&lt;epoch micros&gt;"),
+ * 그 외(ALREADY_CLAIMED, QUOTA_EXCEEDED 등)는 상태 문자열만 온다.
+ */
+public record ClaimResult(String status, Long rank, Instant acceptedAt) {
+
+    public static ClaimResult parse(String reply) {
+        if (reply == null || !reply.startsWith("SUCCESS:")) {
+            return new ClaimResult(reply, null, null);
+        }
+        String[] parts = reply.split(":");
+        return new ClaimResult("SUCCESS", parts[1].isEmpty() ? null : Long.valueOf(parts[1]), fromEpochMicros(parts[2]));
+    }
+
+    public static Instant fromEpochMicros(String micros) {
+        return Instant.EPOCH.plus(Long.parseLong(micros), ChronoUnit.MICROS);
+    }
+
+    public boolean isSuccess() {
+        return "SUCCESS".equals(status);
+    }
+}
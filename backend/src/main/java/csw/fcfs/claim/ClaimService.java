@@ -1,17 +1,23 @@
 package csw.fcfs.claim;
 
 import java.security.Principal;
-import java.util.Collections;
-import java.util.List;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.stereotype.Service;
 
 import csw.fcfs.post.Post;
+import csw.fcfs.post.PostLifecycleService;
 import csw.fcfs.post.PostVisibility;
-import csw.fcfs.post.repository.PostRepository;
-import csw.fcfs.service.RedisService;
 import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.UserCache;
 import csw.fcfs.user.repository.UserAccountRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,44 +26,28 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ClaimService {
 
-    private final RedisService redisService;
-    private final PostRepository postRepository;
     private final UserAccountRepository userAccountRepository;
-    private final ClaimCacheService claimCacheService;
-    private final ClaimAsyncService claimAsyncService;
-
-//    @Transactional(
-//        propagation = Propagation.REQUIRES_NEW, // never inherit a read-only TX
-//        readOnly = false                        // explicitly writable
-//    )
-    @Deprecated
-    public String claimPost(Long postId, Principal principal) {
-        // Redis 캐싱으로 DB 조회 최소화
-        Post post = claimCacheService.getPostFromCache(postId);
-        UserAccount user = claimCacheService.getUserFromCache(principal.getName());
-
-        // 게시물 소유자가 클레임을 시도하는 경우 차단
-        if (post.getOwner().getId().equals(user.getId())) {
-            return "OWNER_CANNOT_CLAIM";
-        }
-
-        // 🔒 Privacy check: 비공개 게시물인 경우 소유자가 아니면 클레임 불가
-        if (post.getVisibility() == PostVisibility.PRIVATE) {
-            return "POST_NOT_ACCESSIBLE";
-        }
-
-        String result = redisService.executeScript(
-                redisService.loadScript("claim.lua"),
-                Collections.singletonList(String.valueOf(postId)),
-                String.valueOf(user.getId()),
-                String.valueOf(post.getQuota()));
-
-        if ("SUCCESS".equals(result)) {
-            // 비동기 처리는 응답에 영향 없음
-            claimAsyncService.saveClaimAndNotify(post, user);
-        }
+    private final ClaimDescriptorCache claimDescriptorCache;
+    private final UserCache userCache;
+    private final ClaimEngines claimEngines;
+    private final ClaimSoldOutCache claimSoldOutCache;
+    private final WaitingRoomService waitingRoomService;
+    private final PostLifecycleService postLifecycleService;
+    private final ClaimAsyncProperties claimAsyncProperties;
+    private final Executor claimExecutor;
+
+    private Semaphore inFlight;
+
+    @PostConstruct
+    void initInFlightLimit() {
+        inFlight = new Semaphore(claimAsyncProperties.getMaxInFlight());
+    }
 
-        return result;
+    /**
+     * 비동기 클레임이 과부하(in-flight 초과 / 응답 시간 초과)로 처리되지 못했는지 여부 (503으로 응답)
+     */
+    public static boolean isOverloaded(String result) {
+        return "BUSY".equals(result) || "TIMEOUT".equals(result);
     }
 
     // Optimized version that bypasses cache for better performance
@@ -75,71 +65,167 @@ public class ClaimService {
         if (user.getId() == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
-        if (post.getQuota() <= 0) {
+
+        return claimPost(ClaimDescriptor.from(post), user.getId(), user.getEmail(), null);
+    }
+
+    /**
+     * Zero-DB fast path: 게시물/사용자 정보를 인-프로세스 캐시에서 해석하고 Redis만 호출
+     */
+    public String claimPost(Long postId, String email) {
+        return claimPost(postId, email, null);
+    }
+
+    /**
+     * 대기열 게시물은 비동기 경로와 같이 입장 허가된 티켓이 있어야 한다.
+     */
+    public String claimPost(Long postId, String email, String queueTicket) {
+        // 매진된 게시물은 descriptor 조회/Redis 호출 없이 바로 거절
+        if (claimSoldOutCache.isSoldOut(postId)) {
+            return "QUOTA_EXCEEDED";
+        }
+
+        ClaimDescriptor post = claimDescriptorCache.getDescriptor(postId);
+        Long userId = userCache.userIdByEmail(email);
+        return claimPost(post, userId, email, queueTicket);
+    }
+
+    /**
+     * Non-blocking fast path: 요청 스레드는 Redis 응답을 기다리지 않고 즉시 반환된다.
+     * - maxInFlight 초과 시 BUSY (큐잉 대신 빠른 거절)
+     * - timeout 초과 시 TIMEOUT (스크립트는 실행됐을 수 있으므로 재요청하면 ALREADY_CLAIMED로 확인 가능)
+     */
+    public CompletableFuture<String> claimPostAsync(Long postId, String email) {
+        return claimPostAsync(postId, (Principal) () -> email);
+    }
+
+    /**
+     * JWT principal은 uid 클레임을 담고 있어 사용자 조회 없이 처리된다.
+     */
+    public CompletableFuture<String> claimPostAsync(Long postId, Principal principal) {
+        return claimPostAsync(postId, principal, null);
+    }
+
+    /**
+     * 대기열 게시물은 입장 허가된 티켓이 있어야 한다 (서명/커서 확인은 노드 로컬).
+     */
+    public CompletableFuture<String> claimPostAsync(Long postId, Principal principal, String queueTicket) {
+        if (claimSoldOutCache.isSoldOut(postId)) {
+            return CompletableFuture.completedFuture("QUOTA_EXCEEDED");
+        }
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.completedFuture("BUSY");
+        }
+
+        CompletableFuture<String> result;
+        try {
+            ClaimDescriptor post = claimDescriptorCache.getDescriptor(postId);
+            Long userId = userCache.userId(principal);
+            String email = principal.getName();
+
+            String rejected = validate(post, userId);
+            if (rejected == null) {
+                rejected = waitingRoomService.checkTicket(post, userId, queueTicket);
+            }
+            result = rejected != null
+                    ? CompletableFuture.completedFuture(rejected)
+                    : claimEngines.forPost(post).claimAsync(post, userId, email, claimExecutor)
+                            .orTimeout(claimAsyncProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                            .exceptionally(e -> {
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                                if (cause instanceof TimeoutException) {
+                                    log.warn("Claim for post {} timed out after {}", postId, claimAsyncProperties.getTimeout());
+                                    return "TIMEOUT";
+                                }
+                                throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                            })
+                            .thenApply(r -> {
+                                if ("QUOTA_EXCEEDED".equals(r)) {
+                                    // Lettuce I/O 스레드에서 동기 publish를 하지 않도록 claimExecutor로 넘김
+                                    claimExecutor.execute(() -> soldOut(postId));
+                                }
+                                return r;
+                            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        return result.whenComplete((r, e) -> inFlight.release());
+    }
+
+    private String validate(ClaimDescriptor post, Long userId) {
+        if (post.quota() <= 0) {
             return "INVALID_QUOTA";
         }
-        
+
         // 게시물 소유자가 클레임을 시도하는 경우 차단
-        if (post.getOwner().getId().equals(user.getId())) {
+        if (post.ownerId().equals(userId)) {
             return "OWNER_CANNOT_CLAIM";
         }
 
         // 🔒 Privacy check: 비공개 게시물인 경우 소유자가 아니면 클레임 불가
-        if (post.getVisibility() == PostVisibility.PRIVATE) {
+        if (post.visibility() == PostVisibility.PRIVATE) {
             return "POST_NOT_ACCESSIBLE";
         }
 
-        // Build keys in Java to ensure Redis Cluster compatibility
-        String setKey = "post:{" + post.getId() + "}:claimants";
-        String cntKey = "post:{" + post.getId() + "}:claims_count";
-        
-        String result = redisService.executeScriptBySha1(
-                redisService.getClaimScriptSha1(),
-                List.of(setKey, cntKey),
-                String.valueOf(user.getId()),
-                String.valueOf(post.getQuota()));
+        // 모집 기간은 descriptor 시각과 비교 (상태 컬럼/DB 조회 없이, 상태 전환 지연과 무관)
+        Instant now = Instant.now();
+        if (post.openAt() != null && now.isBefore(post.openAt())) {
+            return "NOT_OPEN";
+        }
+        if (post.closeAt() != null && !now.isBefore(post.closeAt())) {
+            return "CLOSED";
+        }
+        return null;
+    }
 
-        if ("SUCCESS".equals(result)) {
-            // 비동기 처리는 응답에 영향 없음
-            claimAsyncService.saveClaimAndNotify(post, user);
+    private void soldOut(Long postId) {
+        claimSoldOutCache.markSoldOut(postId);
+        // 매진된 게시물은 closeAt을 기다리지 않고 CLOSED로 전환
+        postLifecycleService.closeSoldOut(postId);
+    }
+
+    private String claimPost(ClaimDescriptor post, Long userId, String email, String queueTicket) {
+        String rejected = validate(post, userId);
+        if (rejected == null) {
+            rejected = waitingRoomService.checkTicket(post, userId, queueTicket);
+        }
+        if (rejected != null) {
+            return rejected;
         }
 
+        // 게시물별 엔진(LUA / hot-post 샤딩 / TOKEN_LIST)이 판정과 당첨 기록을 담당
+        String result = claimEngines.forPost(post).claim(post, userId, email);
+        if ("QUOTA_EXCEEDED".equals(result)) {
+            soldOut(post.postId());
+        }
         return result;
     }
 
     public String declaimPost(Long postId, Principal principal) {
-        // N+1 문제 해결: owner와 함께 조회
-        Post post = postRepository.findByIdWithOwner(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        String result = redisService.executeScriptBySha1(
-                redisService.getDeclaimScriptSha1(),
-                Collections.singletonList(String.valueOf(postId)),
-                String.valueOf(user.getId()));
-
-        if ("SUCCESS".equals(result)) {
-            claimAsyncService.deleteClaim(post, user);
-        }
+        // 저널은 ID만 필요하므로 엔티티 대신 descriptor 캐시로 해석
+        ClaimDescriptor post = claimDescriptorCache.getDescriptor(postId);
+        Long userId = userCache.userId(principal);
 
-        return result;
+        return declaim(post, userId);
     }
 
     public void removeClaim(Long postId, Long userId) {
-        // N+1 문제 해결: owner와 함께 조회
-        Post post = postRepository.findByIdWithOwner(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        UserAccount user = userAccountRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        ClaimDescriptor post = claimDescriptorCache.getDescriptor(postId);
+        if (!userAccountRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
 
-        String result = redisService.executeScriptBySha1(
-                redisService.getDeclaimScriptSha1(),
-                Collections.singletonList(String.valueOf(postId)),
-                String.valueOf(user.getId()));
+        declaim(post, userId);
+    }
 
+    private String declaim(ClaimDescriptor post, Long userId) {
+        String result = claimEngines.forPost(post).declaim(post, userId);
         if ("SUCCESS".equals(result)) {
-            claimAsyncService.deleteClaim(post, user);
+            // 자리가 났으므로 모든 노드의 매진 표시 해제
+            claimSoldOutCache.reopen(post.postId());
+            postLifecycleService.reopen(post.postId(), post.closeAt());
         }
+        return result;
     }
 }
@@ -0,0 +1,115 @@
+package csw.fcfs.claim;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노드 로컬 매진 게시물 집합
+ * <p>
+ * 클레임 스크립트가 QUOTA_EXCEEDED를 반환하면 매진으로 표시하고 Redis pub/sub으로 다른 노드에 알린다.
+ * 이후 요청은 descriptor 조회와 EVALSHA 없이 바로 QUOTA_EXCEEDED로 응답한다.
+ * 취소(declaim/removeClaim)로 자리가 나면 모든 노드에서 해제한다.
+ * 표시는 ttl 뒤 만료되므로 알림이 유실되거나 해제와 경합해도 잠시 뒤에는 Redis 판정으로 돌아간다.
+ */
+@Component
+@Slf4j
+public class ClaimSoldOutCache implements MessageListener {
+
+    private static final String SOLD_OUT = "SOLD_OUT:";
+    private static final String REOPENED = "REOPENED:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ClaimSoldOutProperties properties;
+
+    // postId → 만료 시각 (System.nanoTime 기준)
+    private final Map<Long, Long> soldOut = new ConcurrentHashMap<>();
+
+    private final Counter shortCircuitCounter;
+
+    public ClaimSoldOutCache(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                             ClaimSoldOutProperties properties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.properties = properties;
+        this.shortCircuitCounter = meterRegistry.counter("claim.sold_out.short_circuit");
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (properties.isEnabled()) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        }
+    }
+
+    public boolean isSoldOut(Long postId) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        Long expiresAt = soldOut.get(postId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt > 0) {
+            soldOut.remove(postId, expiresAt);
+            return false;
+        }
+        shortCircuitCounter.increment();
+        return true;
+    }
+
+    public void markSoldOut(Long postId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // 이미 표시된 게시물은 다시 알리지 않음 (매진 직후 몰리는 QUOTA_EXCEEDED마다 publish 방지)
+        if (soldOut.put(postId, System.nanoTime() + properties.getTtl().toNanos()) == null) {
+            publish(SOLD_OUT + postId);
+        }
+    }
+
+    public void reopen(Long postId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        soldOut.remove(postId);
+        publish(REOPENED + postId);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(properties.getChannel(), message);
+        } catch (Exception e) {
+            // 알림 실패는 ttl 만료로 복구되므로 클레임 처리에 영향을 주지 않음
+            log.warn("Failed to publish sold-out event {}: {}", message, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(SOLD_OUT)) {
+                Long postId = Long.valueOf(body.substring(SOLD_OUT.length()));
+                soldOut.putIfAbsent(postId, System.nanoTime() + properties.getTtl().toNanos());
+            } else if (body.startsWith(REOPENED)) {
+                soldOut.remove(Long.valueOf(body.substring(REOPENED.length())));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed sold-out event: {}", body);
+        }
+    }
+}
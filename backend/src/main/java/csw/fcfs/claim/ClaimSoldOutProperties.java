@@ -0,0 +1,23 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("claim.sold-out")
+public class ClaimSoldOutProperties {
+
+    // 매진 게시물의 클레임을 Redis 호출 없이 즉시 거절
+    private boolean enabled = true;
+
+    // 노드 간 매진/재오픈 알림 채널
+    private String channel = "claims:sold-out";
+
+    // 로컬 매진 표시 유지 시간 (알림 유실/경합 시에도 이 시간 뒤에는 Redis로 다시 확인)
+    private Duration ttl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,19 @@
+package csw.fcfs.claim;
+
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+
+/**
+ * 클레임 처리에 필요한 사용자 정보만 담은 불변 스냅샷 (UserAccount 엔티티 대신 캐시에 보관)
+ */
+public record ClaimUser(
+        Long id,
+        String email,
+        Role role,
+        boolean premium
+) {
+
+    public static ClaimUser from(UserAccount user) {
+        return new ClaimUser(user.getId(), user.getEmail(), user.getRole(), user.isPremium());
+    }
+}
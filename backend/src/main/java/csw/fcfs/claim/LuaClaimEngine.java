@@ -0,0 +1,116 @@
+package csw.fcfs.claim;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.stereotype.Component;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.service.AsyncRedisService;
+import csw.fcfs.service.ClaimBatchDispatcher;
+import csw.fcfs.service.RedisService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 기본 엔진: 당첨자 SET + 카운터 (claim.lua / declaim.lua)
+ */
+@Component
+@RequiredArgsConstructor
+public class LuaClaimEngine implements ClaimEngine {
+
+    /**
+     * 당첨 순번 시퀀스 (취소해도 감소하지 않아 순번이 재사용되지 않음)
+     */
+    public static String seqKey(Long postId) {
+        return "post:{" + postId + "}:seq";
+    }
+
+    private final RedisService redisService;
+    private final AsyncRedisService asyncRedisService;
+    private final ClaimBatchDispatcher claimBatchDispatcher;
+    private final ClaimJournal claimJournal;
+    private final ClaimOutbox claimOutbox;
+
+    @Override
+    public String claim(ClaimDescriptor post, Long userId, String email) {
+        String reply = redisService.executeScriptBySha1(
+                redisService.getClaimScriptSha1(), claimKeys(post), claimArgs(post, userId, email));
+        return journalIfNeeded(post, userId, email, ClaimResult.parse(reply));
+    }
+
+    @Override
+    public CompletableFuture<String> claimAsync(ClaimDescriptor post, Long userId, String email, Executor fallback) {
+        CompletableFuture<String> result = claimBatchDispatcher.isEnabled()
+                // 같은 게시물의 동시 클레임을 claim_batch.lua 한 번의 왕복으로 묶음
+                ? claimBatchDispatcher.submit(claimKeys(post), post.quota(), userId, email)
+                : asyncRedisService.executeScriptBySha1(
+                        redisService.getClaimScriptSha1(), claimKeys(post), claimArgs(post, userId, email));
+        if (claimOutbox.isEnabled()) {
+            return result.thenApply(reply -> ClaimResult.parse(reply).status());
+        }
+        // 저널 append는 큐 포화 시 블로킹될 수 있으므로 Lettuce I/O 스레드 밖에서 실행
+        return result.thenApplyAsync(reply -> journalIfNeeded(post, userId, email, ClaimResult.parse(reply)), fallback);
+    }
+
+    private List<String> claimKeys(ClaimDescriptor post) {
+        // Build keys in Java to ensure Redis Cluster compatibility
+        String setKey = "post:{" + post.postId() + "}:claimants";
+        String cntKey = "post:{" + post.postId() + "}:claims_count";
+        String seqKey = seqKey(post.postId());
+
+        if (claimOutbox.isEnabled()) {
+            // 당첨 기록은 Lua 스크립트 안에서 outbox 스트림에 원자적으로 XADD - 앱이 죽어도 유실되지 않음
+            claimOutbox.register(post.postId());
+            return List.of(setKey, cntKey, seqKey, ClaimOutbox.streamKey(post.postId()));
+        }
+        return List.of(setKey, cntKey, seqKey);
+    }
+
+    private static String[] claimArgs(ClaimDescriptor post, Long userId, String email) {
+        return new String[] {String.valueOf(userId), String.valueOf(post.quota()), email != null ? email : ""};
+    }
+
+    private String journalIfNeeded(ClaimDescriptor post, Long userId, String email, ClaimResult result) {
+        if (result.isSuccess() && !claimOutbox.isEnabled()) {
+            // write-behind 저널이 배치로 기록 - 응답에 영향 없음 (순번/수락 시각은 Redis가 부여한 값)
+            claimJournal.append(ClaimJournalEntry.claim(post, userId, email, result));
+        }
+        return result.status();
+    }
+
+    @Override
+    public String declaim(ClaimDescriptor post, Long userId) {
+        Long postId = post.postId();
+        String setKey = "post:{" + postId + "}:claimants";
+        String cntKey = "post:{" + postId + "}:claims_count";
+
+        if (claimOutbox.isEnabled()) {
+            // DECLAIM도 같은 스트림에 기록해 CLAIM과의 순서를 보존
+            claimOutbox.register(postId);
+            return redisService.executeScriptBySha1(
+                    redisService.getDeclaimScriptSha1(),
+                    List.of(setKey, cntKey, ClaimOutbox.streamKey(postId)),
+                    String.valueOf(userId));
+        }
+
+        String result = redisService.executeScriptBySha1(
+                redisService.getDeclaimScriptSha1(),
+                List.of(setKey, cntKey),
+                String.valueOf(userId));
+
+        if ("SUCCESS".equals(result)) {
+            // 같은 게시물의 CLAIM 뒤에 순서대로 DELETE 되도록 동일 저널 사용
+            claimJournal.append(ClaimJournalEntry.declaim(postId, userId));
+        }
+        return result;
+    }
+
+    @Override
+    public void clear(Post post) {
+        redisService.deleteKeys(
+                "post:{" + post.getId() + "}:claimants",
+                "post:{" + post.getId() + "}:claims_count",
+                seqKey(post.getId()));
+    }
+}
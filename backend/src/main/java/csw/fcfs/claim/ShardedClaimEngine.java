@@ -0,0 +1,249 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.service.RedisService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hot-post 모드 클레임 처리
+ * <p>
+ * 인기 게시물은 모든 클레임이 post:{id} 한 해시 슬롯(= 마스터 1대)에 몰리므로,
+ * quota를 N개의 토큰 카운터 post:{id:shard}:tokens 로 나눠 서로 다른 슬롯에 둔다.
+ * <ul>
+ *   <li>사용자는 userId 해시로 항상 같은 home 샤드에 배정 → home 샤드의 SET만으로 중복 클레임 차단</li>
+ *   <li>home 샤드 토큰이 바닥나면 sibling 샤드에서 토큰을 가져온다 (spill)</li>
+ *   <li>당첨 1건 = 토큰 DECR 1회이므로 전체 당첨 수는 quota를 넘지 않는다</li>
+ *   <li>취소된 토큰은 (spill로 가져온 것이라도) 같은 스크립트에서 home 샤드에 반환 - 토큰은 서로 바꿔 쓸 수 있고 합계만 중요</li>
+ *   <li>샤드 토큰 키 자체가 Redis 쪽 준비 표시 - 키가 없으면 스크립트가 NOT_READY를 반환하고 다시 분배한다</li>
+ * </ul>
+ * spill 도중 앱이 죽으면 토큰/예약이 남을 수 있지만 이는 과소 할당일 뿐 초과 할당은 생기지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardedClaimEngine implements ClaimEngine {
+
+    private static final Duration KEY_TTL = Duration.ofDays(30);
+    // 토큰 분배 중 표시 - 분배하던 노드가 죽어도 이 시간 뒤에는 다른 노드가 다시 분배
+    private static final Duration INIT_LOCK_TTL = Duration.ofSeconds(5);
+
+    private final RedisService redisService;
+    private final ClaimJournal claimJournal;
+    private final ClaimOutbox claimOutbox;
+
+    public static String claimantsKey(Long postId, int shard) {
+        return "post:{" + postId + ":" + shard + "}:claimants";
+    }
+
+    public static String tokensKey(Long postId, int shard) {
+        return "post:{" + postId + ":" + shard + "}:tokens";
+    }
+
+    public static String spilledKey(Long postId, int shard) {
+        return "post:{" + postId + ":" + shard + "}:spilled";
+    }
+
+    public static String tokensInitKey(Long postId) {
+        return "post:{" + postId + "}:tokens-init";
+    }
+
+    /**
+     * 순차 증가하는 userId도 샤드에 고르게 퍼지도록 섞은 뒤 나머지 연산
+     */
+    public static int homeShard(Long userId, int shards) {
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), shards);
+    }
+
+    @Override
+    public String claim(ClaimDescriptor post, Long userId, String email) {
+        Long postId = post.postId();
+        int home = homeShard(userId, post.claimShards());
+        String emailArg = email != null ? email : "";
+
+        List<String> keys = new ArrayList<>(List.of(
+                claimantsKey(postId, home), tokensKey(postId, home), spilledKey(postId, home)));
+        String outKey = outboxKey(postId, home);
+        if (outKey != null) {
+            keys.add(outKey);
+        }
+
+        String result = redisService.executeScriptBySha1(
+                redisService.getShardedClaimScriptSha1(), keys, String.valueOf(userId), emailArg);
+        if ("NOT_READY".equals(result)) {
+            // 다른 노드의 clear/만료/Redis 초기화로 토큰 키가 없음 - 분배 후 한 번 더
+            ensureTokens(post);
+            result = redisService.executeScriptBySha1(
+                    redisService.getShardedClaimScriptSha1(), keys, String.valueOf(userId), emailArg);
+            if ("NOT_READY".equals(result)) {
+                // 다른 노드의 분배가 아직 끝나지 않음 - 재시도 가능한 과부하로 응답
+                return "BUSY";
+            }
+        }
+
+        if ("SPILL".equals(result)) {
+            result = spill(post, home, userId, emailArg);
+        }
+
+        // 저널 경로도 accepted_at은 스크립트가 돌려준 Redis 서버 시각 (앱 노드 시계와 무관)
+        ClaimResult claimed = ClaimResult.parse(result);
+        if (claimed.isSuccess() && outKey == null) {
+            claimJournal.append(ClaimJournalEntry.claim(post, userId, email, claimed));
+        }
+        return claimed.status();
+    }
+
+    private String spill(ClaimDescriptor post, int home, Long userId, String emailArg) {
+        Long postId = post.postId();
+        int shards = post.claimShards();
+
+        int taken = -1;
+        for (int i = 1; i < shards; i++) {
+            int sibling = (home + i) % shards;
+            String result = redisService.executeScriptBySha1(
+                    redisService.getSpillScriptSha1(), List.of(tokensKey(postId, sibling)));
+            if ("TAKEN".equals(result)) {
+                taken = sibling;
+                break;
+            }
+        }
+
+        List<String> keys = new ArrayList<>(List.of(claimantsKey(postId, home), spilledKey(postId, home)));
+        String outKey = outboxKey(postId, home);
+        if (outKey != null) {
+            keys.add(outKey);
+        }
+        return redisService.executeScriptBySha1(
+                redisService.getSettleScriptSha1(), keys, String.valueOf(userId), String.valueOf(taken), emailArg);
+    }
+
+    @Override
+    public String declaim(ClaimDescriptor post, Long userId) {
+        Long postId = post.postId();
+        int home = homeShard(userId, post.claimShards());
+
+        List<String> keys = new ArrayList<>(List.of(
+                claimantsKey(postId, home), tokensKey(postId, home), spilledKey(postId, home)));
+        String outKey = outboxKey(postId, home);
+        if (outKey != null) {
+            keys.add(outKey);
+        }
+
+        // 토큰 반환(home 샤드 INCR + EXPIRE)까지 스크립트 한 번에 처리
+        String result = redisService.executeScriptBySha1(
+                redisService.getShardedDeclaimScriptSha1(), keys, String.valueOf(userId));
+
+        if ("SUCCESS".equals(result) && outKey == null) {
+            claimJournal.append(ClaimJournalEntry.declaim(postId, userId));
+        }
+        return result;
+    }
+
+    /**
+     * 전체 샤드의 당첨자 수 합계 (spill 대기 중인 예약 포함)
+     */
+    public long countClaims(Long postId, int shards) {
+        long total = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            Long size = redisService.getSetSize(claimantsKey(postId, shard));
+            total += size != null ? size : 0;
+        }
+        return total;
+    }
+
+    /**
+     * quota를 샤드별 토큰으로 분배 (당첨자가 없을 때만 호출 - 게시물 수정/샤드 변경)
+     */
+    @Override
+    public void prime(Post post) {
+        int shards = post.getClaimShards();
+        if (shards <= 1) {
+            return;
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            redisService.set(tokensKey(post.getId(), shard), String.valueOf(share(post.getQuota(), shards, shard)), KEY_TTL);
+        }
+    }
+
+    @Override
+    public void clear(Post post) {
+        int shards = post.getClaimShards();
+        List<String> keys = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            keys.add(claimantsKey(post.getId(), shard));
+            keys.add(tokensKey(post.getId(), shard));
+            keys.add(spilledKey(post.getId(), shard));
+        }
+        redisService.deleteKeys(keys.toArray(String[]::new));
+    }
+
+    /**
+     * 토큰 키가 없을 때(만료/Redis 초기화/clear) 지연 초기화 - 클레임 스크립트가 NOT_READY를 반환한 경우에만 호출
+     * 일부 샤드 키만 사라진 경우에는 초과 할당을 막기 위해 0으로 채운다.
+     * 분배는 tokens-init 표시를 잡은 노드 한 곳만 한다 (동시에 분배하면 채우는 중인 샤드를 다른 노드가
+     * "일부만 사라짐"으로 보고 0으로 채워 과소 할당됨). 나머지 노드는 분배가 끝나기를 기다린다.
+     */
+    private void ensureTokens(ClaimDescriptor post) {
+        String initKey = tokensInitKey(post.postId());
+        if (!Boolean.TRUE.equals(redisService.setIfAbsent(initKey, "1", INIT_LOCK_TTL))) {
+            awaitTokens(initKey);
+            return;
+        }
+        try {
+            distributeTokens(post);
+        } finally {
+            redisService.deleteKeys(initKey);
+        }
+    }
+
+    private void awaitTokens(String initKey) {
+        long deadline = System.currentTimeMillis() + INIT_LOCK_TTL.toMillis();
+        while (redisService.get(initKey) != null && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void distributeTokens(ClaimDescriptor post) {
+        Long postId = post.postId();
+        int shards = post.claimShards();
+        List<Integer> missing = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            if (redisService.get(tokensKey(postId, shard)) == null) {
+                missing.add(shard);
+            }
+        }
+
+        if (missing.size() == shards) {
+            long remaining = Math.max(0, post.quota() - countClaims(postId, shards));
+            for (int shard = 0; shard < shards; shard++) {
+                redisService.setIfAbsent(tokensKey(postId, shard), String.valueOf(share(remaining, shards, shard)), KEY_TTL);
+            }
+        } else {
+            for (int shard : missing) {
+                redisService.setIfAbsent(tokensKey(postId, shard), "0", KEY_TTL);
+            }
+        }
+    }
+
+    private String outboxKey(Long postId, int shard) {
+        if (!claimOutbox.isEnabled()) {
+            return null;
+        }
+        String key = ClaimOutbox.streamKey(postId, shard);
+        claimOutbox.register(key);
+        return key;
+    }
+
+    private static long share(long total, int shards, int shard) {
+        return total / shards + (shard < total % shards ? 1 : 0);
+    }
+}
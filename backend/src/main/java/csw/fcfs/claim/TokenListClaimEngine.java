@@ -0,0 +1,117 @@
+package csw.fcfs.claim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.stereotype.Component;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.service.AsyncRedisService;
+import csw.fcfs.service.RedisService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 토큰 리스트 엔진: quota만큼 미리 RPUSH 해둔 post:{id}:tokens 에서 LPOP
+ * <p>
+ * claim.lua는 매진 후에도 패배 요청마다 SADD/INCR/SREM/DECR 4회를 쓰지만,
+ * 이 엔진은 매진 후 요청이 SISMEMBER + 빈 리스트 LPOP(읽기만)으로 끝난다.
+ * 당첨자 SET 키는 claim.lua와 같아서 당첨자 수 조회(SCARD)는 엔진과 무관하게 동작한다.
+ * <p>
+ * 토큰은 오픈 전에 prime(엔진 변경/게시물 수정/openAt - primeLead)에서 만든다. 첫 클레임 스크립트에서 만들면
+ * quota만큼의 RPUSH가 트래픽이 몰리는 순간 해당 master를 막는다. 스크립트 안의 생성은 리스트가 만료/유실된 경우의 fallback.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenListClaimEngine implements ClaimEngine {
+
+    private final RedisService redisService;
+    private final AsyncRedisService asyncRedisService;
+    private final ClaimJournal claimJournal;
+    private final ClaimOutbox claimOutbox;
+
+    public static String tokensKey(Long postId) {
+        return "post:{" + postId + "}:tokens";
+    }
+
+    public static String readyKey(Long postId) {
+        return "post:{" + postId + "}:tokens_ready";
+    }
+
+    @Override
+    public String claim(ClaimDescriptor post, Long userId, String email) {
+        String reply = redisService.executeScriptBySha1(
+                redisService.getTokenClaimScriptSha1(), claimKeys(post.postId()), claimArgs(post, userId, email));
+        return journalIfNeeded(post, userId, email, ClaimResult.parse(reply));
+    }
+
+    @Override
+    public CompletableFuture<String> claimAsync(ClaimDescriptor post, Long userId, String email, Executor fallback) {
+        CompletableFuture<String> result = asyncRedisService.executeScriptBySha1(
+                redisService.getTokenClaimScriptSha1(), claimKeys(post.postId()), claimArgs(post, userId, email));
+        if (claimOutbox.isEnabled()) {
+            return result.thenApply(reply -> ClaimResult.parse(reply).status());
+        }
+        return result.thenApplyAsync(reply -> journalIfNeeded(post, userId, email, ClaimResult.parse(reply)), fallback);
+    }
+
+    private List<String> claimKeys(Long postId) {
+        List<String> keys = new ArrayList<>(List.of(
+                "post:{" + postId + "}:claimants", tokensKey(postId), readyKey(postId), LuaClaimEngine.seqKey(postId)));
+        if (claimOutbox.isEnabled()) {
+            claimOutbox.register(postId);
+            keys.add(ClaimOutbox.streamKey(postId));
+        }
+        return keys;
+    }
+
+    private static String[] claimArgs(ClaimDescriptor post, Long userId, String email) {
+        return new String[] {String.valueOf(userId), String.valueOf(post.quota()), email != null ? email : ""};
+    }
+
+    private String journalIfNeeded(ClaimDescriptor post, Long userId, String email, ClaimResult result) {
+        if (result.isSuccess() && !claimOutbox.isEnabled()) {
+            claimJournal.append(ClaimJournalEntry.claim(post, userId, email, result));
+        }
+        return result.status();
+    }
+
+    @Override
+    public String declaim(ClaimDescriptor post, Long userId) {
+        Long postId = post.postId();
+        List<String> keys = new ArrayList<>(List.of("post:{" + postId + "}:claimants", tokensKey(postId)));
+        boolean outbox = claimOutbox.isEnabled();
+        if (outbox) {
+            claimOutbox.register(postId);
+            keys.add(ClaimOutbox.streamKey(postId));
+        }
+
+        String result = redisService.executeScriptBySha1(
+                redisService.getTokenDeclaimScriptSha1(), keys, String.valueOf(userId));
+
+        if ("SUCCESS".equals(result) && !outbox) {
+            claimJournal.append(ClaimJournalEntry.declaim(postId, userId));
+        }
+        return result;
+    }
+
+    @Override
+    public void prime(Post post) {
+        Long postId = post.getId();
+        // 이미 만든 리스트는 그대로 둔다 (clear 후에만 다시 생성)
+        redisService.executeScriptBySha1(redisService.getTokenPrimeScriptSha1(),
+                List.of("post:{" + postId + "}:claimants", tokensKey(postId), readyKey(postId)),
+                String.valueOf(post.getQuota()));
+    }
+
+    @Override
+    public void clear(Post post) {
+        // 이어지는 prime(또는 fallback으로 다음 클레임)에서 현재 quota 기준으로 토큰을 다시 생성
+        redisService.deleteKeys(
+                "post:{" + post.getId() + "}:claimants",
+                tokensKey(post.getId()),
+                readyKey(post.getId()),
+                LuaClaimEngine.seqKey(post.getId()));
+    }
+}
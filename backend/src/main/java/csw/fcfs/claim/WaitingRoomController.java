@@ -0,0 +1,35 @@
+package csw.fcfs.claim;
+
+import java.security.Principal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import csw.fcfs.claim.dto.QueueTicketResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    // 대기열 입장 - 오픈 전에 받아 두고 클레임 시 X-Queue-Ticket 헤더로 보낸다
+    @PostMapping("/{postId}")
+    public ResponseEntity<QueueTicketResponse> join(@PathVariable Long postId, Principal principal) {
+        return ResponseEntity.ok(waitingRoomService.join(postId, principal));
+    }
+
+    // 현재 위치 확인 (Redis 호출 없이 노드 로컬 입장 커서로 계산)
+    @GetMapping("/{postId}")
+    public ResponseEntity<QueueTicketResponse> status(@PathVariable Long postId, Principal principal,
+            @RequestHeader(WaitingRoomService.TICKET_HEADER) String ticket) {
+        return ResponseEntity.ok(waitingRoomService.status(postId, principal, ticket));
+    }
+}
@@ -0,0 +1,29 @@
+package csw.fcfs.claim;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("claim.waiting-room")
+public class WaitingRoomProperties {
+
+    // 오픈 시각에 한 번에 입장시키는 티켓 수
+    private int initialBurst = 100;
+
+    // 이후 초당 입장시키는 티켓 수 (클러스터 전체)
+    private double admitRate = 200;
+
+    // 입장 커서를 Redis에서 갱신하는 주기 (클레임 경로는 노드 로컬 커서만 확인)
+    private Duration tick = Duration.ofMillis(100);
+
+    // 이 시간 동안 사용되지 않은 게시물의 로컬 커서는 제거
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // 대기열 Redis 키 TTL (마지막 입장/갱신 기준)
+    private Duration ttl = Duration.ofHours(24);
+}
@@ -0,0 +1,255 @@
+package csw.fcfs.claim;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import csw.fcfs.claim.dto.QueueTicketResponse;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.UserCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시물별 대기열 (opt-in, {@link Post#isWaitingRoom()})
+ * <p>
+ * 오픈 전에 받은 서명된 티켓(순번)을 Redis ZSET에 줄 세우고, 오픈 시각부터 initialBurst + 초당 admitRate개씩
+ * 입장 커서를 전진시킨다(queue_admit.lua). 클레임 경로는 티켓 서명과 노드 로컬 커서만 확인하므로
+ * Redis 호출이 늘지 않고, 동시에 몰리는 클레임이 감당 가능한 속도의 흐름으로 바뀐다.
+ */
+@Service
+@Slf4j
+public class WaitingRoomService implements DisposableBean {
+
+    public static final String TICKET_HEADER = "X-Queue-Ticket";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RedisService redisService;
+    private final ClaimDescriptorCache claimDescriptorCache;
+    private final PostRepository postRepository;
+    private final UserCache userCache;
+    private final WaitingRoomProperties properties;
+    private final SecretKeySpec ticketKey;
+    private final ScheduledExecutorService scheduler;
+
+    // postId → 입장 커서 (tick마다 Redis에서 갱신)
+    private final Map<Long, Admission> admissions = new ConcurrentHashMap<>();
+
+    public WaitingRoomService(RedisService redisService, ClaimDescriptorCache claimDescriptorCache,
+                              PostRepository postRepository, UserCache userCache, WaitingRoomProperties properties,
+                              @Value("${jwt.secret}") String secret) {
+        this.redisService = redisService;
+        this.claimDescriptorCache = claimDescriptorCache;
+        this.postRepository = postRepository;
+        this.userCache = userCache;
+        this.properties = properties;
+        this.ticketKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("waiting-room").daemon().factory());
+    }
+
+    @PostConstruct
+    public void start() {
+        long tick = properties.getTick().toMillis();
+        scheduler.scheduleWithFixedDelay(this::advanceAll, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 대기열 입장 (같은 사용자는 같은 순번의 티켓을 다시 받는다)
+     */
+    public QueueTicketResponse join(Long postId, Principal principal) {
+        ClaimDescriptor post = claimDescriptorCache.getDescriptor(postId);
+        if (!post.waitingRoom()) {
+            throw new IllegalStateException("Post does not use a waiting room.");
+        }
+        if (post.closeAt() != null && post.closeAt().isBefore(Instant.now())) {
+            throw new IllegalStateException("Post is closed.");
+        }
+
+        Long userId = userCache.userId(principal);
+        long seq = Long.parseLong(redisService.executeScriptBySha1(redisService.getQueueJoinScriptSha1(),
+                List.of(queueKey(postId), seqKey(postId)),
+                String.valueOf(userId),
+                String.valueOf(properties.getTtl().toSeconds())));
+        return toResponse(post, seq, sign(postId, userId, seq));
+    }
+
+    /**
+     * 티켓의 현재 위치 (노드 로컬 커서 기준, Redis 호출 없음)
+     */
+    public QueueTicketResponse status(Long postId, Principal principal, String ticket) {
+        ClaimDescriptor post = claimDescriptorCache.getDescriptor(postId);
+        long seq = verify(postId, userCache.userId(principal), ticket);
+        if (seq < 0) {
+            throw new IllegalArgumentException("Invalid queue ticket");
+        }
+        return toResponse(post, seq, ticket);
+    }
+
+    /**
+     * 클레임 경로의 입장 확인
+     *
+     * @return 통과면 null, 아니면 클레임 결과 코드
+     */
+    public String checkTicket(ClaimDescriptor post, Long userId, String ticket) {
+        if (!post.waitingRoom()) {
+            return null;
+        }
+        if (ticket == null || ticket.isBlank()) {
+            return "QUEUE_TICKET_REQUIRED";
+        }
+        long seq = verify(post.postId(), userId, ticket);
+        if (seq < 0) {
+            return "INVALID_QUEUE_TICKET";
+        }
+        return seq <= admittedSeq(post) ? null : "NOT_ADMITTED";
+    }
+
+    @Transactional
+    public void setEnabled(Long postId, boolean enabled) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        post.setWaitingRoom(enabled);
+        postRepository.save(post);
+        claimDescriptorCache.evictPost(postId);
+        admissions.remove(postId);
+        if (!enabled) {
+            redisService.deleteKeys(queueKey(postId), seqKey(postId), admissionKey(postId));
+        }
+        log.info("Post {} waiting room {}", postId, enabled ? "enabled" : "disabled");
+    }
+
+    private QueueTicketResponse toResponse(ClaimDescriptor post, long seq, String ticket) {
+        long admitted = admittedSeq(post);
+        return new QueueTicketResponse(ticket, Math.max(0, seq - admitted), seq <= admitted);
+    }
+
+    long admittedSeq(ClaimDescriptor post) {
+        Admission admission = admissions.get(post.postId());
+        if (admission == null) {
+            // 이 노드에서 처음 보는 게시물만 동기 조회, 이후는 tick이 갱신
+            admission = new Admission(post, advance(post));
+            Admission existing = admissions.putIfAbsent(post.postId(), admission);
+            if (existing != null) {
+                admission = existing;
+            }
+        }
+        admission.post = post;
+        admission.lastUsed = System.nanoTime();
+        return admission.admitted;
+    }
+
+    private void advanceAll() {
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Admission> entry : admissions.entrySet()) {
+            Admission admission = entry.getValue();
+            if (now - admission.lastUsed > idleNanos) {
+                admissions.remove(entry.getKey(), admission);
+                continue;
+            }
+            try {
+                admission.admitted = advance(admission.post);
+            } catch (Exception e) {
+                // 다음 tick에 다시 시도 - 그동안은 이전 커서로 판정
+                log.warn("Failed to advance waiting room of post {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private long advance(ClaimDescriptor post) {
+        long openAt = post.openAt() != null ? post.openAt().toEpochMilli() : 0;
+        return Long.parseLong(redisService.executeScriptBySha1(redisService.getQueueAdmitScriptSha1(),
+                List.of(seqKey(post.postId()), admissionKey(post.postId())),
+                String.valueOf(openAt),
+                String.valueOf(properties.getAdmitRate()),
+                String.valueOf(properties.getInitialBurst()),
+                String.valueOf(properties.getTtl().toSeconds())));
+    }
+
+    /**
+     * 티켓 = 순번.HMAC(postId:userId:순번) - 다른 게시물/사용자에게 넘겨 쓸 수 없다
+     */
+    String sign(Long postId, Long userId, long seq) {
+        return seq + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(postId, userId, seq));
+    }
+
+    /**
+     * @return 서명이 맞으면 순번, 아니면 -1
+     */
+    long verify(Long postId, Long userId, String ticket) {
+        if (ticket == null) {
+            return -1;
+        }
+        int dot = ticket.indexOf('.');
+        if (dot <= 0) {
+            return -1;
+        }
+        try {
+            long seq = Long.parseLong(ticket, 0, dot, 10);
+            byte[] signature = Base64.getUrlDecoder().decode(ticket.substring(dot + 1));
+            return MessageDigest.isEqual(mac(postId, userId, seq), signature) ? seq : -1;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 포함
+            return -1;
+        }
+    }
+
+    private byte[] mac(Long postId, Long userId, long seq) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(ticketKey);
+            return mac.doFinal((postId + ":" + userId + ":" + seq).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign queue ticket", e);
+        }
+    }
+
+    private static String queueKey(Long postId) {
+        return "queue:{" + postId + "}";
+    }
+
+    private static String seqKey(Long postId) {
+        return "queue:{" + postId + "}:seq";
+    }
+
+    private static String admissionKey(Long postId) {
+        return "queue:{" + postId + "}:admission";
+    }
+
+    private static final class Admission {
+        private volatile ClaimDescriptor post;
+        private volatile long admitted;
+        private volatile long lastUsed = System.nanoTime();
+
+        private Admission(ClaimDescriptor post, long admitted) {
+            this.post = post;
+            this.admitted = admitted;
+        }
+    }
+}
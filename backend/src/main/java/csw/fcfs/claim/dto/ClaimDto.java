@@ -1,6 +1,8 @@
 package csw.fcfs.claim.dto;
 
+import java.time.Instant;
+
 import csw.fcfs.user.dto.UserDto;
 
-public record ClaimDto(Long id, UserDto user) {
+public record ClaimDto(Long id, UserDto user, Long rank, Instant acceptedAt) {
 }
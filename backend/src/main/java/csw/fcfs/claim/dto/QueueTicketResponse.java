@@ -0,0 +1,9 @@
+package csw.fcfs.claim.dto;
+
+/**
+ * 대기열 티켓과 현재 위치
+ *
+ * @param position 입장까지 남은 순번 (0이면 입장 허가)
+ */
+public record QueueTicketResponse(String ticket, long position, boolean admitted) {
+}
@@ -1,6 +1,12 @@
 package csw.fcfs.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+
+import csw.fcfs.claim.ClaimCacheCodec;
+import csw.fcfs.config.cache.LayeredCacheManager;
+import csw.fcfs.config.cache.LayeredCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -8,6 +14,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -21,7 +30,9 @@ import java.util.Map;
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                     LayeredCacheProperties properties, StringRedisTemplate redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer, MeterRegistry meterRegistry) {
         // 우리가 만든 최적화된 ObjectMapper를 사용하는 직렬화기
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
 
@@ -36,36 +47,51 @@ public class CacheConfig {
                 .prefixCacheNameWith("fcfs:");
 
         // 캐시별 개별 TTL 설정
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        Map<String, Duration> ttls = new HashMap<>();
 
-        // User 캐시 - 짧은 TTL (자주 변경되는 데이터)
-        cacheConfigurations.put("users", defaultConfig
-                .entryTtl(Duration.ofMinutes(5)));
+        // User 캐시 - 짧은 TTL (토큰의 role/premium을 이 시간 안에 최신 값으로 교체)
+        ttls.put("users", Duration.ofMinutes(1));
 
         // Post 캐시 - 긴 TTL (상대적으로 안정적인 데이터)
-        cacheConfigurations.put("posts", defaultConfig
-                .entryTtl(Duration.ofHours(1)));
+        ttls.put("posts", Duration.ofHours(1));
 
         // 인기 게시물 캐시 - 매우 짧은 TTL (실시간성 중요)
-        cacheConfigurations.put("popular-posts", defaultConfig
-                .entryTtl(Duration.ofMinutes(2)));
+        ttls.put("popular-posts", Duration.ofMinutes(2));
 
         // 통계 캐시 - 중간 TTL
-        cacheConfigurations.put("statistics", defaultConfig
-                .entryTtl(Duration.ofMinutes(15)));
+        ttls.put("statistics", Duration.ofMinutes(15));
 
         // 설정 캐시 - 매우 긴 TTL (거의 변경되지 않음)
-        cacheConfigurations.put("settings", defaultConfig
-                .entryTtl(Duration.ofHours(6)));
+        ttls.put("settings", Duration.ofHours(6));
 
         // 페이지네이션 캐시 - 짧은 TTL (실시간성 중요)
-        cacheConfigurations.put("posts-page", defaultConfig
-                .entryTtl(Duration.ofMinutes(3)));
+        ttls.put("posts-page", Duration.ofMinutes(3));
+
+        // yml의 cache.ttl 값이 있으면 우선
+        ttls.putAll(properties.getTtl());
 
-        return RedisCacheManager.builder(connectionFactory)
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        ttls.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
+
+        // 클레임 경로 캐시는 엔티티 대신 전용 레코드를 고정 순서 바이너리로 저장 (JSON + 타입 정보 대비 작고 빠름)
+        RedisSerializationContext.SerializationPair<Object> claimCodec =
+                RedisSerializationContext.SerializationPair.fromSerializer(new ClaimCacheCodec());
+        for (String name : new String[]{"posts", "users"}) {
+            cacheConfigurations.put(name, cacheConfigurations.get(name).serializeValuesWith(claimCodec));
+        }
+
+        // 트랜잭션 연동은 바깥(LayeredCacheManager)에서 처리
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        // 로컬 Caffeine 계층 + Redis 계층, 무효화는 pub/sub으로 다른 노드에 전파
+        LayeredCacheManager cacheManager = new LayeredCacheManager(
+                redisCacheManager, properties, ttls, redisTemplate, meterRegistry);
+        cacheManager.setTransactionAware(true);
+        listenerContainer.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+        return cacheManager;
     }
 }
@@ -6,15 +6,26 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 메서드 반환값을 Redis에 TTL과 함께 캐싱 (CacheWithTTLAspect)
+ * - 반환 타입(제네릭 포함) 그대로 JSON 직렬화/역직렬화
+ * - 같은 키의 동시 미스는 노드 안에서 한 번만 실행 (single-flight)
+ * - 만료 직전에는 확률적으로 미리 갱신 (XFetch) 하여 만료 순간 DB로 몰리는 것을 방지
+ */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface CacheWithTTL {
+    // 캐시 이름 (비어 있으면 "클래스명.메서드명")
     String value() default "";
+    // SpEL 키 (비어 있으면 모든 인자의 JSON 배열 - 값 타입 인자만 허용), 예: "#postId + ':' + #pageable.pageNumber"
     String key() default "";
     long ttl() default 10;
     TimeUnit timeUnit() default TimeUnit.MINUTES;
 
     // 조건부 캐싱
-    String condition() default "";
-    String unless() default "";
+    String condition() default "";  // 호출 전 평가, false면 캐시를 거치지 않음
+    String unless() default "";     // 호출 후 평가 (#result), true면 저장하지 않음
+
+    // 조기 갱신 강도 (0이면 비활성, 클수록 더 일찍 갱신)
+    double beta() default 1.0;
 }
@@ -1,66 +1,221 @@
 package csw.fcfs.config.cache;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.TimeUnit;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link CacheWithTTL} 처리
+ * <p>
+ * Redis 값 형식: "만료시각(epoch ms):재계산시간(ms):JSON"
+ * XFetch - now - delta * beta * ln(rand) >= 만료시각 이면 만료 전이라도 이번 호출이 다시 계산한다.
+ * 재계산이 오래 걸리는 키일수록 더 일찍, 호출이 많을수록 정확히 한 명이 먼저 갱신하게 된다.
+ * 조기 갱신 중에 들어온 호출은 아직 유효한 값을 그대로 받고, 값이 없는(만료된) 호출만 갱신 결과를 기다린다.
+ */
 @Aspect
 @Component
+@Slf4j
 public class CacheWithTTLAspect {
 
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+    // 키 전용 (값 직렬화용 objectMapper는 타입 정보를 함께 기록하므로 키가 불필요하게 길어진다)
+    private static final ObjectMapper KEY_MAPPER = new ObjectMapper().findAndRegisterModules();
+
     private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
 
-    public CacheWithTTLAspect(StringRedisTemplate redisTemplate) {
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+    private final Map<Method, JavaType> returnTypes = new ConcurrentHashMap<>();
+
+    // 캐시 키 → 진행 중인 재계산 (노드 안 single-flight)
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CacheWithTTLAspect(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
         this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * SpEL 루트 객체 (#root.method, #root.args, #root.target)
+     */
+    public record Root(Method method, Object[] args, Object target) {
     }
 
     @Around("@annotation(cacheWithTTL)")
     public Object cache(ProceedingJoinPoint joinPoint, CacheWithTTL cacheWithTTL) throws Throwable {
-        // 캐시 키 생성
-        String cacheKey = generateCacheKey(joinPoint, cacheWithTTL);
-
-        // 캐시에서 값 조회
-        String cached = redisTemplate.opsForValue().get(cacheKey);
-        if (cached != null) {
-            // JSON 역직렬화 필요시 ObjectMapper 사용
-            return deserializeValue(cached, joinPoint.getSignature().getDeclaringType());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                new Root(method, joinPoint.getArgs(), joinPoint.getTarget()), method, joinPoint.getArgs(), PARAMETER_NAMES);
+
+        if (!cacheWithTTL.condition().isEmpty()
+                && !Boolean.TRUE.equals(evaluate(cacheWithTTL.condition(), context, Boolean.class))) {
+            return joinPoint.proceed();
+        }
+
+        String cacheKey = generateCacheKey(joinPoint, method, cacheWithTTL, context);
+        JavaType type = returnTypes.computeIfAbsent(method,
+                m -> objectMapper.getTypeFactory().constructType(m.getGenericReturnType()));
+
+        Entry cached = read(cacheKey, type);
+        if (cached != null && !refreshEarly(cached, cacheWithTTL.beta())) {
+            return cached.value();
+        }
+
+        return load(cacheKey, cached, joinPoint, cacheWithTTL, context, type);
+    }
+
+    /**
+     * @param cached 조기 갱신이면 아직 유효한 값, 미스면 null
+     */
+    private Object load(String cacheKey, Entry cached, ProceedingJoinPoint joinPoint, CacheWithTTL cacheWithTTL,
+                        MethodBasedEvaluationContext context, JavaType type) throws Throwable {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            // 조기 갱신은 다른 호출이 이미 하고 있으므로 유효한 값을 그대로 반환
+            if (cached != null) {
+                return cached.value();
+            }
+            // 미스면 같은 키 계산 결과를 기다린다
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            Object result = joinPoint.proceed();
+            long delta = System.currentTimeMillis() - start;
+
+            context.setVariable("result", result);
+            boolean skip = result == null
+                    || (!cacheWithTTL.unless().isEmpty() && Boolean.TRUE.equals(evaluate(cacheWithTTL.unless(), context, Boolean.class)));
+            if (!skip) {
+                write(cacheKey, result, type, delta, cacheWithTTL.timeUnit().toMillis(cacheWithTTL.ttl()));
+            }
+            mine.complete(result);
+            return result;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private record Entry(long expiresAt, long delta, Object value) {
+    }
+
+    static boolean shouldRefreshEarly(long now, long expiresAt, long delta, double beta, double random) {
+        // -ln(rand)는 지수분포 - 대부분 작고 가끔 커서 한 요청만 먼저 갱신
+        return now - delta * beta * Math.log(random) >= expiresAt;
+    }
+
+    private static boolean refreshEarly(Entry entry, double beta) {
+        if (beta <= 0) {
+            return false;
         }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        return shouldRefreshEarly(System.currentTimeMillis(), entry.expiresAt(), entry.delta(), beta, random);
+    }
 
-        // 캐시 미스 시 메서드 실행
-        Object result = joinPoint.proceed();
+    private Entry read(String cacheKey, JavaType type) {
+        String raw;
+        try {
+            raw = redisTemplate.opsForValue().get(cacheKey);
+        } catch (Exception e) {
+            // 캐시는 best-effort - Redis 장애 시 원본 조회
+            log.warn("Failed to read cache key {}: {}", cacheKey, e.getMessage());
+            return null;
+        }
+        if (raw == null) {
+            return null;
+        }
 
-        // 결과를 캐시에 저장 (TTL 포함)
-        String serializedResult = serializeValue(result);
-        redisTemplate.opsForValue().set(
-            cacheKey,
-            serializedResult,
-            cacheWithTTL.ttl(),
-            cacheWithTTL.timeUnit()
-        );
+        try {
+            int first = raw.indexOf(':');
+            int second = raw.indexOf(':', first + 1);
+            return new Entry(
+                    Long.parseLong(raw, 0, first, 10),
+                    Long.parseLong(raw, first + 1, second, 10),
+                    objectMapper.readerFor(type).readValue(raw.substring(second + 1)));
+        } catch (Exception e) {
+            // 반환 타입이 바뀌었거나 이전 형식으로 남은 값은 미스로 처리 (다시 계산 후 덮어씀)
+            log.warn("Discarding unreadable cache value for {}: {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
 
-        return result;
+    private void write(String cacheKey, Object value, JavaType type, long delta, long ttlMillis) {
+        try {
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            String json = objectMapper.writerFor(type).writeValueAsString(value);
+            redisTemplate.opsForValue().set(cacheKey, expiresAt + ":" + delta + ":" + json, ttlMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("Failed to write cache key {}: {}", cacheKey, e.getMessage());
+        }
     }
 
-    private String generateCacheKey(ProceedingJoinPoint joinPoint, CacheWithTTL annotation) {
-        String prefix = annotation.value().isEmpty() ?
-            joinPoint.getSignature().getDeclaringTypeName() : annotation.value();
-        String methodName = joinPoint.getSignature().getName();
-        String args = String.valueOf(joinPoint.getArgs()[0]); // 첫 번째 파라미터를 키로 사용
+    private String generateCacheKey(ProceedingJoinPoint joinPoint, Method method, CacheWithTTL annotation,
+                                    MethodBasedEvaluationContext context) {
+        String name = annotation.value().isEmpty()
+                ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                : annotation.value();
 
-        return String.format("fcfs:%s:%s:%s", prefix, methodName, args);
+        String key;
+        if (annotation.key().isEmpty()) {
+            key = defaultKey(method, joinPoint.getArgs());
+        } else {
+            key = String.valueOf(evaluate(annotation.key(), context, Object.class));
+        }
+        return "fcfs:" + name + ":" + key;
     }
 
-    private String serializeValue(Object value) {
-        // 간단한 toString() 또는 JSON 직렬화 사용
-        return value.toString();
+    /**
+     * 모든 인자를 JSON 배열로 (구분자가 들어간 문자열 인자끼리도 충돌하지 않음).
+     * toString/equals가 값 기준이라는 보장이 없는 타입은 key 식을 명시해야 한다.
+     */
+    private String defaultKey(Method method, Object[] args) {
+        for (Class<?> parameter : method.getParameterTypes()) {
+            Class<?> type = parameter.isArray() ? parameter.getComponentType() : parameter;
+            if (!BeanUtils.isSimpleValueType(type)) {
+                throw new IllegalStateException("@CacheWithTTL on " + method.getDeclaringClass().getSimpleName() + "."
+                        + method.getName() + " needs an explicit key for parameter type " + parameter.getSimpleName());
+            }
+        }
+        try {
+            return KEY_MAPPER.writeValueAsString(args);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build cache key for " + method.getName(), e);
+        }
     }
 
-    private Object deserializeValue(String value, Class<?> returnType) {
-        // 간단한 구현 - 실제로는 JSON 파싱 필요
-        return value;
+    private <T> T evaluate(String expression, MethodBasedEvaluationContext context, Class<T> type) {
+        return expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context, type);
     }
 }
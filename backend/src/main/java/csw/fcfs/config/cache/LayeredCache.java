@@ -0,0 +1,222 @@
+package csw.fcfs.config.cache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 로컬 Caffeine 계층 + Redis 계층
+ * <p>
+ * 로컬 히트는 네트워크 호출과 JSON 역직렬화 없이 객체를 그대로 돌려준다.
+ * 쓰기/삭제는 Redis 계층에 먼저 반영한 뒤 pub/sub으로 다른 노드의 로컬 계층을 비운다.
+ * 로컬 키는 Redis 키와 같은 문자열 형태(String.valueOf)로 저장해 무효화 메시지와 맞춘다.
+ * 로컬 무효화마다 세대(generation)를 올리고, 조회 중 세대가 바뀌었으면 방금 채운 로컬 값을 버린다
+ * (무효화 메시지가 로컬 put보다 먼저 도착해 이전 값이 max-ttl까지 남는 경우 방지).
+ */
+public class LayeredCache implements Cache {
+
+    /**
+     * 다른 노드로 무효화를 알리는 콜백 (key == null이면 전체 삭제)
+     */
+    public interface Invalidation {
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final Invalidation invalidation;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Timer localLoadTimer;
+    private final Timer remoteLoadTimer;
+
+    public LayeredCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                        Invalidation invalidation, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidation = invalidation;
+
+        this.localHits = gets(meterRegistry, "local", "hit");
+        this.localMisses = gets(meterRegistry, "local", "miss");
+        this.remoteHits = gets(meterRegistry, "redis", "hit");
+        this.remoteMisses = gets(meterRegistry, "redis", "miss");
+        // local 로드 = 로컬 미스 시 Redis 계층 조회 시간, redis 로드 = Redis 미스 시 원본(DB) 로더 실행 시간
+        this.localLoadTimer = Timer.builder("cache.layered.load")
+                .tags("cache", name, "tier", "local")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.remoteLoadTimer = Timer.builder("cache.layered.load")
+                .tags("cache", name, "tier", "redis")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.layered.gets")
+                .tags("cache", name, "tier", tier, "result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        long seen = generation.get();
+        long start = System.nanoTime();
+        ValueWrapper wrapper = remote.get(key);
+        localLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return wrapper;
+        }
+        remoteHits.increment();
+        local.put(localKey, wrapper.get());
+        discardIfInvalidated(localKey, seen);
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return (T) cached;
+        }
+        localMisses.increment();
+
+        // Caffeine이 키별로 로더를 한 번만 실행 (노드 안 single-flight)
+        long seen = generation.get();
+        T value = (T) local.get(localKey, k -> {
+            long start = System.nanoTime();
+            try {
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    remoteHits.increment();
+                    return wrapper.get();
+                }
+                remoteMisses.increment();
+                return loadAndStore(key, valueLoader);
+            } finally {
+                localLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        discardIfInvalidated(localKey, seen);
+        return value;
+    }
+
+    /**
+     * 조회 도중 무효화가 있었으면 방금 채운 로컬 값을 버린다 (반환값은 그대로 사용, 다음 조회에서 다시 적재)
+     * 무효화 쪽은 세대를 먼저 올리고 로컬을 비우므로, put이 비우기보다 늦었다면 여기서 세대 변화를 보게 된다.
+     */
+    private void discardIfInvalidated(String localKey, long seen) {
+        if (generation.get() != seen) {
+            local.invalidate(localKey);
+        }
+    }
+
+    private Object loadAndStore(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            remoteLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (loaded != null) {
+            remote.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        generation.incrementAndGet();
+        if (value != null) {
+            local.put(localKey, value);
+        } else {
+            local.invalidate(localKey);
+        }
+        invalidation.publish(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        generation.incrementAndGet();
+        local.invalidate(localKey);
+        invalidation.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        generation.incrementAndGet();
+        local.invalidateAll();
+        invalidation.publish(name, null);
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 처리 - 로컬 계층만 비운다
+     */
+    void evictLocal(String localKey) {
+        generation.incrementAndGet();
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(Objects.requireNonNull(key, "Cache key must not be null"));
+    }
+}
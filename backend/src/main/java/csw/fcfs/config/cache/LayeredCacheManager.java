@@ -0,0 +1,120 @@
+package csw.fcfs.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 캐시 이름마다 로컬 Caffeine 계층을 Redis 계층 앞에 두는 CacheManager
+ * <p>
+ * 무효화 메시지 형식: "EVICT|노드ID|캐시이름|키" / "CLEAR|노드ID|캐시이름"
+ * 자기 노드가 보낸 메시지는 이미 로컬에 반영했으므로 무시한다.
+ */
+@Slf4j
+public class LayeredCacheManager extends AbstractTransactionSupportingCacheManager
+        implements MessageListener, LayeredCache.Invalidation {
+
+    private static final String EVICT = "EVICT";
+    private static final String CLEAR = "CLEAR";
+
+    private final RedisCacheManager redisCacheManager;
+    private final LayeredCacheProperties properties;
+    private final Map<String, Duration> ttls;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, LayeredCache> layeredCaches = new ConcurrentHashMap<>();
+
+    public LayeredCacheManager(RedisCacheManager redisCacheManager, LayeredCacheProperties properties,
+                               Map<String, Duration> ttls, StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.ttls = ttls;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    RedisCacheManager redisCacheManager() {
+        return redisCacheManager;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : redisCacheManager.getCacheNames()) {
+            caches.add(layer(name, redisCacheManager.getCache(name)));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        return remote != null ? layer(name, remote) : null;
+    }
+
+    private LayeredCache layer(String name, Cache remote) {
+        return layeredCaches.computeIfAbsent(name, n -> {
+            Duration ttl = ttls.getOrDefault(n, properties.getLocal().getMaxTtl());
+            Duration localTtl = ttl.compareTo(properties.getLocal().getMaxTtl()) < 0 ? ttl : properties.getLocal().getMaxTtl();
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                    .maximumSize(properties.getLocal().getMaximumSize())
+                    .expireAfterWrite(localTtl)
+                    .build();
+            return new LayeredCache(n, local, remote, this, meterRegistry);
+        });
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        String message = key == null
+                ? CLEAR + "|" + nodeId + "|" + cacheName
+                : EVICT + "|" + nodeId + "|" + cacheName + "|" + key;
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            // 유실돼도 로컬 계층은 local.max-ttl 뒤 만료되므로 요청 처리를 막지 않음
+            log.warn("Failed to publish cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[1])) {
+            return;
+        }
+
+        LayeredCache cache = layeredCaches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[0])) {
+            cache.evictLocal(null);
+        } else if (EVICT.equals(parts[0]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else {
+            log.warn("Ignoring malformed cache invalidation: {}", body);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package csw.fcfs.config.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("cache")
+public class LayeredCacheProperties {
+
+    // 캐시 이름별 TTL (Redis 계층, 로컬 계층은 local.max-ttl로 상한)
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    private Local local = new Local();
+
+    // 다른 노드의 로컬 계층을 비우기 위한 pub/sub 채널
+    private String invalidationChannel = "cache:invalidate";
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        // 캐시 이름별 최대 엔트리 수
+        private long maximumSize = 10_000;
+
+        // 로컬 계층 최대 TTL (무효화 메시지가 유실돼도 이 시간 뒤에는 Redis 값으로 돌아감)
+        private Duration maxTtl = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,15 @@
+package csw.fcfs.config.ratelimit;
+
+/**
+ * rate limit 판정 결과
+ *
+ * @param retryAfterMillis 거절된 경우 다음 토큰이 생길 때까지 남은 시간
+ */
+public record RateLimitDecision(boolean allowed, long retryAfterMillis) {
+
+    static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    static RateLimitDecision rejected(long retryAfterMillis) {
+        return new RateLimitDecision(false, Math.max(1, retryAfterMillis));
+    }
+}
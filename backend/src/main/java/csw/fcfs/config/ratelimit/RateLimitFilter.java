@@ -0,0 +1,70 @@
+package csw.fcfs.config.ratelimit;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import csw.fcfs.config.security.jwt.JwtTokenProvider;
+import csw.fcfs.user.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 가장 먼저 실행되는 rate limit 필터 (RateLimitConfig에서 HIGHEST_PRECEDENCE로 등록)
+ * <p>
+ * SecurityContext 구성, MVC 핸들러 매핑 전에 거절한다. 서명이 검증된 토큰만 사용자별 버킷을 쓰고
+ * (검증 결과는 JwtTokenProvider 캐시에 남아 인증 필터가 재사용), 그 밖의 요청은 클라이언트 IP 버킷을 쓴다.
+ * 검증 전 토큰 값을 키로 쓰면 서명만 바꿔 매번 새 버킷을 받을 수 있다. 거절 응답은 본문 없이 429 + Retry-After.
+ * <p>
+ * 클라이언트 IP는 request.getRemoteAddr() - 프록시 뒤에서는 server.forward-headers-strategy=native로
+ * RemoteIpValve가 신뢰하는 프록시 홉을 벗겨낸 주소를 넣는다 (X-Forwarded-For 첫 항목은 클라이언트가 위조 가능).
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final RateLimitService rateLimitService;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = rateLimitService.resolveEndpoint(request.getRequestURI());
+        if (endpoint != null) {
+            RateLimitDecision decision = rateLimitService.tryConsume(endpoint, clientKey(request));
+            if (!decision.allowed()) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(decision)));
+                response.setContentLength(0);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    String clientKey(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            AuthenticatedUser user = jwtTokenProvider.authenticate(authorization.substring(BEARER_PREFIX.length()))
+                    .orElse(null);
+            if (user != null) {
+                // 이전 형식 토큰은 uid가 없으므로 이메일(subject)로
+                return user.id() != null ? "uid:" + user.id() : "sub:" + user.email();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long retryAfterSeconds(RateLimitDecision decision) {
+        // Retry-After는 초 단위 - 올림해서 너무 이른 재시도를 막는다
+        return Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,62 @@
+package csw.fcfs.config.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("rate-limit")
+public class RateLimitProperties {
+
+    // false면 모든 요청 허용
+    private boolean enabled = true;
+
+    // 노드별 로컬 버킷 최대 개수 (IP 폭주에도 메모리 상한 유지)
+    private long maxLocalBuckets = 100_000;
+
+    // 이 시간 동안 요청이 없는 로컬 버킷은 제거 (Redis 버킷은 다 채워지면 스스로 만료)
+    private Duration localIdleTimeout = Duration.ofMinutes(5);
+
+    // 로컬에 미리 가져온 토큰의 유효 시간 (지나면 버림 - 노드 간 편차 상한)
+    private Duration leaseTimeout = Duration.ofSeconds(1);
+
+    // 엔드포인트 이름 → 제한 (경로 prefix 또는 패턴으로 매칭, 먼저 선언된 항목 우선)
+    // 클레임은 /api/claims/{id}와 /api/posts/{id}/claim 두 경로로 들어오므로 같은 버킷을 쓴다
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>(Map.of(
+            "claims", new Endpoint("/api/claims", List.of("/api/posts/*/claim"), 10, Duration.ofMinutes(1), 5)));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+
+        // 경로 prefix
+        private String path;
+
+        // prefix로 표현할 수 없는 경로의 Ant 스타일 패턴 (예: /api/posts/*/claim)
+        private List<String> patterns = List.of();
+
+        // 버킷 크기 (최대 burst)
+        private long capacity = 10;
+
+        // capacity만큼 다시 채워지는 시간
+        private Duration period = Duration.ofMinutes(1);
+
+        // Redis 왕복 1회에 로컬로 가져오는 토큰 수
+        private int localBatch = 1;
+
+        public Endpoint(String path, long capacity, Duration period, int localBatch) {
+            this(path, List.of(), capacity, period, localBatch);
+        }
+    }
+}
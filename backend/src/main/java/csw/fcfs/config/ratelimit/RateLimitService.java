@@ -1,26 +1,150 @@
 package csw.fcfs.config.ratelimit;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
+import csw.fcfs.service.RedisService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클러스터 공용 rate limit
+ * <p>
+ * 버킷은 Redis에 있고(rate_limit.lua, 노드 수와 무관하게 같은 한도), 노드는 로컬 tier에서
+ * localBatch개씩 토큰을 미리 가져와 소비한다. 거절되면 다음 토큰이 생기는 시점까지
+ * 로컬에서 바로 거절해 폭주 시 Redis 호출을 막는다. 로컬 버킷은 개수/유휴 시간으로 제한된다.
+ */
 @Service
+@Slf4j
 public class RateLimitService {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RedisService redisService;
+    private final RateLimitProperties properties;
+    private final Cache<String, LocalBucket> localBuckets;
+
+    public RateLimitService(RedisService redisService, RateLimitProperties properties) {
+        this.redisService = redisService;
+        this.properties = properties;
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxLocalBuckets())
+                .expireAfterAccess(properties.getLocalIdleTimeout())
+                .build();
+    }
+
+    /**
+     * 요청 경로에 해당하는 엔드포인트 이름 (제한 대상이 아니면 null)
+     */
+    public String resolveEndpoint(String requestUri) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+            if (matches(entry.getValue(), requestUri)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(RateLimitProperties.Endpoint endpoint, String requestUri) {
+        String path = endpoint.getPath();
+        if (path != null && requestUri.startsWith(path)) {
+            return true;
+        }
+        if (endpoint.getPatterns() != null) {
+            for (String pattern : endpoint.getPatterns()) {
+                if (PATH_MATCHER.match(pattern, requestUri)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public RateLimitDecision tryConsume(String endpoint, String key) {
+        RateLimitProperties.Endpoint limit = properties.getEndpoints().get(endpoint);
+        if (limit == null) {
+            return RateLimitDecision.ALLOWED;
+        }
+
+        String bucketKey = bucketKey(endpoint, key);
+        LocalBucket bucket = localBuckets.get(bucketKey, k -> new LocalBucket());
+        // 가상 스레드에서 Redis 대기 중 캐리어 스레드가 묶이지 않도록 synchronized 대신 lock
+        bucket.lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - bucket.blockedUntil < 0) {
+                return RateLimitDecision.rejected(TimeUnit.NANOSECONDS.toMillis(bucket.blockedUntil - now));
+            }
+            if (bucket.leased > 0 && now - bucket.leaseExpiresAt < 0) {
+                bucket.leased--;
+                return RateLimitDecision.ALLOWED;
+            }
+            return acquire(bucket, bucketKey, limit, now);
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    private RateLimitDecision acquire(LocalBucket bucket, String bucketKey, RateLimitProperties.Endpoint limit, long now) {
+        long requested = Math.max(1, Math.min(limit.getLocalBatch(), limit.getCapacity()));
+        List<String> result;
+        try {
+            result = redisService.executeListScriptBySha1(redisService.getRateLimitScriptSha1(),
+                    List.of(bucketKey),
+                    String.valueOf(limit.getCapacity()),
+                    String.valueOf(limit.getPeriod().toMillis()),
+                    String.valueOf(requested));
+        } catch (RuntimeException e) {
+            // Redis 장애로 클레임 API 전체를 막지 않는다 (클레임 자체도 Redis에 의존)
+            log.warn("Rate limit check for {} failed, allowing request: {}", bucketKey, e.getMessage());
+            return RateLimitDecision.ALLOWED;
+        }
+
+        long granted = Long.parseLong(result.get(0));
+        if (granted == 0) {
+            long retryAfterMillis = Long.parseLong(result.get(1));
+            bucket.blockedUntil = now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis);
+            return RateLimitDecision.rejected(retryAfterMillis);
+        }
+
+        // 1개는 이번 요청이 쓰고 나머지는 leaseTimeout 동안 로컬에서 소비
+        bucket.leased = granted - 1;
+        bucket.leaseExpiresAt = now + properties.getLeaseTimeout().toNanos();
+        return RateLimitDecision.ALLOWED;
+    }
+
+    /**
+     * 버킷 초기화 (Redis + 이 노드의 로컬 tier)
+     */
+    public void reset(String endpoint, String key) {
+        String bucketKey = bucketKey(endpoint, key);
+        localBuckets.invalidate(bucketKey);
+        redisService.deleteKeys(bucketKey);
+    }
+
+    long localBucketCount() {
+        localBuckets.cleanUp();
+        return localBuckets.estimatedSize();
+    }
 
-    public Bucket resolveBucket(String key) {
-        return buckets.computeIfAbsent(key, this::newBucket);
+    private static String bucketKey(String endpoint, String key) {
+        return "ratelimit:" + endpoint + ":" + key;
     }
 
-    private Bucket newBucket(String key) {
-        Refill refill = Refill.intervally(10, Duration.ofMinutes(1));
-        Bandwidth limit = Bandwidth.classic(10, refill);
-        return Bucket.builder().addLimit(limit).build();
+    private static final class LocalBucket {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long leased;
+        private long leaseExpiresAt;
+        private long blockedUntil = System.nanoTime();
     }
 }
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import csw.fcfs.user.AuthenticatedUser;
+import csw.fcfs.user.UserCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,13 +21,19 @@ import lombok.RequiredArgsConstructor;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserCache userCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = resolveToken(request);
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            // 검증과 사용자 복원을 한 번에 (같은 토큰의 반복 요청은 서명 검증 없이 캐시에서)
+            jwtTokenProvider.authenticate(token).ifPresent(tokenUser -> {
+                // role/premium은 로컬 캐시의 최신 값으로 (토큰 발급 후 변경 반영)
+                AuthenticatedUser user = userCache.refresh(tokenUser);
+                Authentication authentication = jwtTokenProvider.getAuthentication(user);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
         filterChain.doFilter(request, response);
     }
@@ -1,8 +1,14 @@
 package csw.fcfs.config.security.jwt;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 
 import javax.crypto.SecretKey;
 
@@ -12,22 +18,64 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import csw.fcfs.user.AuthenticatedUser;
 import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtTokenProvider {
 
+    // 검증된 토큰 캐시 상한 (드롭 중 같은 토큰으로 반복되는 요청은 서명 검증을 건너뜀)
+    private static final int MAX_VERIFIED_TOKENS = 100_000;
+
     private final SecretKey key;
     private final long validityInMilliseconds;
+    private final JwtParser parser; // 스레드 안전, 요청마다 새로 만들지 않음
+
+    // SHA-256(token) → 검증 결과, 토큰의 exp 시각에 만료
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_VERIFIED_TOKENS)
+            .expireAfter(Expiry.creating((String digest, VerifiedToken verified) ->
+                    Duration.between(Instant.now(), verified.expiresAt())))
+            .build();
+
+    private record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+    }
 
     public JwtTokenProvider(@Value("${jwt.secret}") String secretKey, @Value("3600000") long validityInMilliseconds) {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         this.validityInMilliseconds = validityInMilliseconds;
+        this.parser = Jwts.parser().verifyWith(key).build();
+    }
+
+    /**
+     * uid/role/premium 클레임을 담아 요청마다 사용자 조회가 필요 없도록 발급
+     */
+    public String createToken(UserAccount user) {
+        Date now = new Date();
+        Date validity = new Date(now.getTime() + validityInMilliseconds);
+
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .claim("uid", user.getId())
+                .claim("role", user.getRole().name())
+                .claim("premium", user.isPremium())
+                .issuedAt(now)
+                .expiration(validity)
+                .signWith(key)
+                .compact();
     }
 
+    // 이전 형식 (이메일 + role만), uid가 없으므로 서비스에서 이메일로 ID를 해석한다
     public String createToken(String email, Role role) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
@@ -41,20 +89,67 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
-        String email = claims.getSubject();
-        Role role = Role.valueOf((String) claims.get("role"));
+    /**
+     * 한 번의 파싱으로 검증 + 사용자 복원 (유효하지 않으면 empty)
+     * 이미 검증한 토큰은 exp까지 캐시에서 바로 반환한다.
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached.user());
+        }
 
-        return new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(new SimpleGrantedAuthority(role.name())));
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        AuthenticatedUser user = toUser(claims);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(user, claims.getExpiration().toInstant()));
+        }
+        return Optional.of(user);
     }
 
-    public boolean validateToken(String token) {
+    public AuthenticatedUser getUser(String token) {
+        return authenticate(token).orElseThrow(() -> new IllegalArgumentException("Invalid token"));
+    }
+
+    private static AuthenticatedUser toUser(Claims claims) {
+        Number uid = claims.get("uid", Number.class);
+        Boolean premium = claims.get("premium", Boolean.class);
+
+        return new AuthenticatedUser(
+                uid != null ? uid.longValue() : null,
+                claims.getSubject(),
+                Role.valueOf(claims.get("role", String.class)),
+                Boolean.TRUE.equals(premium));
+    }
+
+    // 원문 토큰 대신 다이제스트를 키로 (힙에 bearer 토큰을 남기지 않음)
+    private static String digest(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
+
+    public Authentication getAuthentication(String token) {
+        return getAuthentication(getUser(token));
+    }
+
+    public Authentication getAuthentication(AuthenticatedUser user) {
+        // hasRole("ADMIN")이 동작하도록 OAuth2 로그인과 같은 ROLE_ 접두사 사용
+        return new UsernamePasswordAuthenticationToken(user, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.role().name())));
+    }
+
+    public boolean validateToken(String token) {
+        return authenticate(token).isPresent();
+    }
 }
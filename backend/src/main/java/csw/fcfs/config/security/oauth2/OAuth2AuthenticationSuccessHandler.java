@@ -9,7 +9,8 @@ import org.springframework.security.web.authentication.SimpleUrlAuthenticationSu
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,14 +21,17 @@ import lombok.RequiredArgsConstructor;
 public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserAccountRepository userAccountRepository;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException, ServletException {
         OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
         String email = oAuth2User.getAttribute("email");
 
-
-        String token = jwtTokenProvider.createToken(email, Role.USER);
+        // 로그인 시 한 번만 조회해 uid/role/premium을 토큰에 담는다
+        UserAccount user = userAccountRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalStateException("User not found after OAuth2 login"));
+        String token = jwtTokenProvider.createToken(user);
 
         String targetUrl = UriComponentsBuilder.fromUriString("http://localhost:3000/oauth2/redirect")
                 .queryParam("token", token)
@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp; // hibernate v6.6.15
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import csw.fcfs.claim.ClaimEngineType;
 import csw.fcfs.user.UserAccount;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -21,6 +22,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -52,6 +54,22 @@ public class Post {
     @Column(nullable = false)
     private short quota;
 
+    // Hot-post 모드: quota를 나눠 담는 Redis 토큰 샤드 수 (1 = 단일 키)
+    @Builder.Default
+    @Column(name = "claim_shards", nullable = false)
+    private short claimShards = 1;
+
+    // 선착순 판정 엔진 (LUA: SADD+INCR, TOKEN_LIST: 미리 만든 토큰 LPOP)
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "claim_engine", nullable = false, length = 16)
+    private ClaimEngineType claimEngine = ClaimEngineType.LUA;
+
+    // 대기열 사용: 클레임은 입장 허가된 대기열 티켓이 있어야 처리
+    @Builder.Default
+    @Column(name = "waiting_room", nullable = false)
+    private boolean waitingRoom = false;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PostState state;
@@ -81,6 +99,7 @@ public class Post {
 
     @JsonIgnore
     @OneToMany(mappedBy = "post", fetch = FetchType.LAZY)
+    @OrderBy("rank ASC, acceptedAt ASC") // 당첨 순번(FCFS) 순서, (post_id, rank) 인덱스 사용
     private List<csw.fcfs.claim.Claim> claims;
 
     @CreationTimestamp
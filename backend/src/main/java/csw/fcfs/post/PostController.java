@@ -3,9 +3,9 @@ package csw.fcfs.post;
 import java.security.Principal;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.core.io.Resource;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,19 +17,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import csw.fcfs.claim.ClaimController;
 import csw.fcfs.claim.ClaimService;
+import csw.fcfs.claim.WaitingRoomService;
 import csw.fcfs.post.dto.CursorPageResponse;
+import csw.fcfs.post.dto.KeysetPageResponse;
 import csw.fcfs.post.dto.PostDto;
-import csw.fcfs.post.repository.PostRepository;
 import csw.fcfs.storage.StorageService;
-import csw.fcfs.user.UserAccount;
-import csw.fcfs.user.repository.UserAccountRepository;
 import csw.fcfs.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 
@@ -40,8 +41,6 @@ public class PostController {
 
     private final PostService postService;
     private final ClaimService claimService;
-    private final PostRepository postRepository;
-    private final UserAccountRepository userAccountRepository;
     private final StorageService storageService;
 
     @PostMapping
@@ -56,20 +55,35 @@ public class PostController {
         return ResponseEntity.ok(postService.getPost(id, principal));
     }
 
+    /**
+     * mode=offset(기본): 기존 Page 응답 (OFFSET + COUNT)
+     * mode=keyset: cursor 기반 {@link KeysetPageResponse} (OFFSET/COUNT 없음, includeTotal=true일 때만 추정 개수)
+     * 두 모드 모두 sortBy는 인덱스가 있는 필드(id, createdAt)만 허용
+     */
     @GetMapping
-    public ResponseEntity<Page<PostDto>> getAllPosts(
+    public ResponseEntity<?> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "9") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "offset") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             Principal principal) {
 
+        PostSortField sortField = PostSortField.from(sortBy);
+        boolean descending = sortDir.equalsIgnoreCase("desc");
+
+        if (isKeysetMode(mode)) {
+            return ResponseEntity.ok(postService.getVisiblePostsKeyset(
+                    principal, sortField, descending, cursor, Math.min(size, 50), includeTotal));
+        }
+
         // 정렬 방향 설정
-        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
-            Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
 
         // Pageable 객체 생성
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField.property()));
 
         return ResponseEntity.ok(postService.getAllVisiblePosts(principal, pageable));
     }
@@ -89,14 +103,11 @@ public class PostController {
     }
 
     @PostMapping("/{id}/claim")
-    public ResponseEntity<String> claimPost(@PathVariable Long id, Principal principal) {
-        // Load entities upfront for the optimized claimPost method
-        Post post = postRepository.findByIdWithOwner(id)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
-        return ResponseEntity.ok(claimService.claimPost(post, user));
+    public CompletableFuture<ResponseEntity<String>> claimPost(@PathVariable Long id, Principal principal,
+            @RequestHeader(name = WaitingRoomService.TICKET_HEADER, required = false) String queueTicket) {
+        // 게시물은 인-프로세스 claim descriptor, 사용자는 JWT uid 클레임에서 해석 (DB 조회 없음), Redis 응답은 비동기로 대기
+        // 대기열 게시물은 /api/claims와 같이 X-Queue-Ticket 헤더의 입장 허가된 티켓이 필요
+        return claimService.claimPostAsync(id, principal, queueTicket).thenApply(ClaimController::toResponse);
     }
 
     @GetMapping("/images/{filename:.+}")
@@ -113,18 +124,28 @@ public class PostController {
     }
 
     @GetMapping("/public")
-    public ResponseEntity<Page<PostDto>> getPublicPosts(
+    public ResponseEntity<?> getPublicPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "9") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "offset") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        PostSortField sortField = PostSortField.from(sortBy);
+        boolean descending = sortDir.equalsIgnoreCase("desc");
+
+        if (isKeysetMode(mode)) {
+            return ResponseEntity.ok(postService.getVisiblePostsKeyset(
+                    null, sortField, descending, cursor, Math.min(size, 50), includeTotal));
+        }
 
         // 정렬 방향 설정
-        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
-            Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
 
         // Pageable 객체 생성
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField.property()));
 
         return ResponseEntity.ok(postService.getAllPublicPosts(pageable));
     }
@@ -169,4 +190,14 @@ public class PostController {
 
         return ResponseEntity.ok(postService.getPublicPostsCursor(cursor, size));
     }
+
+    private static boolean isKeysetMode(String mode) {
+        if ("keyset".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if (!"offset".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unsupported page mode: " + mode + " (allowed: offset, keyset)");
+        }
+        return false;
+    }
 }
@@ -0,0 +1,29 @@
+package csw.fcfs.post;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("post.lifecycle")
+public class PostLifecycleProperties {
+
+    // false면 상태 전환 예약/실행을 하지 않음 (클레임 오픈/마감 판정은 openAt/closeAt 비교로 계속 동작)
+    private boolean enabled = true;
+
+    // 예약된 전환을 확인하는 주기
+    private Duration tick = Duration.ofSeconds(1);
+
+    // openAt 이 시간 전에 클레임 키와 노드별 claim descriptor를 미리 준비
+    private Duration primeLead = Duration.ofSeconds(10);
+
+    // tick 한 번에 꺼내는 최대 전환 수
+    private int batchSize = 500;
+
+    // 예약이 유실된 게시물을 시각 기준으로 일괄 전환하는 주기
+    private Duration reconcileInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,303 @@
+package csw.fcfs.post;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import csw.fcfs.claim.ClaimDescriptorCache;
+import csw.fcfs.claim.ClaimEngines;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시물 상태 전환 (SCHEDULED → OPEN → CLOSED)
+ * <p>
+ * 전환 예정 시각을 Redis ZSET(post:lifecycle)에 두고, 각 노드가 tick마다 lifecycle_poll.lua로 기한이 된 항목을
+ * 꺼내(ZREM까지 원자적이므로 한 노드만 처리) 게시물 상태를 일괄 UPDATE 한다.
+ * - prime: openAt - primeLead에 클레임 키 준비 (당첨자가 없을 때만)
+ * - open / close: openAt / closeAt 도달, 매진 시에는 close를 즉시 실행
+ * 오픈 직전 게시물의 claim descriptor는 모든 노드가 미리 적재한다.
+ * 예약이 유실돼도 reconcileInterval마다 시각 기준 일괄 전환으로 보정한다.
+ * 클레임 허용 여부는 상태가 아니라 descriptor의 openAt/closeAt 비교로 판정하므로 전환 지연이 클레임에 영향을 주지 않는다.
+ */
+@Service
+@Slf4j
+public class PostLifecycleService implements DisposableBean {
+
+    static final String SCHEDULE_KEY = "post:lifecycle";
+
+    private static final String PRIME = "prime:";
+    private static final String OPEN = "open:";
+    private static final String CLOSE = "close:";
+
+    private final RedisService redisService;
+    private final PostRepository postRepository;
+    private final ClaimEngines claimEngines;
+    private final ClaimDescriptorCache claimDescriptorCache;
+    private final PostLifecycleProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService scheduler;
+
+    // 이 노드가 최근 매진 마감을 예약한 게시물 (QUOTA_EXCEEDED마다 ZADD 하지 않도록)
+    private final Cache<Long, Boolean> closingSoldOut = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    private volatile long lastReconcile;
+
+    public PostLifecycleService(RedisService redisService, PostRepository postRepository, ClaimEngines claimEngines,
+                                ClaimDescriptorCache claimDescriptorCache, PostLifecycleProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.redisService = redisService;
+        this.postRepository = postRepository;
+        this.claimEngines = claimEngines;
+        this.claimDescriptorCache = claimDescriptorCache;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("post-lifecycle").daemon().factory());
+        this.lastReconcile = System.nanoTime();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // 배포 이전에 만들어진(예약이 없는) 게시물도 예약하고 지난 전환은 바로 보정
+        scheduler.execute(this::backfill);
+        long tick = properties.getTick().toMillis();
+        scheduler.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 시각 기준 상태 (생성/수정 시 초기 상태)
+     */
+    public static PostState stateAt(Instant openAt, Instant closeAt, Instant now) {
+        if (closeAt != null && !now.isBefore(closeAt)) {
+            return PostState.CLOSED;
+        }
+        return openAt != null && now.isBefore(openAt) ? PostState.SCHEDULED : PostState.OPEN;
+    }
+
+    /**
+     * 게시물 생성/수정 후 전환 예약 (같은 member는 점수만 갱신, 트랜잭션 안이면 커밋 후)
+     */
+    public void schedule(Post post) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long postId = post.getId();
+        PostState state = post.getState();
+        Instant openAt = post.getOpenAt();
+        Instant closeAt = post.getCloseAt();
+        afterCommit(() -> schedule(postId, state, openAt, closeAt));
+    }
+
+    public void unschedule(Long postId) {
+        if (properties.isEnabled()) {
+            afterCommit(() -> redisService.removeFromSortedSet(SCHEDULE_KEY, PRIME + postId, OPEN + postId, CLOSE + postId));
+        }
+    }
+
+    private void schedule(Long postId, PostState state, Instant openAt, Instant closeAt) {
+        if (state == PostState.SCHEDULED && openAt != null) {
+            long open = openAt.toEpochMilli();
+            redisService.addToSortedSet(SCHEDULE_KEY, PRIME + postId, open - properties.getPrimeLead().toMillis());
+            redisService.addToSortedSet(SCHEDULE_KEY, OPEN + postId, open);
+        } else {
+            redisService.removeFromSortedSet(SCHEDULE_KEY, PRIME + postId, OPEN + postId);
+        }
+        if (state != PostState.CLOSED && closeAt != null) {
+            redisService.addToSortedSet(SCHEDULE_KEY, CLOSE + postId, closeAt.toEpochMilli());
+        } else {
+            redisService.removeFromSortedSet(SCHEDULE_KEY, CLOSE + postId);
+        }
+    }
+
+    /**
+     * 매진된 게시물을 다음 tick에 CLOSED로 (노드별 1회만 예약)
+     */
+    public void closeSoldOut(Long postId) {
+        if (!properties.isEnabled() || closingSoldOut.asMap().putIfAbsent(postId, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            redisService.addToSortedSet(SCHEDULE_KEY, CLOSE + postId, 0);
+        } catch (RuntimeException e) {
+            closingSoldOut.invalidate(postId);
+            log.warn("Failed to schedule sold-out close of post {}: {}", postId, e.getMessage());
+        }
+    }
+
+    /**
+     * 취소로 자리가 난 경우 매진 마감을 되돌린다 (closeAt 이전만)
+     */
+    public void reopen(Long postId, Instant closeAt) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        closingSoldOut.invalidate(postId);
+        // 아직 처리되지 않은 매진 마감 예약은 closeAt 기준으로 되돌림
+        if (closeAt != null) {
+            redisService.addToSortedSet(SCHEDULE_KEY, CLOSE + postId, closeAt.toEpochMilli());
+        } else {
+            redisService.removeFromSortedSet(SCHEDULE_KEY, CLOSE + postId);
+        }
+        Integer reopened = transactionTemplate.execute(status -> postRepository.reopen(postId, Instant.now()));
+        if (reopened != null && reopened > 0) {
+            log.info("Post {} reopened after a cancelled claim", postId);
+        }
+    }
+
+    void tick() {
+        try {
+            warmUpcoming();
+            List<String> due;
+            do {
+                due = redisService.executeListScriptBySha1(redisService.getLifecyclePollScriptSha1(),
+                        List.of(SCHEDULE_KEY), String.valueOf(properties.getBatchSize()));
+                apply(due);
+            } while (due.size() >= properties.getBatchSize());
+
+            if (System.nanoTime() - lastReconcile > properties.getReconcileInterval().toNanos()) {
+                reconcile();
+            }
+        } catch (Exception e) {
+            // 꺼낸 항목을 처리하지 못했더라도 reconcile이 시각 기준으로 보정
+            log.warn("Post lifecycle tick failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 곧 열리는 게시물의 descriptor를 이 노드에 미리 적재 (오픈 순간 DB 조회가 몰리지 않도록)
+     */
+    private void warmUpcoming() {
+        long now = System.currentTimeMillis();
+        Set<String> upcoming = redisService.rangeByScore(SCHEDULE_KEY, now, now + properties.getPrimeLead().toMillis());
+        if (upcoming == null) {
+            return;
+        }
+        for (String member : upcoming) {
+            if (member.startsWith(OPEN)) {
+                try {
+                    claimDescriptorCache.getDescriptor(Long.valueOf(member.substring(OPEN.length())));
+                } catch (IllegalArgumentException e) {
+                    // 삭제된 게시물 - 예약은 poll에서 정리된다
+                }
+            }
+        }
+    }
+
+    private void apply(List<String> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Long> prime = new ArrayList<>();
+        List<Long> open = new ArrayList<>();
+        List<Long> close = new ArrayList<>();
+        for (String member : due) {
+            if (member == null) {
+                continue;
+            }
+            int colon = member.indexOf(':');
+            Long postId = Long.valueOf(member.substring(colon + 1));
+            switch (member.substring(0, colon + 1)) {
+                case PRIME -> prime.add(postId);
+                case OPEN -> open.add(postId);
+                case CLOSE -> close.add(postId);
+                default -> log.warn("Unknown post lifecycle entry {}", member);
+            }
+        }
+
+        if (!prime.isEmpty()) {
+            prime(prime);
+        }
+        Instant now = Instant.now();
+        Integer opened = open.isEmpty() ? 0 : transactionTemplate.execute(status -> postRepository.openScheduled(open, now));
+        Integer closed = close.isEmpty() ? 0 : transactionTemplate.execute(status -> postRepository.close(close));
+        if (!open.isEmpty() || !close.isEmpty()) {
+            log.info("Post lifecycle: opened {}/{} and closed {}/{} posts", opened, open.size(), closed, close.size());
+        }
+    }
+
+    private void prime(List<Long> postIds) {
+        for (Post post : postRepository.findAllById(postIds)) {
+            try {
+                // 샤드 토큰 등은 다시 채워지므로 당첨자가 생긴 뒤에는 준비하지 않는다
+                if (!claimEngines.hasClaims(post)) {
+                    claimEngines.forPost(post).prime(post);
+                }
+            } catch (Exception e) {
+                // 준비하지 못해도 엔진이 첫 클레임에서 지연 생성
+                log.warn("Failed to prime claim keys of post {}: {}", post.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void reconcile() {
+        lastReconcile = System.nanoTime();
+        Instant now = Instant.now();
+        Integer opened = transactionTemplate.execute(status -> postRepository.openAllDue(now));
+        Integer closed = transactionTemplate.execute(status -> postRepository.closeAllDue(now));
+        if ((opened != null && opened > 0) || (closed != null && closed > 0)) {
+            log.info("Post lifecycle reconcile: opened {} and closed {} overdue posts", opened, closed);
+        }
+    }
+
+    private void afterCommit(Runnable write) {
+        Runnable safeWrite = () -> {
+            try {
+                write.run();
+            } catch (Exception e) {
+                // 예약이 없어도 reconcile이 시각 기준으로 전환
+                log.warn("Failed to update post lifecycle schedule: {}", e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeWrite.run();
+                }
+            });
+        } else {
+            safeWrite.run();
+        }
+    }
+
+    private void backfill() {
+        try {
+            reconcile();
+            List<Post> active = postRepository.findByStateIn(List.of(PostState.SCHEDULED, PostState.OPEN));
+            active.forEach(this::schedule);
+            log.info("Post lifecycle scheduled {} active posts", active.size());
+        } catch (Exception e) {
+            log.warn("Post lifecycle backfill failed: {}", e.getMessage());
+        }
+    }
+}
@@ -3,26 +3,43 @@ package csw.fcfs.post;
 import java.security.Principal;
 import java.time.Instant;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import csw.fcfs.claim.Claim;
+import csw.fcfs.claim.ClaimCacheRebuildService;
+import csw.fcfs.claim.ClaimDescriptorCache;
+import csw.fcfs.claim.ClaimEngines;
+import csw.fcfs.claim.ClaimRepository;
 import csw.fcfs.claim.dto.ClaimDto;
 import csw.fcfs.post.dto.CursorPageResponse;
+import csw.fcfs.post.dto.KeysetPageResponse;
 import csw.fcfs.post.dto.PostAdminDto;
 import csw.fcfs.post.dto.PostDto;
+import csw.fcfs.post.repository.PostKeysetReader;
 import csw.fcfs.post.repository.PostRepository;
-import csw.fcfs.service.RedisService;
 import csw.fcfs.storage.StorageService;
 import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.UserCache;
 import csw.fcfs.user.dto.UserDto;
 import csw.fcfs.user.repository.UserAccountRepository;
 import csw.fcfs.util.CursorUtil;
@@ -32,14 +49,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int ADMIN_BATCH_SIZE = 200;
+
     private final PostRepository postRepository;
+    private final PostKeysetReader postKeysetReader;
     private final UserAccountRepository userAccountRepository;
+    private final UserCache userCache;
     private final StorageService storageService;
-    private final RedisService redisService;
+    private final ClaimDescriptorCache claimDescriptorCache;
+    private final ClaimEngines claimEngines;
+    private final ClaimCacheRebuildService claimCacheRebuildService;
+    private final PublicFeedCache publicFeedCache;
+    private final ClaimRepository claimRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final PostLifecycleService postLifecycleService;
 
     @Transactional
     public PostDto createPost(PostDto postDto, List<MultipartFile> images, Principal principal) {
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
+        // 게시 한도/카운터 갱신에 엔티티가 필요하므로 PK로 조회 (ID는 토큰에서)
+        UserAccount user = userAccountRepository.findById(userCache.userId(principal))
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         checkPostQuota(user);
@@ -61,12 +89,14 @@ public class PostService {
                 .tags(postDto.tags() != null ? postDto.tags().toArray(new String[0]) : null)
                 .images(imagePaths)
                 .owner(user)
-                .state(PostState.SCHEDULED)
+                .state(PostLifecycleService.stateAt(postDto.openAt(), postDto.closeAt(), Instant.now()))
                 .visibility(postDto.visibility() != null ? postDto.visibility() : PostVisibility.PUBLIC)
                 .shareCode(UUID.randomUUID())
                 .build();
 
         Post savedPost = postRepository.save(post);
+        publicFeedCache.upsert(savedPost);
+        postLifecycleService.schedule(savedPost);
 
         user.setMonthlyPostCount(user.getMonthlyPostCount() + 1);
         user.setLastPostDate(Instant.now());
@@ -106,37 +136,72 @@ public class PostService {
     @Deprecated // Use getAllVisiblePosts instead
     @Transactional(readOnly = true)
     public List<PostDto> getAllPosts() {
-        return postRepository.findAllWithOwner().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return toDtos(postRepository.findAllWithOwner());
     }
 
     @Deprecated // Use getAllVisiblePosts instead
     @Transactional(readOnly = true)
     public Page<PostDto> getAllPosts(Pageable pageable) {
         Page<Post> posts = postRepository.findAllWithOwner(pageable);
-        return posts.map(this::toDto);
+        return toDtos(posts);
     }
 
-    @Transactional(readOnly = true)
     public List<PostAdminDto> getAllPostsForAdmin() {
-        return postRepository.findAllWithOwnerAndClaims().stream()  // N+1 문제 해결
-                .map(this::toAdminDto)
+        List<PostAdminDto> posts = new ArrayList<>();
+        forEachPostForAdmin(posts::addAll);
+        return posts;
+    }
+
+    /**
+     * 관리자용 게시물 + 당첨자를 id 순 배치로 전달 (전체 JOIN FETCH 대신 배치마다 게시물 1쿼리 + 당첨자 1쿼리)
+     * 배치마다 짧은 읽기 전용 트랜잭션을 쓰므로 영속성 컨텍스트에는 한 배치의 엔티티만 남고,
+     * sink(응답 쓰기)는 트랜잭션 밖에서 호출되어 느린 클라이언트가 커넥션을 붙잡지 않는다.
+     */
+    public void forEachPostForAdmin(Consumer<List<PostAdminDto>> sink) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            List<PostAdminDto> batch = readOnly.execute(status -> loadAdminBatch(cursor));
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            sink.accept(batch);
+            if (batch.size() < ADMIN_BATCH_SIZE) {
+                return;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+        }
+    }
+
+    private List<PostAdminDto> loadAdminBatch(long afterId) {
+        List<Post> posts = postRepository.findAdminBatch(afterId, PageRequest.of(0, ADMIN_BATCH_SIZE));
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> postIds = posts.stream().map(Post::getId).toList();
+        Map<Long, List<ClaimDto>> claimsByPost = claimRepository.findByPostIdsWithUser(postIds).stream()
+                .collect(Collectors.groupingBy(claim -> claim.getPost().getId(),
+                        Collectors.mapping(this::toDto, Collectors.toList())));
+
+        return posts.stream()
+                .map(post -> toAdminDto(post, claimsByPost.getOrDefault(post.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
     // Privacy-aware post retrieval methods
     @Transactional(readOnly = true)
     public List<PostDto> getAllPublicPosts() {
-        return postRepository.findAllPublicWithOwner().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return toDtos(postRepository.findAllPublicWithOwner());
     }
 
     @Transactional(readOnly = true)
     public Page<PostDto> getAllPublicPosts(Pageable pageable) {
         Page<Post> posts = postRepository.findAllPublicWithOwner(pageable);
-        return posts.map(this::toDto);
+        return toDtos(posts);
     }
 
     @Transactional(readOnly = true)
@@ -145,12 +210,10 @@ public class PostService {
             return getAllPublicPosts();
         }
         
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        // 조회 조건에만 쓰이므로 사용자 행을 읽지 않는 참조로 충분
+        UserAccount user = userAccountRepository.getReferenceById(userCache.userId(principal));
         
-        return postRepository.findAllVisibleToUserWithOwner(user).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return toDtos(postRepository.findAllVisibleToUserWithOwner(user));
     }
 
     @Transactional(readOnly = true)
@@ -159,11 +222,68 @@ public class PostService {
             return getAllPublicPosts(pageable);
         }
         
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        UserAccount user = userAccountRepository.getReferenceById(userCache.userId(principal));
         
         Page<Post> posts = postRepository.findAllVisibleToUserWithOwner(user, pageable);
-        return posts.map(this::toDto);
+        return toDtos(posts);
+    }
+
+    /**
+     * 키셋 페이지 (OFFSET/COUNT 없이 커서 위치부터 인덱스를 LIMIT까지만 읽으므로 깊은 페이지도 첫 페이지와 같은 비용)
+     *
+     * @param includeTotal true면 전체 개수 추정치(공개는 planner 추정 + 본인 비공개 수)를 함께 반환
+     */
+    @Transactional(readOnly = true)
+    public KeysetPageResponse<PostDto> getVisiblePostsKeyset(Principal principal, PostSortField sortField,
+                                                            boolean descending, String cursor, int size,
+                                                            boolean includeTotal) {
+        Long userId = principal != null ? userCache.userId(principal) : null;
+
+        // 커서는 정렬 기준별 형식 (createdAt: "타임스탬프:ID" 복합 커서, id: ID 커서)
+        Instant afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            if (sortField == PostSortField.CREATED_AT) {
+                Object[] key = CursorUtil.decodeCompositeCursor(cursor);
+                afterCreatedAt = (Instant) key[0];
+                afterId = (Long) key[1];
+            } else {
+                afterId = CursorUtil.decodeIdCursor(cursor);
+            }
+        }
+
+        int limit = size + 1; // +1로 다음 페이지 존재 여부 확인
+        List<Long> ids = new ArrayList<>(
+                postKeysetReader.findPublicIds(sortField, descending, afterCreatedAt, afterId, limit));
+        if (userId != null) {
+            ids.addAll(postKeysetReader.findOwnerHiddenIds(userId, sortField, descending, afterCreatedAt, afterId, limit));
+        }
+
+        List<Post> posts = ids.isEmpty() ? List.of() : postRepository.findAllByIdWithOwner(ids).stream()
+                .sorted(sortField.comparator(descending))
+                .limit(limit)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (posts.size() > size) {
+            posts = posts.subList(0, size);
+            Post last = posts.get(posts.size() - 1);
+            nextCursor = sortField == PostSortField.CREATED_AT
+                    ? CursorUtil.encodeCompositeCursor(last.getCreatedAt(), last.getId())
+                    : CursorUtil.encodeIdCursor(last.getId());
+        }
+
+        Long approximateTotal = null;
+        if (includeTotal) {
+            long total = postKeysetReader.estimatePublicCount();
+            if (userId != null) {
+                total += postKeysetReader.countOwnerHidden(userId);
+            }
+            approximateTotal = total;
+        }
+
+        return KeysetPageResponse.of(toDtos(posts), nextCursor, size,
+                sortField.property(), descending ? "desc" : "asc", approximateTotal);
     }
 
     @Transactional(readOnly = true)
@@ -185,10 +305,7 @@ public class PostService {
                 throw new IllegalArgumentException("This post is private");
             }
             
-            UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            
-            if (!post.getOwner().equals(user)) {
+            if (!post.getOwner().getId().equals(userCache.userId(principal))) {
                 throw new IllegalArgumentException("You don't have permission to view this post");
             }
         }
@@ -203,66 +320,38 @@ public class PostService {
         return getPost(id, null);
     }
 
-    private PostDto toDto(Post post) {
-        String claimantsKey = "post:{" + post.getId() + "}:claimants";
-        Long claimantsCount = redisService.getSetSize(claimantsKey);
-        
-        // If Redis data is missing (expired), rebuild from PostgreSQL
-        int currentClaims;
-        if (claimantsCount == null) {
-            // Fallback: count from database and rebuild cache
-            currentClaims = post.getClaims() != null ? post.getClaims().size() : 0;
-            rebuildClaimCache(post);
-        } else {
-            currentClaims = claimantsCount.intValue();
-        }
+    /**
+     * 목록 변환: 당첨자 수를 게시물마다 SCARD 하지 않고 한 번의 파이프라인으로 조회
+     */
+    private List<PostDto> toDtos(List<Post> posts) {
+        Map<Long, Long> claimCounts = claimCounts(posts);
+        return posts.stream()
+                .map(post -> toDto(post, claimCounts.get(post.getId())))
+                .collect(Collectors.toList());
+    }
 
-        return new PostDto(
-                post.getId(),
-                post.getTitle(),
-                post.getDescription(),
-                post.getQuota(),
-                post.getOpenAt(),
-                post.getCloseAt(),
-                post.getTags() != null ? Arrays.asList(post.getTags()) : List.of(),
-                post.getImages() != null ? Arrays.asList(post.getImages()) : List.of(),
-                currentClaims,
-                post.getOwner().getEmail(),
-                post.getOwner().getId(),
-                post.getVisibility(),
-                post.getShareCode()
-        );
+    private Page<PostDto> toDtos(Page<Post> posts) {
+        Map<Long, Long> claimCounts = claimCounts(posts.getContent());
+        return posts.map(post -> toDto(post, claimCounts.get(post.getId())));
     }
-    
+
+    private PostDto toDto(Post post) {
+        return toDto(post, claimCounts(List.of(post)).get(post.getId()));
+    }
+
     /**
-     * Rebuild Redis cache from PostgreSQL data when cache is missing
+     * Redis 당첨자 수 (Hot-post 모드는 샤드별 SET 합계)
+     * 캐시가 만료된 게시물은 DB 집계로 응답하고 재구성은 백그라운드에서 한 번만 실행
      */
-    private void rebuildClaimCache(Post post) {
-        if (post.getClaims() == null || post.getClaims().isEmpty()) {
-            return; // No claims to rebuild
-        }
-        
-        String setKey = "post:{" + post.getId() + "}:claimants";
-        String cntKey = "post:{" + post.getId() + "}:claims_count";
-        
-        // Clear existing data first
-        redisService.deleteKeys(setKey, cntKey);
-        
-        // Rebuild by calling claim.lua for each existing claim
-        for (Claim claim : post.getClaims()) {
-            redisService.executeScript(
-                    redisService.loadScript("claim.lua"),
-                    List.of(setKey, cntKey),
-                    String.valueOf(claim.getUser().getId()),
-                    String.valueOf(post.getQuota())
-            );
-        }
+    private Map<Long, Long> claimCounts(List<Post> posts) {
+        return claimCacheRebuildService.withPersistedCounts(posts, claimEngines.countClaims(posts));
     }
 
-    private PostAdminDto toAdminDto(Post post) {
-        List<ClaimDto> claims = post.getClaims() != null ? post.getClaims().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList()) : List.of();
+    private PostDto toDto(Post post, Long claimantsCount) {
+        return PostDto.from(post, claimantsCount != null ? claimantsCount.intValue() : 0);
+    }
+
+    private PostAdminDto toAdminDto(Post post, List<ClaimDto> claims) {
         return new PostAdminDto(
                 post.getId(),
                 post.getTitle(),
@@ -280,24 +369,21 @@ public class PostService {
 
     private ClaimDto toDto(Claim claim) {
         UserDto userDto = new UserDto(claim.getUser().getId(), claim.getUser().getEmail());
-        return new ClaimDto(claim.getId(), userDto);
+        return new ClaimDto(claim.getId(), userDto, claim.getRank(), claim.getAcceptedAt());
     }
 
     @Transactional
+    @CacheEvict(value = "posts", key = "#id") // 모든 노드의 로컬 계층까지 무효화
     public PostDto updatePost(Long id, PostDto postDto, List<MultipartFile> images, Principal principal) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        if (!post.getOwner().equals(user)) {
+        if (!post.getOwner().getId().equals(userCache.userId(principal))) {
             throw new SecurityException("User is not the owner of the post");
         }
 
-        String claimantsKey = "post:{" + id + "}:claimants";
-        Long claimantsCount = redisService.getSetSize(claimantsKey);
+        long claimantsCount = claimEngines.countClaims(post);
 
-        if (claimantsCount != null && claimantsCount > 0) {
+        if (claimantsCount > 0) {
             throw new IllegalStateException("Cannot update post with existing claims.");
         }
 
@@ -318,23 +404,27 @@ public class PostService {
         post.setQuota(postDto.quota());
         post.setOpenAt(postDto.openAt());
         post.setCloseAt(postDto.closeAt());
+        post.setState(PostLifecycleService.stateAt(postDto.openAt(), postDto.closeAt(), Instant.now()));
         post.setTags(postDto.tags() != null ? postDto.tags().toArray(new String[0]) : null);
         post.setImages(imagePaths);
         post.setVisibility(postDto.visibility() != null ? postDto.visibility() : post.getVisibility());
         // Note: shareCode is not updated - it remains the same for the lifetime of the post
 
         Post updatedPost = postRepository.save(post);
+        claimDescriptorCache.evictPost(id);
+        publicFeedCache.upsert(updatedPost); // 비공개로 바뀌었으면 피드에서 제거
+        postLifecycleService.schedule(updatedPost);
+        // quota가 바뀌었을 수 있으므로 엔진 상태(샤드 토큰/토큰 리스트) 재준비 (당첨자가 없음은 위에서 확인)
+        claimEngines.reset(updatedPost);
         return toDto(updatedPost);
     }
 
     @Transactional
+    @CacheEvict(value = "posts", key = "#id")
     public void deletePost(Long id, Principal principal) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        UserAccount user = userAccountRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        if (!post.getOwner().equals(user)) {
+        if (!post.getOwner().getId().equals(userCache.userId(principal))) {
             throw new SecurityException("User is not the owner of the post");
         }
 
@@ -344,6 +434,9 @@ public class PostService {
         }
 
         postRepository.delete(post);
+        claimDescriptorCache.evictPost(id);
+        publicFeedCache.remove(id);
+        postLifecycleService.unschedule(id);
     }
 
     // 커서 기반 페이지네이션 - 공개 게시물
@@ -355,53 +448,137 @@ public class PostService {
     // 커서 기반 페이지네이션 - 사용자 가시성 고려
     @Transactional(readOnly = true)
     public CursorPageResponse<PostDto> getVisiblePostsCursor(String cursor, int size, Principal principal) {
-        UserAccount user = null;
+        Long userId = null;
         if (principal != null) {
-            user = userAccountRepository.findByEmail(principal.getName()).orElse(null);
+            try {
+                userId = userCache.userId(principal);
+            } catch (IllegalArgumentException e) {
+                // 알 수 없는 사용자는 기존과 같이 공개 피드로 응답
+            }
         }
-        return getPostsCursor(cursor, size, user);
+        return getPostsCursor(cursor, size, userId);
     }
 
-    private CursorPageResponse<PostDto> getPostsCursor(String cursor, int size, UserAccount user) {
-        List<Post> posts;
-        Pageable pageable = org.springframework.data.domain.PageRequest.of(0, size + 1); // +1로 다음 페이지 존재 확인
-
-        if (cursor == null) {
-            // 첫 페이지
-            if (user == null) {
-                posts = postRepository.findFirstPublicPosts(pageable);
-            } else {
-                posts = postRepository.findFirstVisiblePosts(user, pageable);
-            }
-        } else {
-            // 단순 타임스탬프 커서 사용 (향후 복합 커서로 업그레이드 가능)
-            Instant cursorTime = CursorUtil.decodeCursor(cursor);
-            if (user == null) {
-                posts = postRepository.findPublicPostsAfterCursor(cursorTime, pageable);
-            } else {
-                posts = postRepository.findVisiblePostsAfterCursor(user, cursorTime, pageable);
+    /**
+     * (created_at, id) 키셋 페이지네이션
+     * - 다음 페이지: 현재 페이지 마지막 게시물보다 오래된 게시물
+     * - 이전 페이지: 현재 페이지 첫 게시물보다 최신 게시물 (오름차순으로 읽어 뒤집음)
+     * 로그인 사용자는 공개 피드와 본인 비공개 게시물을 각각 인덱스로 읽어 병합한다.
+     */
+    private CursorPageResponse<PostDto> getPostsCursor(String cursor, int size, Long userId) {
+        CursorUtil.Position position = CursorUtil.decodePosition(cursor);
+        boolean backward = position != null && position.backward();
+
+        if (userId == null && !backward) {
+            // 비로그인 피드는 모두 같으므로 Redis에 만들어 둔 피드로 먼저 응답
+            Optional<List<PublicFeedCache.Entry>> feed = position == null
+                    ? publicFeedCache.page(null, null, size + 1)
+                    : publicFeedCache.page(position.createdAt(), keysetId(position), size + 1);
+            if (feed.isPresent()) {
+                return toCursorPage(feed.get(), size, position != null);
             }
         }
 
-        boolean hasNext = posts.size() > size;
-        if (hasNext) {
+        List<Post> posts = findKeysetPage(position, size + 1, userId);
+        boolean hasMore = posts.size() > size; // +1로 한 페이지 더 있는지 확인
+        if (hasMore) {
             posts = posts.subList(0, size); // 실제 반환할 크기로 조정
         }
+        if (backward) {
+            posts = new ArrayList<>(posts);
+            Collections.reverse(posts); // 응답은 항상 최신순
+        }
+        if (posts.isEmpty()) {
+            return CursorPageResponse.of(List.of(), null, null, size);
+        }
 
-        // 다음 커서 생성 (단순 타임스탬프, 향후 복합 커서로 업그레이드 가능)
-        String nextCursor = null;
-        if (hasNext && !posts.isEmpty()) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = CursorUtil.encodeCursor(lastPost.getCreatedAt());
+        Post first = posts.get(0);
+        Post last = posts.get(posts.size() - 1);
+        // 뒤로 왔으면 다음 페이지(방금 떠난 페이지)는 항상 있고, 앞으로 왔으면 첫 페이지가 아닌 한 이전 페이지가 있다
+        boolean hasNext = backward || hasMore;
+        boolean hasPrev = backward ? hasMore : position != null;
+
+        String nextCursor = hasNext ? CursorUtil.encodeCompositeCursor(last.getCreatedAt(), last.getId()) : null;
+        String prevCursor = hasPrev ? CursorUtil.encodeBackwardCursor(first.getCreatedAt(), first.getId()) : null;
+        return CursorPageResponse.of(toDtos(posts), nextCursor, prevCursor, size);
+    }
+
+    /**
+     * 키셋 위치 기준 limit개 (앞으로는 최신순, 뒤로는 오래된 순)
+     */
+    private List<Post> findKeysetPage(CursorUtil.Position position, int limit, Long userId) {
+        List<Long> ids = new ArrayList<>(keysetIds(position, limit, null));
+        if (userId != null) {
+            // 공개 게시물과 겹치지 않으므로 두 목록을 합친 뒤 정렬해 limit개만 사용
+            ids.addAll(keysetIds(position, limit, userId));
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Comparator<Post> newestFirst = Comparator.comparing(Post::getCreatedAt)
+                .thenComparing(Post::getId)
+                .reversed();
+        return postRepository.findAllByIdWithOwner(ids).stream()
+                .sorted(position != null && position.backward() ? newestFirst.reversed() : newestFirst)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> keysetIds(CursorUtil.Position position, int limit, Long hiddenOwnerId) {
+        if (position == null) {
+            return hiddenOwnerId == null
+                    ? postRepository.findPublicIdsFirst(limit)
+                    : postRepository.findOwnerHiddenIdsFirst(hiddenOwnerId, limit);
         }
 
-        // 이전 커서 생성 (현재는 null, 양방향 네비게이션 구현시 추가)
-        String prevCursor = null;
+        long id = keysetId(position);
+        if (position.backward()) {
+            return hiddenOwnerId == null
+                    ? postRepository.findPublicIdsNewerThan(position.createdAt(), id, limit)
+                    : postRepository.findOwnerHiddenIdsNewerThan(hiddenOwnerId, position.createdAt(), id, limit);
+        }
+        return hiddenOwnerId == null
+                ? postRepository.findPublicIdsOlderThan(position.createdAt(), id, limit)
+                : postRepository.findOwnerHiddenIdsOlderThan(hiddenOwnerId, position.createdAt(), id, limit);
+    }
 
-        List<PostDto> postDtos = posts.stream()
-                .map(this::toDto)
+    // 이전 형식(타임스탬프만) 커서는 id 0으로 비교해 "created_at < cursor"와 같게 동작
+    private static long keysetId(CursorUtil.Position position) {
+        return position.id() != null ? position.id() : 0L;
+    }
+
+    /**
+     * 피드 조각 + Redis 당첨자 수 (파이프라인 1회, DB 미조회)
+     * 캐시가 만료된 게시물의 DB 집계 대체는 하지 않으며, 재구성은 상세/목록 조회 경로가 담당한다.
+     */
+    private CursorPageResponse<PostDto> toCursorPage(List<PublicFeedCache.Entry> entries, int size, boolean hasPrev) {
+        boolean hasNext = entries.size() > size;
+        if (hasNext) {
+            entries = entries.subList(0, size);
+        }
+
+        Map<Long, List<String>> keysByPost = new HashMap<>(entries.size() * 2);
+        for (PublicFeedCache.Entry entry : entries) {
+            keysByPost.put(entry.post().id(),
+                    claimEngines.claimantsKeys(entry.post().id(), entry.engine(), entry.claimShards()));
+        }
+        Map<Long, Long> claimCounts = claimEngines.countClaims(keysByPost);
+
+        List<PostDto> content = entries.stream()
+                .map(entry -> {
+                    Long count = claimCounts.get(entry.post().id());
+                    return entry.post().withCurrentClaims(count != null ? count.intValue() : 0);
+                })
                 .collect(Collectors.toList());
 
-        return CursorPageResponse.of(postDtos, nextCursor, prevCursor, size);
+        if (entries.isEmpty()) {
+            return CursorPageResponse.of(content, null, null, size);
+        }
+        PublicFeedCache.Entry first = entries.get(0);
+        PublicFeedCache.Entry last = entries.get(entries.size() - 1);
+        String nextCursor = hasNext ? CursorUtil.encodeCompositeCursor(last.createdAt(), last.post().id()) : null;
+        String prevCursor = hasPrev ? CursorUtil.encodeBackwardCursor(first.createdAt(), first.post().id()) : null;
+        return CursorPageResponse.of(content, nextCursor, prevCursor, size);
     }
 }
@@ -0,0 +1,50 @@
+package csw.fcfs.post;
+
+import java.util.Comparator;
+
+/**
+ * 목록 API에서 허용하는 정렬 기준 (인덱스가 있는 컬럼만)
+ * - ID: ix_post_public_id / ix_post_owner_hidden_id
+ * - CREATED_AT: ix_post_public_keyset / ix_post_owner_hidden_keyset (동률은 id로 구분)
+ */
+public enum PostSortField {
+
+    ID("id", "id", Comparator.comparing(Post::getId)),
+    CREATED_AT("createdAt", "created_at, id", Comparator.comparing(Post::getCreatedAt).thenComparing(Post::getId));
+
+    private final String property;
+    private final String columns;
+    private final Comparator<Post> ascending;
+
+    PostSortField(String property, String columns, Comparator<Post> ascending) {
+        this.property = property;
+        this.columns = columns;
+        this.ascending = ascending;
+    }
+
+    /**
+     * 요청 파라미터(sortBy) → 정렬 기준, 인덱스가 없는 필드는 거절
+     */
+    public static PostSortField from(String sortBy) {
+        for (PostSortField field : values()) {
+            if (field.property.equals(sortBy)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + sortBy + " (allowed: id, createdAt)");
+    }
+
+    // JPA Sort 속성명
+    public String property() {
+        return property;
+    }
+
+    // 키셋 SQL의 ORDER BY / 행 비교 컬럼
+    public String columns() {
+        return columns;
+    }
+
+    public Comparator<Post> comparator(boolean descending) {
+        return descending ? ascending.reversed() : ascending;
+    }
+}
@@ -0,0 +1,229 @@
+package csw.fcfs.post;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import csw.fcfs.claim.ClaimEngineType;
+import csw.fcfs.post.dto.PostDto;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비로그인 공개 피드 (모든 익명 사용자에게 동일하므로 Redis에 미리 만들어 둠)
+ * - feed:{public}        ZSET: score = created_at epoch micros, member = 0-padded post_id
+ *                        (같은 시각이면 member 역순 = id 역순이므로 DB 정렬 created_at DESC, id DESC와 일치)
+ * - feed:{public}:posts  HASH: member → PostDto 조각 (당첨자 수는 조회 시 Redis에서 합침)
+ * - feed:{public}:ready  COMPLETE / TRUNCATED, TTL 동안 유지 후 다음 조회에서 DB 기준 재작성
+ * 생성/수정/삭제는 커밋 후 스크립트 한 번으로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PublicFeedCache {
+
+    static final String FEED_KEY = "feed:{public}";
+    static final String POSTS_KEY = "feed:{public}:posts";
+    static final String READY_KEY = "feed:{public}:ready";
+    static final String LOCK_KEY = "feed:{public}:rebuild_lock";
+
+    private static final String MISSING = "MISSING";
+    private static final String COMPLETE = "COMPLETE";
+    private static final String TRUNCATED = "TRUNCATED";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+
+    private final RedisService redisService;
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final PublicFeedProperties properties;
+
+    /**
+     * 피드에 보관하는 게시물 조각 (다음 커서와 당첨자 수 조회에 필요한 필드 포함)
+     */
+    public record Entry(PostDto post, Instant createdAt, ClaimEngineType engine, short claimShards) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 최신순 한 페이지
+     *
+     * @param before   이 시각보다 이전 게시물만 (null이면 첫 페이지)
+     * @param beforeId before와 같은 시각이면 이 ID보다 작은 게시물만 (null이면 시각만 비교)
+     * @return 피드로 응답할 수 없으면(준비 전, 보관 범위 밖, 조각 누락, Redis 오류) empty → DB 조회
+     */
+    public Optional<List<Entry>> page(Instant before, Long beforeId, int limit) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        String maxScore = before == null ? "+inf"
+                : beforeId == null ? "(" + score(before) : String.valueOf(score(before));
+        String beforeMember = before != null && beforeId != null ? member(beforeId) : "";
+
+        List<String> reply;
+        try {
+            reply = readPage(maxScore, beforeMember, limit);
+            if (MISSING.equals(reply.get(0))) {
+                if (!rebuild()) {
+                    return Optional.empty(); // 다른 노드가 작성 중
+                }
+                reply = readPage(maxScore, beforeMember, limit);
+            }
+        } catch (Exception e) {
+            log.warn("Public feed read failed, falling back to database: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        List<Entry> entries = new ArrayList<>(limit);
+        for (int i = 1; i + 1 < reply.size(); i += 2) {
+            String fragment = reply.get(i + 1);
+            if (fragment == null) {
+                log.warn("Public feed fragment for post {} is missing", Long.parseLong(reply.get(i)));
+                return Optional.empty();
+            }
+            try {
+                entries.add(objectMapper.readValue(fragment, Entry.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable public feed fragment for post {}: {}", Long.parseLong(reply.get(i)), e.getMessage());
+                return Optional.empty();
+            }
+        }
+
+        // 잘린 피드에서 페이지를 다 채우지 못했으면 나머지는 DB에만 있음
+        if (entries.size() < limit && !COMPLETE.equals(reply.get(0))) {
+            return Optional.empty();
+        }
+        return Optional.of(entries);
+    }
+
+    private List<String> readPage(String maxScore, String beforeMember, int limit) {
+        return redisService.executeListScriptBySha1(
+                redisService.getFeedPageScriptSha1(),
+                List.of(FEED_KEY, POSTS_KEY, READY_KEY),
+                maxScore, beforeMember, String.valueOf(limit));
+    }
+
+    /**
+     * 게시물 생성/수정 반영 (비공개면 제거). 조각은 지금(트랜잭션 안) 만들고 Redis 반영은 커밋 후에 한다.
+     */
+    public void upsert(Post post) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (post.getVisibility() != PostVisibility.PUBLIC) {
+            remove(post.getId());
+            return;
+        }
+
+        String member = member(post.getId());
+        String score = String.valueOf(score(post.getCreatedAt()));
+        String fragment = fragment(post);
+        afterCommit(() -> redisService.executeScriptBySha1(
+                redisService.getFeedUpsertScriptSha1(),
+                List.of(FEED_KEY, POSTS_KEY, READY_KEY),
+                member, score, fragment, String.valueOf(properties.getMaxSize())));
+    }
+
+    public void remove(Long postId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String member = member(postId);
+        afterCommit(() -> redisService.executeScriptBySha1(
+                redisService.getFeedRemoveScriptSha1(),
+                List.of(FEED_KEY, POSTS_KEY),
+                member));
+    }
+
+    /**
+     * DB 최신 공개 게시물로 피드 재작성 (노드 간 한 번만)
+     *
+     * @return 이번 호출에서 작성했으면 true
+     */
+    private boolean rebuild() {
+        if (!Boolean.TRUE.equals(redisService.setIfAbsent(LOCK_KEY, "1", LOCK_TTL))) {
+            return false;
+        }
+
+        try {
+            List<Post> posts = postRepository.findFirstPublicPosts(PageRequest.of(0, properties.getMaxSize()));
+            List<String> args = new ArrayList<>(2 + posts.size() * 3);
+            args.add(posts.size() < properties.getMaxSize() ? COMPLETE : TRUNCATED);
+            args.add(String.valueOf(properties.getTtl().toSeconds()));
+            for (Post post : posts) {
+                args.add(member(post.getId()));
+                args.add(String.valueOf(score(post.getCreatedAt())));
+                args.add(fragment(post));
+            }
+
+            redisService.executeScriptBySha1(
+                    redisService.getFeedRebuildScriptSha1(),
+                    List.of(FEED_KEY, POSTS_KEY, READY_KEY),
+                    args.toArray(String[]::new));
+            log.info("Rebuilt public feed with {} posts", posts.size());
+            return true;
+        } finally {
+            redisService.deleteKeys(LOCK_KEY);
+        }
+    }
+
+    private String fragment(Post post) {
+        Entry entry = new Entry(PostDto.from(post, 0), post.getCreatedAt().truncatedTo(ChronoUnit.MICROS), post.getClaimEngine(), post.getClaimShards());
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize public feed entry for post " + post.getId(), e);
+        }
+    }
+
+    private void afterCommit(Runnable write) {
+        Runnable safeWrite = () -> {
+            try {
+                write.run();
+            } catch (Exception e) {
+                // 다음 재작성(ready TTL)까지 피드가 어긋날 수 있으므로 바로 재작성되도록 ready 제거
+                log.error("Failed to update public feed, forcing a rebuild: {}", e.getMessage());
+                try {
+                    redisService.deleteKeys(READY_KEY);
+                } catch (Exception ignored) {
+                    // Redis 장애 - ready TTL 만료 후 재작성
+                }
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeWrite.run();
+                }
+            });
+        } else {
+            safeWrite.run();
+        }
+    }
+
+    static long score(Instant createdAt) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, createdAt);
+    }
+
+    static String member(Long postId) {
+        return String.format("%019d", postId);
+    }
+}
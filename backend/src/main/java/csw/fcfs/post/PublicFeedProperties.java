@@ -0,0 +1,23 @@
+package csw.fcfs.post;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("feed.public")
+public class PublicFeedProperties {
+
+    // 비로그인 커서 피드를 Redis에 미리 만들어 둔 목록으로 응답
+    private boolean enabled = true;
+
+    // 피드에 보관할 최신 공개 게시물 수 (이보다 깊은 페이지는 DB 조회)
+    private int maxSize = 1000;
+
+    // 피드 전체를 DB 기준으로 다시 작성하는 주기 (갱신 유실 시 최대 지연)
+    private Duration ttl = Duration.ofMinutes(10);
+}
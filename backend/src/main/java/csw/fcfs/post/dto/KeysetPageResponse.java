@@ -0,0 +1,39 @@
+package csw.fcfs.post.dto;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지 응답 DTO (/api/posts?mode=keyset)
+ * 전체 개수는 COUNT(*) 대신 추정치이며, includeTotal=true로 요청할 때만 채운다.
+ */
+public record KeysetPageResponse<T>(
+        List<T> content,           // 현재 페이지 데이터
+        String nextCursor,         // 다음 페이지를 위한 커서 (null이면 마지막 페이지)
+        boolean hasNext,           // 다음 페이지 존재 여부
+        int size,                  // 요청한 페이지 크기
+        int numberOfElements,      // 현재 페이지의 실제 요소 수
+        String sortBy,             // 정렬 기준
+        String sortDir,            // 정렬 방향
+        Long approximateTotal      // 추정 전체 개수 (요청하지 않으면 null)
+) {
+
+    public static <T> KeysetPageResponse<T> of(
+            List<T> content,
+            String nextCursor,
+            int requestedSize,
+            String sortBy,
+            String sortDir,
+            Long approximateTotal
+    ) {
+        return new KeysetPageResponse<>(
+                content,
+                nextCursor,
+                nextCursor != null,
+                requestedSize,
+                content.size(),
+                sortBy,
+                sortDir,
+                approximateTotal
+        );
+    }
+}
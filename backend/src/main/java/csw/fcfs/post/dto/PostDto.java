@@ -1,9 +1,11 @@
 package csw.fcfs.post.dto;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import csw.fcfs.post.Post;
 import csw.fcfs.post.PostVisibility;
 
 public record PostDto(
@@ -21,6 +23,31 @@ public record PostDto(
         PostVisibility visibility, // 공개/비공개 설정
         UUID shareCode       // 공유 코드
 ) {
+    // 엔티티 변환 (owner 로딩 필요)
+    public static PostDto from(Post post, int currentClaims) {
+        return new PostDto(
+                post.getId(),
+                post.getTitle(),
+                post.getDescription(),
+                post.getQuota(),
+                post.getOpenAt(),
+                post.getCloseAt(),
+                post.getTags() != null ? Arrays.asList(post.getTags()) : List.of(),
+                post.getImages() != null ? Arrays.asList(post.getImages()) : List.of(),
+                currentClaims,
+                post.getOwner().getEmail(),
+                post.getOwner().getId(),
+                post.getVisibility(),
+                post.getShareCode()
+        );
+    }
+
+    // 캐시된 조각에 최신 당첨자 수 반영
+    public PostDto withCurrentClaims(int currentClaims) {
+        return new PostDto(id, title, description, quota, openAt, closeAt, tags, images, currentClaims,
+                authorName, authorId, visibility, shareCode);
+    }
+
     // 기존 생성자와의 호환성을 위한 팩토리 메소드
     public static PostDto of(Long id, String title, String description, short quota,
                              Instant openAt, Instant closeAt, List<String> tags, List<String> images) {
@@ -0,0 +1,93 @@
+package csw.fcfs.post.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import csw.fcfs.post.PostSortField;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 정렬 기준/방향별 키셋 ID 조회 (OFFSET, COUNT 없이 인덱스 범위를 LIMIT까지만 읽음)
+ * <p>
+ * 정렬 컬럼은 {@link PostSortField} 화이트리스트에서만 오므로 SQL에 그대로 넣고, 값은 모두 바인딩한다.
+ * 게시물 본문은 {@link PostRepository#findAllByIdWithOwner}로 한 번에 가져온다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostKeysetReader {
+
+    private static final String PUBLIC = "visibility = 'PUBLIC'";
+    private static final String OWNER_HIDDEN = "owner_id = :ownerId AND visibility <> 'PUBLIC'";
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param afterCreatedAt CREATED_AT 정렬일 때 커서의 created_at (ID 정렬이면 무시)
+     * @param afterId        커서의 id, null이면 첫 페이지
+     */
+    public List<Long> findPublicIds(PostSortField field, boolean descending,
+                                    Instant afterCreatedAt, Long afterId, int limit) {
+        return findIds(PUBLIC, new MapSqlParameterSource(), field, descending, afterCreatedAt, afterId, limit);
+    }
+
+    public List<Long> findOwnerHiddenIds(Long ownerId, PostSortField field, boolean descending,
+                                         Instant afterCreatedAt, Long afterId, int limit) {
+        return findIds(OWNER_HIDDEN, new MapSqlParameterSource("ownerId", ownerId),
+                field, descending, afterCreatedAt, afterId, limit);
+    }
+
+    /**
+     * 공개 게시물 수 추정치 (planner 통계, 실행 없음)
+     */
+    public long estimatePublicCount() {
+        String plan = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("EXPLAIN (FORMAT JSON) SELECT 1 FROM post WHERE " + PUBLIC, String.class);
+        Matcher matcher = PLAN_ROWS.matcher(plan != null ? plan : "");
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    /**
+     * 본인 비공개 게시물 수 (사용자당 게시물 수가 제한되어 있어 인덱스로 정확히 센다)
+     */
+    public long countOwnerHidden(Long ownerId) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM post WHERE " + OWNER_HIDDEN,
+                new MapSqlParameterSource("ownerId", ownerId), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private List<Long> findIds(String scope, MapSqlParameterSource params, PostSortField field, boolean descending,
+                               Instant afterCreatedAt, Long afterId, int limit) {
+        String direction = descending ? " DESC" : " ASC";
+        StringBuilder sql = new StringBuilder("SELECT id FROM post WHERE ").append(scope);
+
+        if (afterId != null) {
+            String op = descending ? " < " : " > ";
+            if (field == PostSortField.CREATED_AT) {
+                sql.append(" AND (created_at, id)").append(op).append("(:createdAt, :id)");
+                params.addValue("createdAt", Timestamp.from(afterCreatedAt));
+            } else {
+                sql.append(" AND id").append(op).append(":id");
+            }
+            params.addValue("id", afterId);
+        }
+
+        sql.append(" ORDER BY ")
+                .append(Stream.of(field.columns().split(", "))
+                        .map(column -> column + direction)
+                        .collect(Collectors.joining(", ")))
+                .append(" LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.queryForList(sql.toString(), params, Long.class);
+    }
+}
@@ -2,6 +2,8 @@ package csw.fcfs.post.repository;
 
 import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -51,12 +54,9 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             countQuery = "SELECT count(p) FROM Post p")
     Page<Post> findAllWithOwner(Pageable pageable);
 
-    // Admin용: claims와 claims.user까지 함께 조회
-    @Query("SELECT DISTINCT p FROM Post p " +
-            "LEFT JOIN FETCH p.owner " +
-            "LEFT JOIN FETCH p.claims c " +
-            "LEFT JOIN FETCH c.user")
-    List<Post> findAllWithOwnerAndClaims();
+    // Admin 내보내기용 id 순 배치 (PK 인덱스 범위 스캔, 당첨자는 배치 단위로 따로 조회)
+    @Query("SELECT p FROM Post p WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<Post> findAdminBatch(@Param("afterId") Long afterId, Pageable pageable);
 
     // 단일 게시물 조회도 N+1 문제 해결
     @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE p.id = :id")
@@ -69,24 +69,84 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // 기존 메서드들
     int countByOwnerAndStateIn(UserAccount owner, List<PostState> states);
 
-    // 커서 기반 페이지네이션 - 생성시간 기준 (최신순)
-    @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE p.visibility = 'PUBLIC' AND p.createdAt < :cursor ORDER BY p.createdAt DESC, p.id DESC")
-    List<Post> findPublicPostsAfterCursor(@Param("cursor") java.time.Instant cursor, Pageable pageable);
-
-    @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE p.visibility = 'PUBLIC' AND p.createdAt > :cursor ORDER BY p.createdAt ASC, p.id ASC")
-    List<Post> findPublicPostsBeforeCursor(@Param("cursor") java.time.Instant cursor, Pageable pageable);
-
-    // 커서 없이 시작 (첫 페이지)
+    /*
+     * 게시물 상태 전환 (PostLifecycleService) - 이미 전환된 행은 조건에서 빠지므로 여러 노드가 실행해도 안전
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.state = csw.fcfs.post.PostState.OPEN "
+            + "WHERE p.id IN :ids AND p.state = csw.fcfs.post.PostState.SCHEDULED AND p.openAt <= :now")
+    int openScheduled(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.state = csw.fcfs.post.PostState.CLOSED "
+            + "WHERE p.id IN :ids AND p.state <> csw.fcfs.post.PostState.CLOSED")
+    int close(@Param("ids") Collection<Long> ids);
+
+    // 매진으로 닫힌 게시물에 취소로 자리가 난 경우 (closeAt 전이면 다시 OPEN)
+    @Modifying
+    @Query("UPDATE Post p SET p.state = csw.fcfs.post.PostState.OPEN "
+            + "WHERE p.id = :id AND p.state = csw.fcfs.post.PostState.CLOSED AND p.openAt <= :now "
+            + "AND (p.closeAt IS NULL OR p.closeAt > :now)")
+    int reopen(@Param("id") Long id, @Param("now") Instant now);
+
+    // 예약 유실/배포 이전 게시물 보정용 일괄 전환 (V8 부분 인덱스)
+    @Modifying
+    @Query("UPDATE Post p SET p.state = csw.fcfs.post.PostState.OPEN "
+            + "WHERE p.state = csw.fcfs.post.PostState.SCHEDULED AND p.openAt <= :now")
+    int openAllDue(@Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.state = csw.fcfs.post.PostState.CLOSED "
+            + "WHERE p.state <> csw.fcfs.post.PostState.CLOSED AND p.closeAt <= :now")
+    int closeAllDue(@Param("now") Instant now);
+
+    List<Post> findByStateIn(Collection<PostState> states);
+
+    // 커서 없이 시작 (첫 페이지) - 공개 피드 재작성용
     @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE p.visibility = 'PUBLIC' ORDER BY p.createdAt DESC, p.id DESC")
     List<Post> findFirstPublicPosts(Pageable pageable);
 
-    // 사용자별 가시성 고려한 커서 기반 페이지네이션
-    @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE (p.visibility = 'PUBLIC' OR p.owner = :user) AND p.createdAt < :cursor ORDER BY p.createdAt DESC, p.id DESC")
-    List<Post> findVisiblePostsAfterCursor(@Param("user") UserAccount user, @Param("cursor") java.time.Instant cursor, Pageable pageable);
-
-    @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE (p.visibility = 'PUBLIC' OR p.owner = :user) AND p.createdAt > :cursor ORDER BY p.createdAt ASC, p.id ASC")
-    List<Post> findVisiblePostsBeforeCursor(@Param("user") UserAccount user, @Param("cursor") java.time.Instant cursor, Pageable pageable);
-
-    @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE p.visibility = 'PUBLIC' OR p.owner = :user ORDER BY p.createdAt DESC, p.id DESC")
-    List<Post> findFirstVisiblePosts(@Param("user") UserAccount user, Pageable pageable);
+    /*
+     * 키셋(커서) 페이지네이션: (created_at, id) 행 비교로 V5 부분 인덱스를 순서대로 읽고 LIMIT에서 멈춤 (정렬/OFFSET 없음)
+     * - 공개: ix_post_public_keyset (created_at DESC, id DESC) WHERE visibility = 'PUBLIC'
+     * - 본인 비공개: ix_post_owner_hidden_keyset (owner_id, created_at DESC, id DESC) WHERE visibility <> 'PUBLIC'
+     * 둘 다 id만 읽으므로 index-only scan이고, 게시물 본문은 findAllByIdWithOwner로 한 번에 가져온다.
+     * SQL은 EXPLAIN 테스트(PostKeysetPaginationTests)가 그대로 검증할 수 있도록 상수로 둔다.
+     */
+    String PUBLIC_KEYSET_FIRST = "SELECT id FROM post WHERE visibility = 'PUBLIC' "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit";
+    String PUBLIC_KEYSET_OLDER = "SELECT id FROM post WHERE visibility = 'PUBLIC' "
+            + "AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit";
+    String PUBLIC_KEYSET_NEWER = "SELECT id FROM post WHERE visibility = 'PUBLIC' "
+            + "AND (created_at, id) > (:createdAt, :id) ORDER BY created_at ASC, id ASC LIMIT :limit";
+    String OWNER_HIDDEN_KEYSET_FIRST = "SELECT id FROM post WHERE owner_id = :ownerId AND visibility <> 'PUBLIC' "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit";
+    String OWNER_HIDDEN_KEYSET_OLDER = "SELECT id FROM post WHERE owner_id = :ownerId AND visibility <> 'PUBLIC' "
+            + "AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit";
+    String OWNER_HIDDEN_KEYSET_NEWER = "SELECT id FROM post WHERE owner_id = :ownerId AND visibility <> 'PUBLIC' "
+            + "AND (created_at, id) > (:createdAt, :id) ORDER BY created_at ASC, id ASC LIMIT :limit";
+
+    @Query(value = PUBLIC_KEYSET_FIRST, nativeQuery = true)
+    List<Long> findPublicIdsFirst(@Param("limit") int limit);
+
+    @Query(value = PUBLIC_KEYSET_OLDER, nativeQuery = true)
+    List<Long> findPublicIdsOlderThan(@Param("createdAt") Instant createdAt, @Param("id") long id, @Param("limit") int limit);
+
+    @Query(value = PUBLIC_KEYSET_NEWER, nativeQuery = true)
+    List<Long> findPublicIdsNewerThan(@Param("createdAt") Instant createdAt, @Param("id") long id, @Param("limit") int limit);
+
+    @Query(value = OWNER_HIDDEN_KEYSET_FIRST, nativeQuery = true)
+    List<Long> findOwnerHiddenIdsFirst(@Param("ownerId") Long ownerId, @Param("limit") int limit);
+
+    @Query(value = OWNER_HIDDEN_KEYSET_OLDER, nativeQuery = true)
+    List<Long> findOwnerHiddenIdsOlderThan(@Param("ownerId") Long ownerId, @Param("createdAt") Instant createdAt,
+                                           @Param("id") long id, @Param("limit") int limit);
+
+    @Query(value = OWNER_HIDDEN_KEYSET_NEWER, nativeQuery = true)
+    List<Long> findOwnerHiddenIdsNewerThan(@Param("ownerId") Long ownerId, @Param("createdAt") Instant createdAt,
+                                           @Param("id") long id, @Param("limit") int limit);
+
+    // 키셋으로 고른 ID의 본문 (순서는 호출 측에서 맞춤)
+    @Query("SELECT p FROM Post p JOIN FETCH p.owner WHERE p.id IN :ids")
+    List<Post> findAllByIdWithOwner(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,126 @@
+package csw.fcfs.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Service;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lettuce async API 기반 스크립트 실행
+ * <p>
+ * RedisService.executeScriptBySha1은 RedisCallback으로 응답을 기다리는 동안 요청 스레드를 점유하지만,
+ * 여기서는 Spring이 만든 Lettuce 클라이언트로 별도 공유 연결을 열어 EVALSHA를 파이프라인으로 보내고
+ * 결과를 CompletableFuture로 돌려준다. (클러스터에서는 Lettuce가 키 슬롯으로 라우팅)
+ */
+@Service
+@Slf4j
+public class AsyncRedisService implements DisposableBean {
+
+    private final LettuceConnectionFactory connectionFactory;
+    private final RedisService redisService;
+
+    private volatile StatefulConnection<String, String> connection;
+    private volatile RedisClusterAsyncCommands<String, String> commands;
+
+    public AsyncRedisService(RedisConnectionFactory connectionFactory, RedisService redisService) {
+        this.connectionFactory = (LettuceConnectionFactory) connectionFactory;
+        this.redisService = redisService;
+    }
+
+    /**
+     * EVALSHA (NOSCRIPT면 같은 키로 EVAL 재시도)
+     * 완료 콜백은 Lettuce I/O 스레드에서 실행되므로 블로킹 작업은 별도 executor로 넘겨야 한다.
+     */
+    public CompletableFuture<String> executeScriptBySha1(String sha1, List<String> keys, String... args) {
+        return evalsha(sha1, ScriptOutputType.VALUE, keys, args)
+                .thenApply(raw -> raw != null ? raw.toString() : null);
+    }
+
+    /**
+     * 문자열 배열을 반환하는 스크립트용 EVALSHA (예: claim_batch.lua)
+     */
+    public CompletableFuture<List<String>> executeListScriptBySha1(String sha1, List<String> keys, String... args) {
+        return evalsha(sha1, ScriptOutputType.MULTI, keys, args)
+                .thenApply(raw -> {
+                    List<?> values = (List<?>) raw;
+                    List<String> results = new ArrayList<>(values.size());
+                    for (Object value : values) {
+                        results.add(value != null ? value.toString() : null);
+                    }
+                    return results;
+                });
+    }
+
+    private CompletableFuture<Object> evalsha(String sha1, ScriptOutputType type, List<String> keys, String... args) {
+        RedisClusterAsyncCommands<String, String> async = commands();
+        String[] keyArray = keys.toArray(String[]::new);
+
+        return async.<Object>evalsha(sha1, type, keyArray, args)
+                .toCompletableFuture()
+                .exceptionallyCompose(e -> {
+                    String script = redisService.getScript(sha1);
+                    if (script == null || !isNoScript(e)) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    log.warn("NOSCRIPT for {} on keys {}, retrying with async EVAL", sha1, keys);
+                    // 동기 경로와 같이 다른 노드를 위해 전체 스크립트를 다시 전파 (SCRIPT LOAD는 블로킹이라 I/O 스레드 밖에서)
+                    Thread.startVirtualThread(redisService::reloadScripts);
+                    return async.<Object>eval(script, type, keyArray, args).toCompletableFuture();
+                });
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RedisNoScriptException
+                || (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT"));
+    }
+
+    private RedisClusterAsyncCommands<String, String> commands() {
+        RedisClusterAsyncCommands<String, String> current = commands;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (commands == null) {
+                // Spring이 설정(주소/인증/클러스터 토폴로지)을 마친 클라이언트를 재사용
+                AbstractRedisClient client = connectionFactory.getRequiredNativeClient();
+                if (client instanceof RedisClusterClient clusterClient) {
+                    StatefulRedisClusterConnection<String, String> clusterConnection = clusterClient.connect(StringCodec.UTF8);
+                    connection = clusterConnection;
+                    commands = clusterConnection.async();
+                } else {
+                    StatefulRedisConnection<String, String> standaloneConnection = ((RedisClient) client).connect(StringCodec.UTF8);
+                    connection = standaloneConnection;
+                    commands = standaloneConnection.async();
+                }
+                log.info("Opened async Redis connection ({})", client.getClass().getSimpleName());
+            }
+            return commands;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        StatefulConnection<String, String> current = connection;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
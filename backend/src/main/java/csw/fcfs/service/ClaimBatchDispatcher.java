@@ -0,0 +1,221 @@
+package csw.fcfs.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클레임 micro-batching
+ * <p>
+ * 오픈 직후에는 같은 게시물(= 같은 해시 슬롯, 같은 master)에 대한 클레임이 같은 밀리초에 수백 건 몰리고
+ * 각각이 네트워크 왕복을 한 번씩 지불한다. 게시물별로 window(기본 200µs) 또는 maxSize(기본 64)까지
+ * 요청을 모아 claim_batch.lua 한 번으로 판정하고, 각 호출자에게 자기 결과만 돌려준다.
+ * 배치 안에서는 도착 순서대로 판정하므로 FCFS 순서가 유지된다.
+ * <p>
+ * 종료 시에는 웹 서버가 요청 수신을 멈춘 뒤, AsyncRedisService 연결이 닫히기 전(빈 소멸 전 lifecycle 단계)에
+ * 모으는 중이던 배치를 실행하고 응답까지 기다린다.
+ */
+@Service
+@Slf4j
+public class ClaimBatchDispatcher implements SmartLifecycle {
+
+    private final RedisService redisService;
+    private final AsyncRedisService asyncRedisService;
+    private final ClaimBatchProperties properties;
+
+    // 게시물 claimants 키 → 현재 모으는 중인 배치
+    private final Map<String, Batch> openBatches = new ConcurrentHashMap<>();
+    // 응답을 기다리는 claim_batch.lua 호출 (종료 시 대기 대상)
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer waitTimer;
+
+    public ClaimBatchDispatcher(RedisService redisService, AsyncRedisService asyncRedisService,
+                                ClaimBatchProperties properties, MeterRegistry meterRegistry) {
+        this.redisService = redisService;
+        this.asyncRedisService = asyncRedisService;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("claim-batch").daemon().factory());
+
+        this.batchSizeSummary = DistributionSummary.builder("claim.batch.size")
+                .description("Claims coalesced into one claim_batch.lua call")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("claim.batch.wait")
+                .description("Time a claim waited for its batch to be dispatched")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 종료가 시작되면 false - 이후 클레임은 배치 없이 바로 실행된다
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled() && running;
+    }
+
+    /**
+     * 클레임 1건을 게시물 배치에 넣고 결과 future를 반환
+     *
+     * @param keys claim.lua와 같은 키 목록 (claimants, claims_count, outbox?)
+     */
+    public CompletableFuture<String> submit(List<String> keys, int quota, Long userId, String email) {
+        Pending pending = new Pending(String.valueOf(userId), email != null ? email : "", System.nanoTime());
+        String batchKey = keys.get(0);
+
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(batchKey, k -> new Batch(k, keys, quota));
+            boolean first;
+            boolean full;
+            synchronized (batch) {
+                if (batch.closed) {
+                    // 방금 실행으로 넘어간 배치 - 새 배치를 다시 연다
+                    continue;
+                }
+                first = batch.items.isEmpty();
+                batch.items.add(pending);
+                full = batch.items.size() >= properties.getMaxSize();
+            }
+
+            if (full) {
+                dispatch(batch);
+            } else if (first) {
+                try {
+                    scheduler.schedule(() -> dispatch(batch), properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중 (isEnabled 확인 직후 stop) - window를 기다리지 않고 바로 실행
+                    dispatch(batch);
+                }
+            }
+            return pending.result;
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+        }
+        openBatches.remove(batch.key, batch);
+
+        List<Pending> items = batch.items;
+        long now = System.nanoTime();
+        batchSizeSummary.record(items.size());
+
+        String[] args = new String[1 + items.size() * 2];
+        args[0] = String.valueOf(batch.quota);
+        int i = 1;
+        for (Pending item : items) {
+            waitTimer.record(now - item.enqueuedAt, TimeUnit.NANOSECONDS);
+            args[i++] = item.userId;
+            args[i++] = item.email;
+        }
+
+        try {
+            CompletableFuture<List<String>> call =
+                    asyncRedisService.executeListScriptBySha1(redisService.getClaimBatchScriptSha1(), batch.keys, args);
+            inFlight.add(call);
+            call.whenComplete((results, e) -> {
+                inFlight.remove(call);
+                complete(items, results, e);
+            });
+        } catch (RuntimeException e) {
+            complete(items, null, e);
+        }
+    }
+
+    private static void complete(List<Pending> items, List<String> results, Throwable error) {
+        if (error == null && (results == null || results.size() != items.size())) {
+            error = new IllegalStateException("claim_batch.lua returned " + (results == null ? 0 : results.size())
+                    + " results for " + items.size() + " claims");
+        }
+        if (error != null) {
+            log.error("Batched claim of {} requests failed: {}", items.size(), error.getMessage());
+            for (Pending item : items) {
+                item.result.completeExceptionally(error);
+            }
+            return;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).result.complete(results.get(i));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        // 종료 시점에 모으는 중이던 배치는 즉시 실행 (예약된 dispatch는 이미 닫힌 배치라 무시됨)
+        openBatches.values().forEach(this::dispatch);
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture<?>[]::new))
+                    .get(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} claim batches still in flight after {}", inFlight.size(), properties.getShutdownTimeout());
+        } catch (ExecutionException e) {
+            // 실패는 각 호출자 future로 이미 전달됨
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버 종료(DEFAULT_PHASE - 2048) 뒤, 저널/outbox(DEFAULT_PHASE - 4096)보다 먼저 종료
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static final class Batch {
+        private final String key;
+        private final List<String> keys;
+        private final int quota;
+        private final List<Pending> items = new ArrayList<>();
+        private boolean closed;
+
+        private Batch(String key, List<String> keys, int quota) {
+            this.key = key;
+            this.keys = keys;
+            this.quota = quota;
+        }
+    }
+
+    private record Pending(String userId, String email, long enqueuedAt, CompletableFuture<String> result) {
+        private Pending(String userId, String email, long enqueuedAt) {
+            this(userId, email, enqueuedAt, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package csw.fcfs.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("claim.batch")
+public class ClaimBatchProperties {
+
+    // 기본 비활성: 켜면 같은 게시물의 동시 클레임을 claim_batch.lua 한 번으로 묶어 실행
+    private boolean enabled = false;
+
+    // 배치를 모으는 최대 시간 (첫 요청 기준)
+    private Duration window = Duration.ofNanos(200_000);
+
+    // 배치 최대 크기 (도달하면 window를 기다리지 않고 즉시 실행)
+    private int maxSize = 64;
+
+    // 종료 시 남은 배치의 Redis 응답을 기다리는 최대 시간
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
@@ -1,7 +1,16 @@
 package csw.fcfs.service;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.connection.ClusterCommandExecutionFailureException;
@@ -12,6 +21,7 @@ import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisNoScriptException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,23 +32,116 @@ import lombok.extern.slf4j.Slf4j;
 public class RedisService {
     private final StringRedisTemplate redisTemplate;
 
+    // SHA1 → 스크립트 원문 (NOSCRIPT 발생 시 EVAL 재시도/재전파용)
+    private final Map<String, String> scriptsBySha1 = new ConcurrentHashMap<>();
+    // 재전파는 초당 1회로 제한 (failover 직후 동시 NOSCRIPT가 몰려도 SCRIPT LOAD 폭주 방지)
+    private final AtomicLong lastReloadAt = new AtomicLong();
+
     private String claimScriptSha1;
     private String declaimScriptSha1;
+    // 여러 클레임을 한 번에 판정하는 micro-batch 스크립트
+    private String claimBatchScriptSha1;
+    // DB 기준 캐시 재구성 스크립트
+    private String claimRebuildScriptSha1;
+
+    // Hot-post(샤딩) 모드 스크립트
+    private String shardedClaimScriptSha1;
+    private String spillScriptSha1;
+    private String settleScriptSha1;
+    private String shardedDeclaimScriptSha1;
+
+    // 토큰 리스트 엔진 스크립트
+    private String tokenClaimScriptSha1;
+    private String tokenDeclaimScriptSha1;
+    private String tokenPrimeScriptSha1;
+
+    // 공개 피드 스크립트
+    private String feedPageScriptSha1;
+    private String feedUpsertScriptSha1;
+    private String feedRemoveScriptSha1;
+    private String feedRebuildScriptSha1;
+
+    // 클러스터 공용 rate limit 토큰 버킷
+    private String rateLimitScriptSha1;
+
+    // 클레임 대기열 스크립트
+    private String queueJoinScriptSha1;
+    private String queueAdmitScriptSha1;
+
+    // 게시물 상태 전환 예약 스크립트
+    private String lifecyclePollScriptSha1;
 
     @PostConstruct
     public void loadScriptSha1s() {
         claimScriptSha1   = loadAndBroadcast("claim.lua");
         declaimScriptSha1 = loadAndBroadcast("declaim.lua");
+        claimBatchScriptSha1 = loadAndBroadcast("claim_batch.lua");
+        claimRebuildScriptSha1 = loadAndBroadcast("claim_rebuild.lua");
+
+        shardedClaimScriptSha1   = loadAndBroadcast("claim_sharded.lua");
+        spillScriptSha1          = loadAndBroadcast("claim_spill.lua");
+        settleScriptSha1         = loadAndBroadcast("claim_settle.lua");
+        shardedDeclaimScriptSha1 = loadAndBroadcast("declaim_sharded.lua");
+
+        tokenClaimScriptSha1   = loadAndBroadcast("token_claim.lua");
+        tokenDeclaimScriptSha1 = loadAndBroadcast("token_declaim.lua");
+        tokenPrimeScriptSha1   = loadAndBroadcast("token_prime.lua");
+
+        feedPageScriptSha1    = loadAndBroadcast("feed_page.lua");
+        feedUpsertScriptSha1  = loadAndBroadcast("feed_upsert.lua");
+        feedRemoveScriptSha1  = loadAndBroadcast("feed_remove.lua");
+        feedRebuildScriptSha1 = loadAndBroadcast("feed_rebuild.lua");
+
+        rateLimitScriptSha1 = loadAndBroadcast("rate_limit.lua");
+
+        queueJoinScriptSha1  = loadAndBroadcast("queue_join.lua");
+        queueAdmitScriptSha1 = loadAndBroadcast("queue_admit.lua");
+
+        lifecyclePollScriptSha1 = loadAndBroadcast("lifecycle_poll.lua");
     }
 
     private String loadAndBroadcast(String file) {
-        byte[] script = loadScript(file).getBytes(StandardCharsets.UTF_8);
+        String text = loadScript(file);
+        String sha1 = broadcast(text);
+        scriptsBySha1.put(sha1, text);
+        return sha1;
+    }
+
+    private String broadcast(String text) {
+        byte[] script = text.getBytes(StandardCharsets.UTF_8);
 
         return redisTemplate.execute((RedisCallback<String>) conn ->
             conn.scriptingCommands().scriptLoad(script)    // ← 모든 master에 전파
         );
     }
 
+    /**
+     * failover로 새 master가 스크립트 캐시를 잃은 경우 모든 스크립트를 다시 전파
+     * (초당 1회로 제한되므로 NOSCRIPT마다 호출해도 된다, 동기 호출이므로 Lettuce I/O 스레드에서는 호출하지 않음)
+     */
+    public void reloadScripts() {
+        long now = System.currentTimeMillis();
+        long last = lastReloadAt.get();
+        if (now - last < 1000 || !lastReloadAt.compareAndSet(last, now)) {
+            return;
+        }
+        log.warn("Re-broadcasting {} Lua scripts after NOSCRIPT", scriptsBySha1.size());
+        for (String text : scriptsBySha1.values()) {
+            try {
+                broadcast(text);
+            } catch (Exception e) {
+                log.warn("Failed to re-broadcast Lua script: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * SHA1에 해당하는 스크립트 원문 (NOSCRIPT 시 EVAL 재시도용)
+     */
+    public String getScript(String sha1) {
+        return scriptsBySha1.get(sha1);
+    }
+
     public String getClaimScriptSha1() {
         return claimScriptSha1;
     }
@@ -47,6 +150,74 @@ public class RedisService {
         return declaimScriptSha1;
     }
 
+    public String getClaimBatchScriptSha1() {
+        return claimBatchScriptSha1;
+    }
+
+    public String getClaimRebuildScriptSha1() {
+        return claimRebuildScriptSha1;
+    }
+
+    public String getFeedPageScriptSha1() {
+        return feedPageScriptSha1;
+    }
+
+    public String getFeedUpsertScriptSha1() {
+        return feedUpsertScriptSha1;
+    }
+
+    public String getFeedRemoveScriptSha1() {
+        return feedRemoveScriptSha1;
+    }
+
+    public String getFeedRebuildScriptSha1() {
+        return feedRebuildScriptSha1;
+    }
+
+    public String getRateLimitScriptSha1() {
+        return rateLimitScriptSha1;
+    }
+
+    public String getQueueJoinScriptSha1() {
+        return queueJoinScriptSha1;
+    }
+
+    public String getQueueAdmitScriptSha1() {
+        return queueAdmitScriptSha1;
+    }
+
+    public String getLifecyclePollScriptSha1() {
+        return lifecyclePollScriptSha1;
+    }
+
+    public String getShardedClaimScriptSha1() {
+        return shardedClaimScriptSha1;
+    }
+
+    public String getSpillScriptSha1() {
+        return spillScriptSha1;
+    }
+
+    public String getSettleScriptSha1() {
+        return settleScriptSha1;
+    }
+
+    public String getShardedDeclaimScriptSha1() {
+        return shardedDeclaimScriptSha1;
+    }
+
+    public String getTokenClaimScriptSha1() {
+        return tokenClaimScriptSha1;
+    }
+
+    public String getTokenPrimeScriptSha1() {
+        return tokenPrimeScriptSha1;
+    }
+
+    public String getTokenDeclaimScriptSha1() {
+        return tokenDeclaimScriptSha1;
+    }
+
     public String loadScript(String filename) {
         try (var is = getClass().getClassLoader().getResourceAsStream("scripts/" + filename)) {
             if (is == null) {
@@ -90,24 +261,78 @@ public class RedisService {
 
     /**
      * Execute a Lua script by SHA1 (EVALSHA), fallback to full script if needed
+     * <p>
+     * NOSCRIPT(failover 후 새 master에 스크립트 캐시 없음)이면 같은 키로 EVAL 재시도한다.
+     * EVAL은 키 슬롯 기준으로 라우팅되므로 해당 노드에 스크립트가 다시 캐시되고,
+     * 다른 노드를 위해 전체 스크립트도 다시 전파한다.
      */
     public String executeScriptBySha1(String sha1, List<String> keys, String... args) {
-        return redisTemplate.execute((RedisCallback<String>) conn -> {
-            Object raw = conn.scriptingCommands().evalSha(
-                sha1.getBytes(StandardCharsets.UTF_8),
-                ReturnType.VALUE,
-                keys.size(),
-                concatKeysAndArgs(keys, args)
+        return toResult(evalSha(sha1, ReturnType.VALUE, keys, args));
+    }
+
+    /**
+     * 배열을 반환하는 스크립트용 EVALSHA (nil/false 원소는 null)
+     */
+    public List<String> executeListScriptBySha1(String sha1, List<String> keys, String... args) {
+        Object raw = evalSha(sha1, ReturnType.MULTI, keys, args);
+        if (!(raw instanceof List<?> items)) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(items.size());
+        for (Object item : items) {
+            result.add(toResult(item));
+        }
+        return result;
+    }
+
+    private Object evalSha(String sha1, ReturnType type, List<String> keys, String... args) {
+        byte[][] keysAndArgs = concatKeysAndArgs(keys, args);
+        try {
+            return redisTemplate.execute((RedisCallback<Object>) conn ->
+                conn.scriptingCommands().evalSha(
+                    sha1.getBytes(StandardCharsets.UTF_8),
+                    type,
+                    keys.size(),
+                    keysAndArgs
+                )
             );
+        } catch (RuntimeException e) {
+            String script = scriptsBySha1.get(sha1);
+            if (script == null || !isNoScript(e)) {
+                throw e;
+            }
+
+            log.warn("NOSCRIPT for {} on keys {}, retrying with EVAL", sha1, keys);
+            reloadScripts();
+            return redisTemplate.execute((RedisCallback<Object>) conn ->
+                conn.scriptingCommands().eval(
+                    script.getBytes(StandardCharsets.UTF_8),
+                    type,
+                    keys.size(),
+                    keysAndArgs
+                )
+            );
+        }
+    }
 
-            if (raw == null) return null;
+    private static String toResult(Object raw) {
+        if (raw == null) return null;
 
-            // bulk string → String
-            if (raw instanceof byte[] bytes) {
-                return new String(bytes, StandardCharsets.UTF_8);
+        // bulk string → String
+        if (raw instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return raw.toString();
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RedisNoScriptException
+                    || (t.getMessage() != null && t.getMessage().contains("NOSCRIPT"))) {
+                return true;
             }
-            return raw.toString();
-        });
+        }
+        return false;
     }
 
     /**
@@ -117,10 +342,10 @@ public class RedisService {
         byte[][] result = new byte[keys.size() + args.length][];
         int i = 0;
         for (String key : keys) {
-            result[i++] = key.getBytes();
+            result[i++] = key.getBytes(StandardCharsets.UTF_8);
         }
         for (String arg : args) {
-            result[i++] = arg.getBytes();
+            result[i++] = arg.getBytes(StandardCharsets.UTF_8);
         }
         return result;
     }
@@ -141,6 +366,36 @@ public class RedisService {
         }
     }
 
+    /**
+     * 여러 SET의 크기를 한 번에 조회 (SCARD 파이프라인)
+     * 클러스터에서는 Lettuce가 키 슬롯별로 노드에 라우팅하므로 키 개수가 아니라 노드 수만큼의 왕복으로 끝난다.
+     *
+     * @return 키 → 크기 (없는 키는 0)
+     */
+    public Map<String, Long> getSetSizes(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        try {
+            List<Object> sizes = redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+                for (String key : distinct) {
+                    conn.setCommands().sCard(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+
+            Map<String, Long> result = new HashMap<>(distinct.size() * 2);
+            for (int i = 0; i < distinct.size(); i++) {
+                result.put(distinct.get(i), (Long) sizes.get(i));
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Error getting set sizes for {} keys", distinct.size(), e);
+            throw new RedisOperationException("Failed to get set sizes", e);
+        }
+    }
+
     /**
      * Check if member exists in set
      */
@@ -189,6 +444,78 @@ public class RedisService {
         }
     }
 
+    /**
+     * Increment a counter (e.g. return a hot-post token to its shard)
+     */
+    public Long increment(String key) {
+        try {
+            return redisTemplate.opsForValue().increment(key);
+        } catch (Exception e) {
+            log.error("Error incrementing key: {}", key, e);
+            throw new RedisOperationException("Failed to increment value", e);
+        }
+    }
+
+    /**
+     * Set a string value with a TTL
+     */
+    public void set(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (Exception e) {
+            log.error("Error setting value for key: {}", key, e);
+            throw new RedisOperationException("Failed to set value", e);
+        }
+    }
+
+    /**
+     * Set a string value with a TTL only if the key does not exist
+     */
+    public Boolean setIfAbsent(String key, String value, Duration ttl) {
+        try {
+            return redisTemplate.opsForValue().setIfAbsent(key, value, ttl);
+        } catch (Exception e) {
+            log.error("Error setting value for key: {}", key, e);
+            throw new RedisOperationException("Failed to set value", e);
+        }
+    }
+
+    /**
+     * Add or move a sorted set member
+     */
+    public void addToSortedSet(String key, String member, double score) {
+        try {
+            redisTemplate.opsForZSet().add(key, member, score);
+        } catch (Exception e) {
+            log.error("Error adding member to sorted set: {}", key, e);
+            throw new RedisOperationException("Failed to add sorted set member", e);
+        }
+    }
+
+    /**
+     * Remove sorted set members
+     */
+    public void removeFromSortedSet(String key, String... members) {
+        try {
+            redisTemplate.opsForZSet().remove(key, (Object[]) members);
+        } catch (Exception e) {
+            log.error("Error removing members from sorted set: {}", key, e);
+            throw new RedisOperationException("Failed to remove sorted set members", e);
+        }
+    }
+
+    /**
+     * Sorted set members with min <= score <= max
+     */
+    public Set<String> rangeByScore(String key, double min, double max) {
+        try {
+            return redisTemplate.opsForZSet().rangeByScore(key, min, max);
+        } catch (Exception e) {
+            log.error("Error reading sorted set range: {}", key, e);
+            throw new RedisOperationException("Failed to read sorted set range", e);
+        }
+    }
+
     public static class RedisOperationException extends RuntimeException {
         public RedisOperationException(String message, Throwable cause) {
             super(message, cause);
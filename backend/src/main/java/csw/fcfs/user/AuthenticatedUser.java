@@ -0,0 +1,43 @@
+package csw.fcfs.user;
+
+import java.security.Principal;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * JWT에서 복원한 인증 사용자 (uid, role, premium 클레임)
+ * getName()은 기존과 같이 이메일을 반환하므로 principal.getName() 호출부는 그대로 동작한다.
+ *
+ * @param id 이전 형식 토큰(uid 클레임 없음)이면 null
+ */
+public record AuthenticatedUser(
+        Long id,
+        String email,
+        Role role,
+        boolean premium
+) implements Principal {
+
+    public static AuthenticatedUser from(UserAccount user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.isPremium());
+    }
+
+    /**
+     * 컨트롤러에 주입된 Principal(Authentication)에서 인증 사용자 추출
+     */
+    public static Optional<AuthenticatedUser> of(Principal principal) {
+        if (principal instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
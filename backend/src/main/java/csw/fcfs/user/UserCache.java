@@ -0,0 +1,80 @@
+package csw.fcfs.user;
+
+import java.security.Principal;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import csw.fcfs.claim.ClaimUser;
+import csw.fcfs.user.repository.UserAccountRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 인증 사용자 해석용 로컬 캐시 (요청마다 findByEmail 하지 않도록)
+ * - uid 클레임이 있는 토큰은 DB 조회 없이 ID를 바로 사용
+ * - 이전 형식 토큰(이메일만)은 email → id를 한 번만 조회
+ * - role/premium은 토큰 발급 후 바뀔 수 있으므로 userId → 최신 값을 "users" 계층 캐시(로컬 + Redis)에 짧게 보관
+ *   (토큰 만료 1시간보다 빨리 반영, evict 시 모든 노드의 로컬 계층까지 무효화)
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    static final String CACHE_NAME = "users";
+
+    // 메모리 보호용 상한 (초과분은 Caffeine이 오래된 항목부터 제거)
+    private static final int MAX_USERS = 100_000;
+
+    private final UserAccountRepository userAccountRepository;
+    private final CacheManager cacheManager;
+
+    // email → id는 바뀌지 않으므로 노드 로컬로만 보관
+    private final Cache<String, Long> idsByEmail = Caffeine.newBuilder()
+            .maximumSize(MAX_USERS)
+            .build();
+    private org.springframework.cache.Cache users;
+
+    @PostConstruct
+    void initUsers() {
+        users = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * 요청 사용자의 ID (JWT uid 클레임 → 캐시 → DB 순)
+     */
+    public Long userId(Principal principal) {
+        Long id = AuthenticatedUser.of(principal).map(AuthenticatedUser::id).orElse(null);
+        return id != null ? id : userIdByEmail(principal.getName());
+    }
+
+    public Long userIdByEmail(String email) {
+        Long id = idsByEmail.get(email, key -> userAccountRepository.findIdByEmail(key).orElse(null));
+        if (id == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        return id;
+    }
+
+    /**
+     * 토큰의 role/premium을 캐시된 최신 값으로 교체 (사용자가 없으면 토큰 값 그대로)
+     */
+    public AuthenticatedUser refresh(AuthenticatedUser fromToken) {
+        if (fromToken.id() == null) {
+            return fromToken;
+        }
+        Long id = fromToken.id();
+        ClaimUser current = users.get(id, () -> userAccountRepository.findById(id).map(ClaimUser::from).orElse(null));
+        return current != null
+                ? new AuthenticatedUser(current.id(), current.email(), current.role(), current.premium())
+                : fromToken;
+    }
+
+    public void evict(Long userId, String email) {
+        users.evict(userId);
+        idsByEmail.invalidate(email);
+    }
+}
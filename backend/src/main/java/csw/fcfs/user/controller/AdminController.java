@@ -1,16 +1,27 @@
 package csw.fcfs.user.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import csw.fcfs.claim.ClaimService;
+import csw.fcfs.claim.ClaimEngineType;
+import csw.fcfs.claim.ClaimEngines;
+import csw.fcfs.claim.WaitingRoomService;
 import csw.fcfs.post.PostService;
 import csw.fcfs.post.dto.PostAdminDto;
 import lombok.RequiredArgsConstructor;
@@ -20,20 +31,66 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final PostService postService;
     private final ClaimService claimService;
+    private final ClaimEngines claimEngines;
+    private final WaitingRoomService waitingRoomService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/posts")
     public ResponseEntity<List<PostAdminDto>> getAllPosts() {
         return ResponseEntity.ok(postService.getAllPostsForAdmin());
     }
 
+    // 전체 게시물 + 당첨자 NDJSON 스트리밍 (한 줄에 게시물 하나, 배치마다 flush)
+    @GetMapping(value = "/posts/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        StreamingResponseBody body = out -> postService.forEachPostForAdmin(batch -> {
+            try {
+                for (PostAdminDto post : batch) {
+                    out.write(objectMapper.writeValueAsBytes(post));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등 - 다음 배치 조회를 멈춘다
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     @DeleteMapping("/posts/{postId}")
     public ResponseEntity<Void> deletePost(@PathVariable Long postId, Principal principal) {
         postService.deletePost(postId, principal);
         return ResponseEntity.noContent().build();
     }
 
+    // Hot-post 모드 전환: shards=1이면 단일 키, 그 이상이면 quota를 샤드로 분할
+    @PutMapping("/posts/{postId}/claim-shards")
+    public ResponseEntity<Void> changeClaimShards(@PathVariable Long postId, @RequestParam int shards) {
+        claimEngines.changeShards(postId, shards);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 선착순 판정 엔진 전환 (LUA / TOKEN_LIST)
+    @PutMapping("/posts/{postId}/claim-engine")
+    public ResponseEntity<Void> changeClaimEngine(@PathVariable Long postId, @RequestParam ClaimEngineType engine) {
+        claimEngines.changeEngine(postId, engine);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 대기열 사용 여부 (켜면 클레임에 입장 허가된 X-Queue-Ticket 필요)
+    @PutMapping("/posts/{postId}/waiting-room")
+    public ResponseEntity<Void> changeWaitingRoom(@PathVariable Long postId, @RequestParam boolean enabled) {
+        waitingRoomService.setEnabled(postId, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/claims/{postId}/{userId}")
     public ResponseEntity<Void> removeUserFromClaim(@PathVariable Long postId, @PathVariable Long userId) {
         claimService.removeClaim(postId, userId);
@@ -3,6 +3,8 @@ package csw.fcfs.user.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import csw.fcfs.user.UserAccount;
@@ -10,4 +12,8 @@ import csw.fcfs.user.UserAccount;
 @Repository
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
     Optional<UserAccount> findByEmail(String email);
+
+    // 클레임 경로용: 엔티티 전체 대신 ID만 조회
+    @Query("SELECT u.id FROM UserAccount u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
@@ -5,10 +5,21 @@ import java.util.Base64;
 
 /**
  * 커서 기반 페이지네이션을 위한 유틸리티 클래스
- * Base64 인코딩된 타임스탬프를 커서로 사용
+ * Base64 인코딩된 "타임스탬프:ID" 복합 커서를 사용 (뒤로 가기 커서는 ":prev" 접미사)
  */
 public class CursorUtil {
 
+    private static final String BACKWARD_SUFFIX = ":prev";
+
+    /**
+     * 키셋 위치 (created_at, id)
+     *
+     * @param id       null이면 타임스탬프만 있는 이전 형식 커서
+     * @param backward true면 이 위치보다 최신 게시물(이전 페이지)을 요청
+     */
+    public record Position(Instant createdAt, Long id, boolean backward) {
+    }
+
     private CursorUtil() {
         // 유틸리티 클래스는 인스턴스화 방지
     }
@@ -59,13 +70,63 @@ public class CursorUtil {
         }
         
         try {
-            decodeCursor(cursor);
+            decodePosition(cursor);
             return true;
         } catch (IllegalArgumentException e) {
             return false;
         }
     }
 
+    /**
+     * 이전 페이지 커서 생성 (이 위치보다 최신 게시물을 요청)
+     */
+    public static String encodeBackwardCursor(Instant timestamp, Long id) {
+        if (timestamp == null || id == null) {
+            return null;
+        }
+        String compositeString = timestamp.toString() + ":" + id + BACKWARD_SUFFIX;
+        return Base64.getEncoder().encodeToString(compositeString.getBytes());
+    }
+
+    /**
+     * 복합/뒤로 가기/타임스탬프 커서를 모두 키셋 위치로 디코딩
+     *
+     * @return 커서가 없으면 null (첫 페이지)
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        String decodedString;
+        try {
+            decodedString = new String(Base64.getDecoder().decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor format: " + cursor, e);
+        }
+
+        boolean backward = decodedString.endsWith(BACKWARD_SUFFIX);
+        if (backward) {
+            decodedString = decodedString.substring(0, decodedString.length() - BACKWARD_SUFFIX.length());
+        }
+
+        try {
+            // ISO-8601 타임스탬프 자체에 ':'가 있으므로 마지막 구분자 뒤가 ID
+            int separator = decodedString.lastIndexOf(':');
+            if (separator > 0 && decodedString.indexOf('Z') < separator) {
+                return new Position(Instant.parse(decodedString.substring(0, separator)),
+                        Long.parseLong(decodedString.substring(separator + 1)), backward);
+            }
+            if (backward) {
+                throw new IllegalArgumentException("Backward cursor requires an id");
+            }
+            return new Position(Instant.parse(decodedString), null, false);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor format: " + cursor, e);
+        }
+    }
+
     /**
      * 현재 시점의 커서 생성 (테스트 및 기본값 용도)
      * 
@@ -105,13 +166,14 @@ public class CursorUtil {
         
         try {
             String decodedString = new String(Base64.getDecoder().decode(cursor));
-            String[] parts = decodedString.split(":");
-            if (parts.length != 2) {
+            // ISO-8601 타임스탬프 자체에 ':'가 있으므로 마지막 구분자로 나눔
+            int separator = decodedString.lastIndexOf(':');
+            if (separator <= 0) {
                 throw new IllegalArgumentException("Invalid composite cursor format");
             }
             
-            Instant timestamp = Instant.parse(parts[0]);
-            Long id = Long.parseLong(parts[1]);
+            Instant timestamp = Instant.parse(decodedString.substring(0, separator));
+            Long id = Long.parseLong(decodedString.substring(separator + 1));
             return new Object[]{timestamp, id};
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid composite cursor format: " + cursor, e);
@@ -0,0 +1,10 @@
+-- Outbox redelivery is at-least-once; make claim inserts idempotent per (post, user)
+
+-- Remove duplicates left by the old per-claim async inserts, keeping the earliest row
+DELETE FROM claim a
+    USING claim b
+WHERE a.post_id = b.post_id
+  AND a.user_id = b.user_id
+  AND a.id > b.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_claim_post_user ON claim (post_id, user_id);
@@ -0,0 +1,2 @@
+-- Hot-post mode: number of Redis token shards the quota is split across (1 = single key)
+ALTER TABLE post ADD COLUMN IF NOT EXISTS claim_shards SMALLINT NOT NULL DEFAULT 1;
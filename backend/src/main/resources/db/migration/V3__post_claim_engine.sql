@@ -0,0 +1,2 @@
+-- Claim engine selectable per post: LUA (set + counter) or TOKEN_LIST (pre-generated token list)
+ALTER TABLE post ADD COLUMN IF NOT EXISTS claim_engine VARCHAR(16) NOT NULL DEFAULT 'LUA';
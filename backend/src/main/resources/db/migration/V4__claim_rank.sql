@@ -0,0 +1,14 @@
+-- FCFS order assigned by Redis: per-post winner rank and the Redis server time the claim was accepted
+ALTER TABLE claim ADD COLUMN IF NOT EXISTS rank BIGINT;
+ALTER TABLE claim ADD COLUMN IF NOT EXISTS accepted_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- Existing rows: best effort order from the insert time
+UPDATE claim c
+SET rank = ordered.rn,
+    accepted_at = c.created_at
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY post_id ORDER BY created_at, id) AS rn FROM claim) ordered
+WHERE c.id = ordered.id
+  AND c.rank IS NULL;
+
+-- Admin claim lists are served in rank order straight from the index
+CREATE INDEX IF NOT EXISTS ix_claim_post_rank ON claim (post_id, rank);
@@ -0,0 +1,6 @@
+-- Keyset (created_at, id) cursor pagination: each feed reads its partial index in order and stops at LIMIT
+-- Public feed (anonymous and logged-in)
+CREATE INDEX IF NOT EXISTS ix_post_public_keyset ON post (created_at DESC, id DESC) WHERE visibility = 'PUBLIC';
+
+-- Owner's own non-public posts, merged with the public feed for logged-in users
+CREATE INDEX IF NOT EXISTS ix_post_owner_hidden_keyset ON post (owner_id, created_at DESC, id DESC) WHERE visibility <> 'PUBLIC';
@@ -0,0 +1,6 @@
+-- Keyset pagination on /api/posts sorted by id (either direction scans the same index)
+-- Public posts
+CREATE INDEX IF NOT EXISTS ix_post_public_id ON post (id) WHERE visibility = 'PUBLIC';
+
+-- Owner's own non-public posts, merged with the public list for logged-in users
+CREATE INDEX IF NOT EXISTS ix_post_owner_hidden_id ON post (owner_id, id) WHERE visibility <> 'PUBLIC';
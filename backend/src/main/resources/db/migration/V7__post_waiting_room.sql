@@ -0,0 +1,2 @@
+-- Opt-in waiting room per post: claims require an admitted queue ticket
+ALTER TABLE post ADD COLUMN IF NOT EXISTS waiting_room BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,3 @@
+-- Lifecycle reconcile sweep: bulk SCHEDULED -> OPEN and * -> CLOSED by time without scanning closed posts
+CREATE INDEX IF NOT EXISTS ix_post_scheduled_open_at ON post (open_at) WHERE state = 'SCHEDULED';
+CREATE INDEX IF NOT EXISTS ix_post_active_close_at ON post (close_at) WHERE state <> 'CLOSED';
@@ -1,10 +1,16 @@
 -- KEYS[1] = "post:{post_id}:claimants" (set key)
 -- KEYS[2] = "post:{post_id}:claims_count" (counter key)
+-- KEYS[3] = "post:{post_id}:seq" (arrival sequence, never decremented)
+-- KEYS[4] = "post:{post_id}:outbox" (stream key, optional)
 -- ARGV[1] = user_id
 -- ARGV[2] = quota
+-- ARGV[3] = user email (outbox notification, optional)
+-- Returns 'SUCCESS:<rank>:<redis time in epoch micros>' for winners, a plain status otherwise
 
 local setKey = KEYS[1]
 local cntKey = KEYS[2]
+local seqKey = KEYS[3]
+local outKey = KEYS[4]
 local uid    = ARGV[1]
 local quota  = tonumber(ARGV[2])
 
@@ -26,4 +32,22 @@ end
 redis.call('EXPIRE', setKey, 2592000)
 redis.call('EXPIRE', cntKey, 2592000)
 
-return 'SUCCESS'
+-- Rank = server-side arrival order among winners (declaims leave gaps, never reuse a rank)
+if redis.call('EXISTS', seqKey) == 0 then
+  -- Seed from the current winners (this one included) so ranks continue after earlier claims
+  redis.call('SET', seqKey, redis.call('SCARD', setKey) - 1)
+end
+local rank = redis.call('INCR', seqKey)
+redis.call('EXPIRE', seqKey, 2592000)
+local now = redis.call('TIME')
+local acceptedAt = now[1] .. string.format('%06d', now[2])
+
+-- Durable outbox: the winner is appended in the same atomic script,
+-- so a crash after SUCCESS can never lose the claim before PostgreSQL sees it
+if outKey then
+  redis.call('XADD', outKey, '*', 'op', 'CLAIM', 'user', uid, 'email', ARGV[3] or '',
+             'rank', rank, 'at', acceptedAt)
+  redis.call('EXPIRE', outKey, 2592000)
+end
+
+return 'SUCCESS:' .. rank .. ':' .. acceptedAt
@@ -1,4 +1,5 @@
--- KEYS[1] = post_id
+-- KEYS[1] = "post:{post_id}:claimants" (set key)
+-- KEYS[2] = "post:{post_id}:claims_count" (counter key)
 -- ARGV[1] = user_id
 -- ARGV[2] = quota
 
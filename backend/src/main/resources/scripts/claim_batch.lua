@@ -0,0 +1,62 @@
+-- Micro-batched claim.lua: 같은 게시물에 대한 여러 클레임을 한 번의 왕복으로 판정
+-- KEYS[1] = "post:{post_id}:claimants" (set key)
+-- KEYS[2] = "post:{post_id}:claims_count" (counter key)
+-- KEYS[3] = "post:{post_id}:seq" (arrival sequence)
+-- KEYS[4] = "post:{post_id}:outbox" (stream key, optional)
+-- ARGV[1] = quota
+-- ARGV[2..] = user_id, email 쌍 (도착 순서)
+-- 반환: 요청 순서대로 claim.lua와 같은 결과 문자열 배열
+
+local setKey = KEYS[1]
+local cntKey = KEYS[2]
+local seqKey = KEYS[3]
+local outKey = KEYS[4]
+local quota  = tonumber(ARGV[1])
+
+local cnt = tonumber(redis.call('GET', cntKey) or '0')
+local results = {}
+local won = false
+local now = redis.call('TIME')
+local acceptedAt = now[1] .. string.format('%06d', now[2])
+
+-- 배치 안에서도 도착 순서대로 판정 (먼저 온 요청이 먼저 자리를 차지)
+for i = 2, #ARGV, 2 do
+  local uid = ARGV[i]
+
+  if cnt >= quota then
+    -- 매진 이후에는 쓰기 없이 판정 (claim.lua의 SADD 후 롤백과 같은 결과)
+    if redis.call('SISMEMBER', setKey, uid) == 1 then
+      results[#results + 1] = 'ALREADY_CLAIMED'
+    else
+      results[#results + 1] = 'QUOTA_EXCEEDED'
+    end
+  elseif redis.call('SADD', setKey, uid) == 0 then
+    results[#results + 1] = 'ALREADY_CLAIMED'
+  else
+    cnt = redis.call('INCR', cntKey)
+    if not won and redis.call('EXISTS', seqKey) == 0 then
+      -- 기존 당첨자(이번 당첨자 포함) 수부터 이어서 순번 부여
+      redis.call('SET', seqKey, redis.call('SCARD', setKey) - 1)
+    end
+    -- 같은 배치의 당첨자는 같은 수락 시각을 갖고 rank로 순서가 구분된다
+    local rank = redis.call('INCR', seqKey)
+    won = true
+    if outKey then
+      redis.call('XADD', outKey, '*', 'op', 'CLAIM', 'user', uid, 'email', ARGV[i + 1] or '',
+                 'rank', rank, 'at', acceptedAt)
+    end
+    results[#results + 1] = 'SUCCESS:' .. rank .. ':' .. acceptedAt
+  end
+end
+
+if won then
+  -- Set 30-day expiry for memory management (2592000 seconds = 30 days)
+  redis.call('EXPIRE', setKey, 2592000)
+  redis.call('EXPIRE', cntKey, 2592000)
+  redis.call('EXPIRE', seqKey, 2592000)
+  if outKey then
+    redis.call('EXPIRE', outKey, 2592000)
+  end
+end
+
+return results
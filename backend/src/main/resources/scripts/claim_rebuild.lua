@@ -0,0 +1,32 @@
+-- PostgreSQL 당첨자 목록으로 만료된 클레임 캐시를 한 번에 재구성
+-- KEYS[1] = "post:{post_id}:claimants" (set key)
+-- KEYS[2] = "post:{post_id}:claims_count" (counter key)
+-- KEYS[3] = "post:{post_id}:seq" (arrival sequence)
+-- ARGV[1] = 지금까지 부여된 최대 rank (시퀀스 하한)
+-- ARGV[2..] = 당첨자 user_id
+-- 반환: 재구성 후 당첨자 수
+
+local setKey = KEYS[1]
+local cntKey = KEYS[2]
+local seqKey = KEYS[3]
+local maxRank = tonumber(ARGV[1])
+
+-- 재구성 중 들어온 클레임을 지우지 않도록 DEL 없이 합집합으로 추가 (unpack 한도 때문에 1000개씩)
+for i = 2, #ARGV, 1000 do
+  redis.call('SADD', setKey, unpack(ARGV, i, math.min(i + 999, #ARGV)))
+end
+
+local cnt = redis.call('SCARD', setKey)
+redis.call('SET', cntKey, cnt)
+
+-- 이후 당첨자가 DB에 남은 순번보다 앞 순번을 받지 않도록 시퀀스를 끌어올림
+local seq = tonumber(redis.call('GET', seqKey) or '0')
+if seq < maxRank then
+  redis.call('SET', seqKey, maxRank)
+end
+
+redis.call('EXPIRE', setKey, 2592000)
+redis.call('EXPIRE', cntKey, 2592000)
+redis.call('EXPIRE', seqKey, 2592000)
+
+return cnt
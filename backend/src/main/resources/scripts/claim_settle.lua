@@ -0,0 +1,36 @@
+-- Hot-post mode: finish a spilled claim on the user's home shard
+-- KEYS[1] = "post:{post_id:shard}:claimants" (home shard set key)
+-- KEYS[2] = "post:{post_id:shard}:spilled" (home shard hash: user_id -> sibling shard)
+-- KEYS[3] = "post:{post_id:shard}:outbox" (home shard stream key, optional)
+-- ARGV[1] = user_id
+-- ARGV[2] = sibling shard the token was taken from, or -1 if every shard was dry
+-- ARGV[3] = user email (outbox notification, optional)
+-- Returns 'SUCCESS::<redis time in epoch micros>' like claim_sharded.lua, or 'QUOTA_EXCEEDED'
+
+local setKey   = KEYS[1]
+local spillKey = KEYS[2]
+local outKey   = KEYS[3]
+local uid      = ARGV[1]
+local from     = tonumber(ARGV[2])
+
+if from < 0 then
+  -- Release the reservation
+  redis.call('SREM', setKey, uid)
+  redis.call('HDEL', spillKey, uid)
+  return 'QUOTA_EXCEEDED'
+end
+
+-- Remember where the token came from so a declaim returns it to the same shard
+redis.call('HSET', spillKey, uid, from)
+redis.call('EXPIRE', spillKey, 2592000)
+
+local now = redis.call('TIME')
+local acceptedAt = now[1] .. string.format('%06d', now[2])
+
+-- The claim is recorded on the home stream so its declaim is always applied after it
+if outKey then
+  redis.call('XADD', outKey, '*', 'op', 'CLAIM', 'user', uid, 'email', ARGV[3] or '', 'at', acceptedAt)
+  redis.call('EXPIRE', outKey, 2592000)
+end
+
+return 'SUCCESS::' .. acceptedAt
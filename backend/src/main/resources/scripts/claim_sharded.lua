@@ -0,0 +1,47 @@
+-- Hot-post mode: runs on the user's home shard
+-- KEYS[1] = "post:{post_id:shard}:claimants" (home shard set key)
+-- KEYS[2] = "post:{post_id:shard}:tokens" (home shard token counter)
+-- KEYS[3] = "post:{post_id:shard}:spilled" (home shard hash: user_id -> sibling shard)
+-- KEYS[4] = "post:{post_id:shard}:outbox" (home shard stream key, optional)
+-- ARGV[1] = user_id
+-- ARGV[2] = user email (outbox notification, optional)
+-- Returns 'SUCCESS::<redis time in epoch micros>' for winners (no global rank across shards),
+-- a plain status otherwise
+
+local setKey = KEYS[1]
+local tokKey = KEYS[2]
+local spillKey = KEYS[3]
+local outKey = KEYS[4]
+local uid    = ARGV[1]
+
+-- The token counter doubles as the shard's ready marker: a missing key (never primed,
+-- expired or flushed) makes the caller initialize the shards and retry
+if redis.call('EXISTS', tokKey) == 0 then
+  return 'NOT_READY'
+end
+
+-- A user always maps to the same home shard, so this set alone prevents double claims
+if redis.call('SADD', setKey, uid) == 0 then
+  return 'ALREADY_CLAIMED'
+end
+redis.call('EXPIRE', setKey, 2592000)
+redis.call('EXPIRE', tokKey, 2592000)
+
+local tokens = tonumber(redis.call('GET', tokKey) or '0')
+if tokens > 0 then
+  redis.call('DECR', tokKey)
+  local now = redis.call('TIME')
+  local acceptedAt = now[1] .. string.format('%06d', now[2])
+  if outKey then
+    redis.call('XADD', outKey, '*', 'op', 'CLAIM', 'user', uid, 'email', ARGV[2] or '', 'at', acceptedAt)
+    redis.call('EXPIRE', outKey, 2592000)
+  end
+  return 'SUCCESS::' .. acceptedAt
+end
+
+-- Home shard is dry: the user stays reserved here while the caller
+-- takes a token from a sibling shard and then settles with claim_settle.lua.
+-- The marker keeps a concurrent declaim from returning a token that was never taken.
+redis.call('HSET', spillKey, uid, 'pending')
+redis.call('EXPIRE', spillKey, 2592000)
+return 'SPILL'
@@ -0,0 +1,9 @@
+-- Hot-post mode: take one token from a sibling shard
+-- KEYS[1] = "post:{post_id:shard}:tokens" (sibling shard token counter)
+
+local tokens = tonumber(redis.call('GET', KEYS[1]) or '0')
+if tokens > 0 then
+  redis.call('DECR', KEYS[1])
+  return 'TAKEN'
+end
+return 'EMPTY'
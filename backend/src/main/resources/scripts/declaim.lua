@@ -1,11 +1,15 @@
--- KEYS[1]: post_id
--- ARGV[1]: user_id
+-- KEYS[1] = "post:{post_id}:claimants" (set key)
+-- KEYS[2] = "post:{post_id}:claims_count" (counter key)
+-- KEYS[3] = "post:{post_id}:outbox" (stream key, optional)
+-- ARGV[1] = user_id
+--
+-- Every key is declared and shares the {post_id} hash tag, so the script
+-- is routed to the slot owner and stays valid on Redis Cluster.
 
-local postId = KEYS[1]
-local userId = ARGV[1]
-
-local claimantsKey = "post:{" .. postId .. "}:claimants"
-local claimsCountKey = "post:{" .. postId .. "}:claims_count"
+local claimantsKey   = KEYS[1]
+local claimsCountKey = KEYS[2]
+local outKey         = KEYS[3]
+local userId         = ARGV[1]
 
 -- Check if user has already claimed
 if redis.call('SISMEMBER', claimantsKey, userId) == 0 then
@@ -15,4 +19,9 @@ end
 redis.call('SREM', claimantsKey, userId)
 redis.call('DECR', claimsCountKey)
 
+-- Same stream as the claim, so the DELETE is always applied after its INSERT
+if outKey then
+  redis.call('XADD', outKey, '*', 'op', 'DECLAIM', 'user', userId)
+end
+
 return 'SUCCESS'
@@ -0,0 +1,37 @@
+-- Hot-post mode: runs on the user's home shard
+-- KEYS[1] = "post:{post_id:shard}:claimants" (home shard set key)
+-- KEYS[2] = "post:{post_id:shard}:tokens" (home shard token counter)
+-- KEYS[3] = "post:{post_id:shard}:spilled" (home shard spill hash)
+-- KEYS[4] = "post:{post_id:shard}:outbox" (home shard stream key, optional)
+-- ARGV[1] = user_id
+
+local setKey   = KEYS[1]
+local tokKey   = KEYS[2]
+local spillKey = KEYS[3]
+local outKey   = KEYS[4]
+local userId   = ARGV[1]
+
+local from = redis.call('HGET', spillKey, userId)
+
+-- A reservation still waiting for a sibling token is not a claim yet
+if from == 'pending' or redis.call('SREM', setKey, userId) == 0 then
+  return 'NOT_CLAIMED'
+end
+
+if outKey then
+  redis.call('XADD', outKey, '*', 'op', 'DECLAIM', 'user', userId)
+end
+
+if from then
+  redis.call('HDEL', spillKey, userId)
+end
+
+-- Tokens are interchangeable, so a token spilled from a sibling shard is returned to
+-- the home shard here: the sibling lives in another hash slot and a second call could
+-- be lost on a crash. A missing counter is not recreated (it would be 1 with no TTL);
+-- the next claim then re-primes the shards from the claimant count.
+if redis.call('EXISTS', tokKey) == 1 then
+  redis.call('INCR', tokKey)
+  redis.call('EXPIRE', tokKey, 2592000)
+end
+return 'SUCCESS'
@@ -0,0 +1,50 @@
+-- 공개 피드 한 페이지: ZSET에서 게시물을 고르고 같은 호출에서 DTO 조각(HASH)까지 읽음
+-- KEYS[1] = "feed:{public}" (zset, score = created_at epoch micros, member = 19자리 0-padded post_id)
+-- KEYS[2] = "feed:{public}:posts" (hash, member → 직렬화된 조각)
+-- KEYS[3] = "feed:{public}:ready" (COMPLETE: 모든 공개 게시물 포함 / TRUNCATED: 최신 N개만 포함)
+-- ARGV[1] = 최대 score ('+inf' 첫 페이지, '(micros' 해당 시각 미만, 'micros' 복합 커서)
+-- ARGV[2] = 복합 커서의 member (ARGV[1]과 같은 score에서는 이보다 작은 member만), 없으면 ''
+-- ARGV[3] = limit
+-- 반환: {상태, member1, 조각1, member2, 조각2, ...} (준비 전이면 {'MISSING'}, 조각이 없으면 false)
+
+local state = redis.call('GET', KEYS[3])
+if not state then
+  return {'MISSING'}
+end
+
+local limit = tonumber(ARGV[3])
+local tieScore = nil
+if ARGV[2] ~= '' then
+  tieScore = tonumber(ARGV[1])
+end
+
+local members = {}
+local offset = 0
+while #members < limit do
+  local batch = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[1], '-inf', 'WITHSCORES', 'LIMIT', offset, limit)
+  if #batch == 0 then
+    break
+  end
+  for i = 1, #batch, 2 do
+    -- 같은 score 안에서는 member 역순으로 오므로 커서 member 이상은 건너뜀
+    if tieScore == nil or tonumber(batch[i + 1]) < tieScore or batch[i] < ARGV[2] then
+      members[#members + 1] = batch[i]
+      if #members == limit then
+        break
+      end
+    end
+  end
+  offset = offset + #batch / 2
+end
+
+local result = {state}
+if #members == 0 then
+  return result
+end
+
+local fragments = redis.call('HMGET', KEYS[2], unpack(members))
+for i = 1, #members do
+  result[#result + 1] = members[i]
+  result[#result + 1] = fragments[i]
+end
+return result
@@ -0,0 +1,18 @@
+-- PostgreSQL 최신 공개 게시물로 피드 전체를 다시 작성
+-- KEYS[1] = "feed:{public}" (zset), KEYS[2] = "feed:{public}:posts" (hash), KEYS[3] = "feed:{public}:ready"
+-- ARGV[1] = 상태 (COMPLETE / TRUNCATED), ARGV[2] = ready TTL(초)
+-- ARGV[3..] = member, score, 조각 반복
+-- 반환: 기록한 게시물 수
+
+redis.call('DEL', KEYS[1], KEYS[2])
+
+local count = 0
+for i = 3, #ARGV, 3 do
+  redis.call('ZADD', KEYS[1], ARGV[i + 1], ARGV[i])
+  redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+  count = count + 1
+end
+
+-- ready가 만료되면 다음 조회가 다시 작성 (무효화 유실에 대한 상한)
+redis.call('SET', KEYS[3], ARGV[1], 'EX', ARGV[2])
+return count
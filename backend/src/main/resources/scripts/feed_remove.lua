@@ -0,0 +1,6 @@
+-- 공개 피드에서 게시물 제거 (삭제 또는 비공개 전환)
+-- KEYS[1] = "feed:{public}" (zset), KEYS[2] = "feed:{public}:posts" (hash)
+-- ARGV[1] = member (19자리 0-padded post_id)
+
+redis.call('ZREM', KEYS[1], ARGV[1])
+return redis.call('HDEL', KEYS[2], ARGV[1])
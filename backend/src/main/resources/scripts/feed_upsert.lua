@@ -0,0 +1,22 @@
+-- 공개 피드에 게시물 추가/갱신 후 최신 N개로 유지
+-- KEYS[1] = "feed:{public}" (zset), KEYS[2] = "feed:{public}:posts" (hash), KEYS[3] = "feed:{public}:ready"
+-- ARGV[1] = member (19자리 0-padded post_id), ARGV[2] = score (created_at epoch micros)
+-- ARGV[3] = 직렬화된 조각, ARGV[4] = 최대 게시물 수
+-- 반환: 잘려나간 게시물 수
+
+redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+
+local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[4])
+if overflow <= 0 then
+  return 0
+end
+
+-- 가장 오래된 게시물부터 제거하고, 이후 페이지는 DB로 조회하도록 표시
+local oldest = redis.call('ZRANGE', KEYS[1], 0, overflow - 1)
+redis.call('ZREM', KEYS[1], unpack(oldest))
+redis.call('HDEL', KEYS[2], unpack(oldest))
+if redis.call('EXISTS', KEYS[3]) == 1 then
+  redis.call('SET', KEYS[3], 'TRUNCATED', 'KEEPTTL')
+end
+return #oldest
@@ -0,0 +1,13 @@
+-- 실행 시각이 된 게시물 상태 전환 항목을 꺼낸다 (ZREM까지 원자적 - 여러 노드 중 한 노드만 처리)
+-- KEYS[1] = "post:lifecycle" (zset: member = "prime:" | "open:" | "close:" + postId, score = 실행 시각 epoch ms)
+-- ARGV[1] = 최대 개수
+-- 반환: 꺼낸 항목 목록
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, tonumber(ARGV[1]))
+if #due > 0 then
+  redis.call('ZREM', KEYS[1], unpack(due))
+end
+return due
@@ -0,0 +1,33 @@
+-- 대기열 입장 커서 전진: 오픈 시각에 initialBurst, 이후 초당 admitRate개 (발급된 순번까지만)
+-- 커서는 마지막 갱신 이후 경과 시간만큼만 전진하므로 여러 노드가 동시에 호출해도 중복 입장이 없다.
+-- KEYS[1] = "queue:{postId}:seq", KEYS[2] = "queue:{postId}:admission" (hash: admitted, ts)
+-- ARGV[1] = openAt (epoch ms), ARGV[2] = admitRate (초당), ARGV[3] = initialBurst, ARGV[4] = TTL (초)
+-- 반환: 입장 허가된 마지막 순번
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local openAt = tonumber(ARGV[1])
+
+local state = redis.call('HMGET', KEYS[2], 'admitted', 'ts')
+local admitted = tonumber(state[1])
+local ts = tonumber(state[2])
+
+if now < openAt then
+  return math.floor(admitted or 0)
+end
+
+if admitted == nil or ts == nil then
+  admitted = tonumber(ARGV[3])
+  ts = openAt
+end
+admitted = admitted + (now - ts) * tonumber(ARGV[2]) / 1000
+
+-- 대기자가 없는 동안 허가가 쌓여 나중에 한꺼번에 입장하지 않도록 발급된 순번에서 멈춘다
+local issued = tonumber(redis.call('GET', KEYS[1]) or '0')
+if admitted > issued then
+  admitted = issued
+end
+
+redis.call('HSET', KEYS[2], 'admitted', tostring(admitted), 'ts', now)
+redis.call('EXPIRE', KEYS[2], ARGV[4])
+return math.floor(admitted)
@@ -0,0 +1,15 @@
+-- 대기열 입장 순번 발급 (같은 사용자는 같은 순번, 멱등)
+-- KEYS[1] = "queue:{postId}" (zset: member=userId, score=순번), KEYS[2] = "queue:{postId}:seq"
+-- ARGV[1] = userId, ARGV[2] = TTL (초)
+-- 반환: 순번 (1부터)
+
+local existing = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if existing then
+  return tonumber(existing)
+end
+
+local seq = redis.call('INCR', KEYS[2])
+redis.call('ZADD', KEYS[1], seq, ARGV[1])
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+redis.call('EXPIRE', KEYS[2], ARGV[2])
+return seq
@@ -0,0 +1,38 @@
+-- 클러스터 공용 토큰 버킷 (연속 refill), 노드의 로컬 tier가 토큰을 묶음으로 가져간다
+-- KEYS[1] = "ratelimit:{endpoint}:{key}" (hash: tokens, ts)
+-- ARGV[1] = capacity, ARGV[2] = capacity만큼 채워지는 시간 (ms), ARGV[3] = 가져갈 토큰 수
+-- 반환: { 받은 토큰 수, 다음 토큰까지 남은 ms (받은 토큰이 0일 때) }
+
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+-- 노드 간 시계 차이가 없도록 Redis 시간을 기준으로 한다
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+
+local rate = capacity / period
+if now > ts then
+  tokens = math.min(capacity, tokens + (now - ts) * rate)
+end
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+local retryAfter = 0
+if granted == 0 then
+  retryAfter = math.ceil((1 - tokens) / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- 가득 찬 버킷은 키가 없는 것과 같으므로 다 채워지는 시점에 만료
+redis.call('PEXPIRE', KEYS[1], math.max(1, math.ceil((capacity - tokens) / rate)))
+return { granted, retryAfter }
@@ -0,0 +1,69 @@
+-- KEYS[1] = "post:{post_id}:claimants" (per-user dedupe set)
+-- KEYS[2] = "post:{post_id}:tokens" (pre-generated token list)
+-- KEYS[3] = "post:{post_id}:tokens_ready" (set once the list has been generated)
+-- KEYS[4] = "post:{post_id}:seq" (arrival sequence, never decremented)
+-- KEYS[5] = "post:{post_id}:outbox" (stream key, optional)
+-- ARGV[1] = user_id
+-- ARGV[2] = quota
+-- ARGV[3] = user email (outbox notification, optional)
+-- Returns 'SUCCESS:<rank>:<redis time in epoch micros>' for winners, a plain status otherwise
+
+local setKey   = KEYS[1]
+local listKey  = KEYS[2]
+local readyKey = KEYS[3]
+local seqKey   = KEYS[4]
+local outKey   = KEYS[5]
+local uid      = ARGV[1]
+
+if redis.call('SISMEMBER', setKey, uid) == 1 then
+  return 'ALREADY_CLAIMED'
+end
+
+local token = redis.call('LPOP', listKey)
+if not token then
+  -- Sold out: losers only ever read from here on
+  if redis.call('EXISTS', readyKey) == 1 then
+    return 'QUOTA_EXCEEDED'
+  end
+
+  -- Fallback only: the list is generated by token_prime.lua ahead of openAt. This path
+  -- runs when it was never primed or the list expired/was flushed before the drop.
+  local remaining = tonumber(ARGV[2]) - redis.call('SCARD', setKey)
+  local i = 1
+  while i <= remaining do
+    local chunk = {}
+    for j = i, math.min(i + 999, remaining) do
+      chunk[#chunk + 1] = j
+    end
+    redis.call('RPUSH', listKey, unpack(chunk))
+    i = i + 1000
+  end
+  redis.call('SET', readyKey, remaining, 'EX', 2592000)
+
+  token = redis.call('LPOP', listKey)
+  if not token then
+    return 'QUOTA_EXCEEDED'
+  end
+end
+
+redis.call('SADD', setKey, uid)
+redis.call('EXPIRE', setKey, 2592000)
+redis.call('EXPIRE', listKey, 2592000)
+
+-- Token values are reused after declaims, so the rank comes from a separate sequence
+if redis.call('EXISTS', seqKey) == 0 then
+  -- Seed from the current winners (this one included) so ranks continue after earlier claims
+  redis.call('SET', seqKey, redis.call('SCARD', setKey) - 1)
+end
+local rank = redis.call('INCR', seqKey)
+redis.call('EXPIRE', seqKey, 2592000)
+local now = redis.call('TIME')
+local acceptedAt = now[1] .. string.format('%06d', now[2])
+
+if outKey then
+  redis.call('XADD', outKey, '*', 'op', 'CLAIM', 'user', uid, 'email', ARGV[3] or '',
+             'rank', rank, 'at', acceptedAt)
+  redis.call('EXPIRE', outKey, 2592000)
+end
+
+return 'SUCCESS:' .. rank .. ':' .. acceptedAt
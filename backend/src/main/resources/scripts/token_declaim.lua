@@ -0,0 +1,22 @@
+-- KEYS[1] = "post:{post_id}:claimants" (per-user dedupe set)
+-- KEYS[2] = "post:{post_id}:tokens" (pre-generated token list)
+-- KEYS[3] = "post:{post_id}:outbox" (stream key, optional)
+-- ARGV[1] = user_id
+
+local setKey  = KEYS[1]
+local listKey = KEYS[2]
+local outKey  = KEYS[3]
+local userId  = ARGV[1]
+
+if redis.call('SREM', setKey, userId) == 0 then
+  return 'NOT_CLAIMED'
+end
+
+-- Hand the seat back to the next claimer
+redis.call('RPUSH', listKey, 'r')
+
+if outKey then
+  redis.call('XADD', outKey, '*', 'op', 'DECLAIM', 'user', userId)
+end
+
+return 'SUCCESS'
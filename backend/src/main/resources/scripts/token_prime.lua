@@ -0,0 +1,35 @@
+-- Generates the token list ahead of the drop so claims only ever LPOP
+-- KEYS[1] = "post:{post_id}:claimants" (per-user dedupe set)
+-- KEYS[2] = "post:{post_id}:tokens" (pre-generated token list)
+-- KEYS[3] = "post:{post_id}:tokens_ready" (set once the list has been generated)
+-- ARGV[1] = quota
+-- Returns 'PRIMED:<tokens pushed>', or 'READY' if the list was already generated
+
+local setKey   = KEYS[1]
+local listKey  = KEYS[2]
+local readyKey = KEYS[3]
+
+if redis.call('EXISTS', readyKey) == 1 then
+  return 'READY'
+end
+
+-- Quota minus already restored claimants, so a re-prime never hands out a seat twice
+redis.call('DEL', listKey)
+local remaining = tonumber(ARGV[1]) - redis.call('SCARD', setKey)
+local i = 1
+while i <= remaining do
+  local chunk = {}
+  for j = i, math.min(i + 999, remaining) do
+    chunk[#chunk + 1] = j
+  end
+  redis.call('RPUSH', listKey, unpack(chunk))
+  i = i + 1000
+end
+if remaining > 0 then
+  redis.call('EXPIRE', listKey, 2592000)
+end
+if remaining < 0 then
+  remaining = 0
+end
+redis.call('SET', readyKey, remaining, 'EX', 2592000)
+return 'PRIMED:' .. remaining
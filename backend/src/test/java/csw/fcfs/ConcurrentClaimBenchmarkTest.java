@@ -13,6 +13,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,8 +25,10 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import csw.fcfs.claim.ClaimEngineType;
 import csw.fcfs.claim.ClaimRepository;
 import csw.fcfs.claim.ClaimService;
+import csw.fcfs.claim.TokenListClaimEngine;
 import csw.fcfs.notification.EmailService;
 import csw.fcfs.post.Post;
 import csw.fcfs.post.PostState;
@@ -46,6 +49,7 @@ public class ConcurrentClaimBenchmarkTest {
     private final List<UserAccount> testUsers = new ArrayList<>();
     private final List<Long> testPostIds = new ArrayList<>();
     private final String testRunId = String.valueOf(System.currentTimeMillis()); // Unique ID for this test run
+    private final AtomicInteger ownerSequence = new AtomicInteger(0);
 
     @MockitoBean
     private EmailService emailService;
@@ -93,7 +97,12 @@ public class ConcurrentClaimBenchmarkTest {
 
     @Transactional
     protected Post createTestPost(int quota) {
-        String ownerEmail = "postowner" + testRunId + "@test.com";
+        return createTestPost(quota, ClaimEngineType.LUA);
+    }
+
+    protected Post createTestPost(int quota, ClaimEngineType engine) {
+        // 한 테스트에서 여러 게시물을 만들 수 있도록 소유자 이메일에 순번 추가
+        String ownerEmail = "postowner" + testRunId + "-" + ownerSequence.incrementAndGet() + "@test.com";
 
         UserAccount owner = UserAccount.builder()
                 .email(ownerEmail)
@@ -112,6 +121,7 @@ public class ConcurrentClaimBenchmarkTest {
                 .state(PostState.OPEN)
                 .visibility(PostVisibility.PUBLIC)
                 .shareCode(UUID.randomUUID())
+                .claimEngine(engine)
                 .build();
 
         Post savedPost = postRepository.save(post);
@@ -158,7 +168,9 @@ public class ConcurrentClaimBenchmarkTest {
             try {
                 redisService.deleteKeys(
                         "post:{" + postId + "}:claimants",
-                        "post:{" + postId + "}:claims_count"
+                        "post:{" + postId + "}:claims_count",
+                        TokenListClaimEngine.tokensKey(postId),
+                        TokenListClaimEngine.readyKey(postId)
                 );
             } catch (Exception e) {
                 log.warn("Failed to clean up Redis data for post {}: {}", postId, e.getMessage());
@@ -209,6 +221,145 @@ public class ConcurrentClaimBenchmarkTest {
         runConcurrentClaimBenchmark(1000, 5, "Oversubscribed Load Test");
     }
 
+    /**
+     * Before/after: 클레임마다 JPA 조회 2회(findByIdWithOwner + findByEmail) 후 클레임하는 기존 컨트롤러 경로와
+     * 인-프로세스 claim descriptor로 해석하는 zero-DB fast path 비교
+     */
+    @Test
+    public void benchmarkClaimResolution_RepositoryLookupVsDescriptor() throws Exception {
+        int totalUsers = 2000;
+        int quota = 50;
+        List<UserAccount> users = createTestUsers(totalUsers);
+
+        // Before: 요청마다 게시물/사용자 엔티티를 DB에서 조회
+        Post beforePost = createTestPost(quota);
+        testPostIds.add(beforePost.getId());
+        long beforeStart = System.currentTimeMillis();
+        BenchmarkResult before = executeConcurrentClaims(users, beforePost, (post, user) -> {
+            Post loadedPost = postRepository.findByIdWithOwner(post.getId()).orElseThrow();
+            UserAccount loadedUser = userAccountRepository.findByEmail(user.getEmail()).orElseThrow();
+            return claimService.claimPost(loadedPost, loadedUser);
+        });
+        long beforeTime = System.currentTimeMillis() - beforeStart;
+        analyzeBenchmarkResults(before, "Before: JPA lookup per claim", quota, totalUsers, beforeTime);
+        verifyClaimCorrectness(beforePost.getId(), quota, before);
+
+        // After: claim descriptor + principal→userId 매핑 (Redis만 사용)
+        Post afterPost = createTestPost(quota);
+        testPostIds.add(afterPost.getId());
+        long afterStart = System.currentTimeMillis();
+        BenchmarkResult after = executeConcurrentClaims(users, afterPost,
+                (post, user) -> claimService.claimPost(post.getId(), user.getEmail()));
+        long afterTime = System.currentTimeMillis() - afterStart;
+        analyzeBenchmarkResults(after, "After: in-process claim descriptor", quota, totalUsers, afterTime);
+        verifyClaimCorrectness(afterPost.getId(), quota, after);
+
+        log.info("Claim resolution speedup: {}x ({}ms -> {}ms)",
+                String.format("%.2f", (double) beforeTime / Math.max(1, afterTime)), beforeTime, afterTime);
+    }
+
+    /**
+     * 클레임 엔진 비교: claim.lua(SADD+INCR, 매진 후에도 패배마다 롤백 쓰기) vs 토큰 리스트(LPOP, 매진 후 읽기만)
+     * 기존 시나리오(Small/Medium/High/Oversubscribed)를 두 엔진으로 각각 실행
+     */
+    @Test
+    public void benchmarkClaimEngines_LuaVsTokenList() throws Exception {
+        int[][] scenarios = {{50, 10}, {200, 25}, {500, 50}, {1000, 5}};
+        int maxUsers = 0;
+        for (int[] scenario : scenarios) {
+            maxUsers = Math.max(maxUsers, scenario[0]);
+        }
+        List<UserAccount> allUsers = createTestUsers(maxUsers);
+
+        for (int[] scenario : scenarios) {
+            int totalUsers = scenario[0];
+            int quota = scenario[1];
+            List<UserAccount> users = allUsers.subList(0, totalUsers);
+
+            long[] times = new long[2];
+            ClaimEngineType[] engines = {ClaimEngineType.LUA, ClaimEngineType.TOKEN_LIST};
+            for (int i = 0; i < engines.length; i++) {
+                Post post = createTestPost(quota, engines[i]);
+                testPostIds.add(post.getId());
+
+                long start = System.currentTimeMillis();
+                BenchmarkResult result = executeConcurrentClaims(users, post,
+                        (p, user) -> claimService.claimPost(p.getId(), user.getEmail()));
+                times[i] = System.currentTimeMillis() - start;
+
+                String testName = engines[i] + " engine (" + totalUsers + " users, quota " + quota + ")";
+                analyzeBenchmarkResults(result, testName, quota, totalUsers, times[i]);
+                assertThat(result.successCount()).isEqualTo(quota);
+                assertThat(redisService.getSetSize("post:{" + post.getId() + "}:claimants")).isEqualTo((long) quota);
+            }
+
+            log.info("{} users / quota {}: LUA {}ms vs TOKEN_LIST {}ms ({}x)", totalUsers, quota, times[0], times[1],
+                    String.format("%.2f", (double) times[0] / Math.max(1, times[1])));
+        }
+    }
+
+    /**
+     * 요청 스레드 점유 비교: 작은 고정 풀(서블릿 워커 역할)에서 블로킹 claimPost vs 단일 스레드에서 claimPostAsync 제출
+     * 비동기 경로는 Redis 응답을 기다리는 동안 스레드를 점유하지 않으므로 같은 스레드 수로 더 많은 클레임을 처리해야 한다.
+     */
+    @Test
+    public void benchmarkClaimPath_BlockingVsAsync() throws Exception {
+        int totalUsers = 1000;
+        int quota = 100;
+        int requestThreads = 8;
+        List<UserAccount> users = createTestUsers(totalUsers);
+
+        // 1. Blocking: 스레드당 한 번에 하나의 Redis 왕복
+        Post blockingPost = createTestPost(quota);
+        testPostIds.add(blockingPost.getId());
+        AtomicInteger blockingSuccess = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(requestThreads);
+        long blockingStart = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (UserAccount user : users) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    if ("SUCCESS".equals(claimService.claimPost(blockingPost.getId(), user.getEmail()))) {
+                        blockingSuccess.incrementAndGet();
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+        }
+        long blockingNanos = System.nanoTime() - blockingStart;
+
+        // 2. Async: 한 스레드가 모든 요청을 제출하고 응답은 Lettuce 이벤트 루프에서 완료
+        Post asyncPost = createTestPost(quota);
+        testPostIds.add(asyncPost.getId());
+        AtomicInteger asyncSuccess = new AtomicInteger();
+        long asyncStart = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (UserAccount user : users) {
+            futures.add(claimService.claimPostAsync(asyncPost.getId(), user.getEmail())
+                    .whenComplete((result, e) -> {
+                        if ("SUCCESS".equals(result)) {
+                            asyncSuccess.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long asyncNanos = System.nanoTime() - asyncStart;
+
+        assertThat(blockingSuccess.get()).isEqualTo(quota);
+        assertThat(asyncSuccess.get()).isEqualTo(quota);
+        assertThat(redisService.getSetSize("post:{" + asyncPost.getId() + "}:claimants")).isEqualTo((long) quota);
+
+        double blockingThroughput = totalUsers / (blockingNanos / 1_000_000_000.0);
+        double asyncThroughput = totalUsers / (asyncNanos / 1_000_000_000.0);
+        log.info("Blocking ({} threads): {}ms, {} claims/second", requestThreads,
+                blockingNanos / 1_000_000, String.format("%.2f", blockingThroughput));
+        log.info("Async (1 submitter): {}ms, {} claims/second ({}x)",
+                asyncNanos / 1_000_000, String.format("%.2f", asyncThroughput),
+                String.format("%.2f", asyncThroughput / blockingThroughput));
+    }
+
     private void runConcurrentClaimBenchmark(int totalUsers, int quota, String testName) throws Exception {
         log.info("=== Starting {} ===", testName);
         log.info("Total Users: {}, Quota: {}", totalUsers, quota);
@@ -249,6 +400,13 @@ public class ConcurrentClaimBenchmarkTest {
     }
 
     private BenchmarkResult executeConcurrentClaims(List<UserAccount> users, Post testPost) {
+        // Use optimized method with pre-loaded entities
+        // This bypasses cache service and eliminates DB calls
+        return executeConcurrentClaims(users, testPost, claimService::claimPost);
+    }
+
+    private BenchmarkResult executeConcurrentClaims(List<UserAccount> users, Post testPost,
+                                                    BiFunction<Post, UserAccount, String> claimCall) {
         AtomicInteger successCount = new AtomicInteger(0);
         AtomicInteger failureCount = new AtomicInteger(0);
         AtomicInteger alreadyClaimedCount = new AtomicInteger(0);
@@ -279,9 +437,7 @@ public class ConcurrentClaimBenchmarkTest {
                 .map(user -> CompletableFuture.runAsync(() -> {
                     long startTime = System.nanoTime();
                     try {
-                        // Use optimized method with pre-loaded entities
-                        // This bypasses cache service and eliminates DB calls
-                        String result = claimService.claimPost(testPost, user);
+                        String result = claimCall.apply(testPost, user);
 
                         long endTime = System.nanoTime();
                         long responseTime = (endTime - startTime) / 1_000_000;
@@ -317,7 +473,7 @@ public class ConcurrentClaimBenchmarkTest {
                 .toList();
 
         // Wait for all claims to complete
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
 
         return new BenchmarkResult(
                 successCount.get(),
@@ -2,9 +2,11 @@ package csw.fcfs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.Instant;
@@ -26,6 +28,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import csw.fcfs.config.ratelimit.RateLimitService;
 import csw.fcfs.post.PostVisibility;
 import csw.fcfs.post.dto.PostDto;
 import csw.fcfs.post.repository.PostRepository;
@@ -54,6 +57,9 @@ public class FullFlowTests {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     // Track test-specific data for cleanup
     private List<UserAccount> testUsers = new ArrayList<>();
     private List<Long> testPostIds = new ArrayList<>();
@@ -63,6 +69,8 @@ public class FullFlowTests {
         // Clear test data trackers
         testUsers.clear();
         testPostIds.clear();
+        // MockMvc 요청은 모두 같은 IP 버킷을 쓰므로 다른 테스트의 소비량을 지운다
+        rateLimitService.reset("claims", "ip:127.0.0.1");
 
         // Create only the test users needed for this test
         UserAccount testUser = UserAccount.builder()
@@ -153,8 +161,11 @@ public class FullFlowTests {
                 .andExpect(jsonPath("$.title").value("Updated Title"));
 
         // 3. Another user claims the post
-        mvc.perform(post("/api/claims/" + postId)
+        MvcResult claimer1Claim = mvc.perform(post("/api/claims/" + postId)
                         .with(user("claimer1@test.com")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(claimer1Claim))
                 .andExpect(status().isOk())
                 .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo("SUCCESS"));
 
@@ -176,8 +187,11 @@ public class FullFlowTests {
                 .build();
         testUsers.add(userAccountRepository.save(claimer2));
 
-        mvc.perform(post("/api/claims/" + postId)
+        MvcResult claimer2Claim = mvc.perform(post("/api/claims/" + postId)
                         .with(user("claimer2@test.com")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(claimer2Claim))
                 .andExpect(status().isOk())
                 .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo("SUCCESS"));
 
@@ -189,8 +203,11 @@ public class FullFlowTests {
                 .build();
         testUsers.add(userAccountRepository.save(claimer3));
 
-        mvc.perform(post("/api/claims/" + postId)
+        MvcResult claimer3Claim = mvc.perform(post("/api/claims/" + postId)
                         .with(user("claimer3@test.com")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(claimer3Claim))
                 .andExpect(status().isOk())
                 .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo("QUOTA_EXCEEDED"));
     }
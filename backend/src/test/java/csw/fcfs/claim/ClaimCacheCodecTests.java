@@ -0,0 +1,129 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import csw.fcfs.config.JacksonConfig;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클레임 캐시 값 직렬화 비교 (기존: 엔티티 + JSON default typing / 변경: 전용 레코드 + 바이너리)
+ */
+@Slf4j
+public class ClaimCacheCodecTests {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final ClaimCacheCodec codec = new ClaimCacheCodec();
+    private final GenericJackson2JsonRedisSerializer json =
+            new GenericJackson2JsonRedisSerializer(new JacksonConfig().objectMapper());
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    private final UserAccount owner = UserAccount.builder()
+            .id(1L)
+            .email("owner@test.com")
+            .oauth2Provider(OAuth2Provider.GOOGLE)
+            .role(Role.USER)
+            .createdAt(now)
+            .build();
+
+    private final UserAccount claimer = UserAccount.builder()
+            .id(42L)
+            .email("claimer@test.com")
+            .oauth2Provider(OAuth2Provider.GOOGLE)
+            .role(Role.ADMIN)
+            .isPremium(true)
+            .createdAt(now)
+            .build();
+
+    private final Post post = Post.builder()
+            .id(7L)
+            .title("선착순 티켓 게시물")
+            .description("Serialization benchmark post")
+            .quota((short) 100)
+            .owner(owner)
+            .state(PostState.OPEN)
+            .visibility(PostVisibility.PUBLIC)
+            .openAt(now)
+            .closeAt(now.plus(1, ChronoUnit.DAYS))
+            .createdAt(now)
+            .build();
+
+    @Test
+    public void testDescriptorRoundTrip() {
+        ClaimDescriptor descriptor = ClaimDescriptor.from(post);
+        assertThat(codec.deserialize(codec.serialize(descriptor))).isEqualTo(descriptor);
+
+        ClaimDescriptor sparse = new ClaimDescriptor(8L, (short) 1, 2L, PostVisibility.PRIVATE,
+                null, null, null, (short) 4, ClaimEngineType.TOKEN_LIST, true);
+        assertThat(codec.deserialize(codec.serialize(sparse))).isEqualTo(sparse);
+    }
+
+    @Test
+    public void testUserRoundTrip() {
+        ClaimUser user = ClaimUser.from(claimer);
+        assertThat(codec.deserialize(codec.serialize(user))).isEqualTo(user);
+    }
+
+    @Test
+    public void testUnknownVersionIsCacheMiss() {
+        byte[] bytes = codec.serialize(ClaimUser.from(claimer));
+        bytes[0] = ClaimCacheCodec.VERSION + 1;
+        assertThat(codec.deserialize(bytes)).isNull();
+
+        // 이전 JSON 형식으로 남아있는 값도 미스로 처리
+        assertThat(codec.deserialize(json.serialize(claimer))).isNull();
+    }
+
+    @Test
+    public void benchmarkPostCacheValue() {
+        compare("post", post, ClaimDescriptor.from(post));
+    }
+
+    @Test
+    public void benchmarkUserCacheValue() {
+        compare("user", claimer, ClaimUser.from(claimer));
+    }
+
+    private void compare(String name, Object entity, Object record) {
+        byte[] entityJson = json.serialize(entity);
+        byte[] recordBinary = codec.serialize(record);
+
+        long jsonNanos = measure(json::serialize, json::deserialize, entity);
+        long binaryNanos = measure(codec::serialize, codec::deserialize, record);
+
+        log.info("{} cache value: entity+JSON {} bytes / {} ns per round trip, record+binary {} bytes / {} ns per round trip",
+                name, entityJson.length, jsonNanos / ITERATIONS, recordBinary.length, binaryNanos / ITERATIONS);
+
+        assertThat(recordBinary.length).isLessThan(entityJson.length / 3);
+        assertThat(binaryNanos).isLessThan(jsonNanos);
+    }
+
+    private static long measure(Function<Object, byte[]> serialize, Function<byte[], Object> deserialize, Object value) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += deserialize.apply(serialize.apply(value)).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += deserialize.apply(serialize.apply(value)).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isNotZero();
+        return elapsed;
+    }
+}
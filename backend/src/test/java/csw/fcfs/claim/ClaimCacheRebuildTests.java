@@ -0,0 +1,153 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostService;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClaimCacheRebuildTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private ClaimCacheRebuildService claimCacheRebuildService;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private ClaimRepository claimRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            redisService.deleteKeys(
+                    "post:{" + postId + "}:claimants",
+                    "post:{" + postId + "}:claims_count",
+                    LuaClaimEngine.seqKey(postId));
+            try {
+                claimRepository.deleteAll(claimRepository.findByPostWithUser(postRepository.getReferenceById(postId)));
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void coldPost_answersFromDatabaseAndRebuildsInBackground() throws Exception {
+        Post post = createPostWithPersistedClaims(5, 20);
+
+        // Redis 키가 만료된 상태에서도 조회는 DB 기준 당첨자 수로 응답
+        assertThat(postService.getPost(post.getId(), null).currentClaims()).isEqualTo(20);
+
+        claimCacheRebuildService.rebuildAsync(post).get(10, TimeUnit.SECONDS);
+        awaitSetSize("post:{" + post.getId() + "}:claimants", 20);
+        assertThat(redisService.get("post:{" + post.getId() + "}:claims_count")).isEqualTo("20");
+        // 이후 당첨자는 DB에 남은 최대 순번 뒤의 순번을 받아야 함
+        assertThat(Long.parseLong(redisService.get(LuaClaimEngine.seqKey(post.getId())))).isGreaterThanOrEqualTo(20L);
+    }
+
+    @Test
+    public void concurrentRebuilds_shareOneInFlightTask() throws Exception {
+        Post post = createPostWithPersistedClaims(5, 50);
+
+        CompletableFuture<Void> first = claimCacheRebuildService.rebuildAsync(post);
+        CompletableFuture<Void> second = claimCacheRebuildService.rebuildAsync(post);
+        if (!first.isDone()) {
+            assertThat(second).isSameAs(first);
+        }
+
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+        awaitSetSize("post:{" + post.getId() + "}:claimants", 50);
+    }
+
+    private void awaitSetSize(String key, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && !Long.valueOf(expected).equals(redisService.getSetSize(key))) {
+            Thread.sleep(50);
+        }
+        assertThat(redisService.getSetSize(key)).isEqualTo(expected);
+    }
+
+    private Post createPostWithPersistedClaims(int quotaPadding, int claimants) {
+        UserAccount owner = userAccountRepository.save(UserAccount.builder()
+                .email("rebuildowner" + testRunId + "-" + testPostIds.size() + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build());
+        testUsers.add(owner);
+
+        Post post = postRepository.save(Post.builder()
+                .title("Rebuild Test Post " + testRunId)
+                .description("Post for claim cache rebuild testing")
+                .quota((short) (claimants + quotaPadding))
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        testPostIds.add(post.getId());
+
+        List<Claim> claims = new ArrayList<>();
+        for (int i = 0; i < claimants; i++) {
+            UserAccount user = userAccountRepository.save(UserAccount.builder()
+                    .email("rebuilduser" + i + "-" + post.getId() + "-" + testRunId + "@test.com")
+                    .oauth2Provider(OAuth2Provider.GOOGLE)
+                    .role(Role.USER)
+                    .build());
+            testUsers.add(user);
+            claims.add(Claim.builder()
+                    .post(post)
+                    .user(user)
+                    .rank(i + 1L)
+                    .acceptedAt(Instant.now())
+                    .build());
+        }
+        claimRepository.saveAll(claims);
+        return post;
+    }
+}
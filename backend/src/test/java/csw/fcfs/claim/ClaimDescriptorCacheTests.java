@@ -0,0 +1,92 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+
+/**
+ * 게시물 설정 변경 시 descriptor 무효화 시점 (계층 캐시 대신 트랜잭션 연동 메모리 캐시)
+ */
+public class ClaimDescriptorCacheTests {
+
+    private PostRepository postRepository;
+    private ClaimDescriptorCache claimDescriptorCache;
+
+    private final Post post = Post.builder()
+            .id(7L)
+            .title("Descriptor cache post")
+            .quota((short) 10)
+            .owner(UserAccount.builder().id(1L).email("owner@test.com")
+                    .oauth2Provider(OAuth2Provider.GOOGLE).role(Role.USER).build())
+            .visibility(PostVisibility.PUBLIC)
+            .openAt(Instant.now())
+            .build();
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        when(postRepository.findByIdWithOwner(7L)).thenReturn(Optional.of(post));
+        claimDescriptorCache = new ClaimDescriptorCache(postRepository,
+                new TransactionAwareCacheManagerProxy(new ConcurrentMapCacheManager(ClaimDescriptorCache.CACHE_NAME)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void descriptorIsLoadedOnce() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(claimDescriptorCache.getDescriptor(7L).quota()).isEqualTo((short) 10);
+        }
+        verify(postRepository, times(1)).findByIdWithOwner(7L);
+    }
+
+    @Test
+    public void missingPost_isRejected() {
+        when(postRepository.findByIdWithOwner(8L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> claimDescriptorCache.getDescriptor(8L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Post not found");
+    }
+
+    @Test
+    public void evictInsideTransaction_waitsForCommit() {
+        claimDescriptorCache.getDescriptor(7L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        claimDescriptorCache.evictPost(7L);
+        // 커밋 전 조회는 캐시된 값을 사용 (커밋 전 DB 값을 다시 적재하지 않음)
+        claimDescriptorCache.getDescriptor(7L);
+        verify(postRepository, times(1)).findByIdWithOwner(7L);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        claimDescriptorCache.getDescriptor(7L);
+        verify(postRepository, times(2)).findByIdWithOwner(7L);
+    }
+}
@@ -0,0 +1,167 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import csw.fcfs.notification.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 기록 실패 시 재시도와 당첨 알림 (워커 없이 동기 flush 경로로 확인)
+ */
+public class ClaimJournalTests {
+
+    private final ClaimJournalEntry winner = entry(1L, "winner@test.com");
+    private final ClaimJournalEntry deleted = entry(2L, "deleted@test.com");
+
+    private ClaimBatchWriter claimBatchWriter;
+    private EmailService emailService;
+    private MeterRegistry meterRegistry;
+    private ClaimJournal claimJournal;
+
+    @BeforeEach
+    public void setUp() {
+        claimBatchWriter = mock(ClaimBatchWriter.class);
+        emailService = mock(EmailService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ClaimJournalProperties properties = new ClaimJournalProperties();
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setMaxRetryBackoff(Duration.ofMillis(20));
+        properties.setRetryTimeout(Duration.ofMillis(200));
+        claimJournal = new ClaimJournal(claimBatchWriter, emailService, properties, meterRegistry);
+    }
+
+    @Test
+    public void transientFailure_isRetriedThenNotified() {
+        doThrow(new TransientDataAccessResourceException("connection refused"))
+                .doThrow(new TransientDataAccessResourceException("connection refused"))
+                .doNothing()
+                .when(claimBatchWriter).write(anyList());
+
+        claimJournal.append(winner);
+
+        verify(claimBatchWriter, times(3)).write(List.of(winner));
+        verify(emailService).sendEmail(eq("winner@test.com"), anyString(), anyString());
+        assertThat(meterRegistry.counter("claim.journal.written").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void persistentFailure_isNeitherCountedNorNotified() {
+        doThrow(new TransientDataAccessResourceException("connection refused")).when(claimBatchWriter).write(anyList());
+
+        claimJournal.append(winner);
+
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+        assertThat(meterRegistry.counter("claim.journal.written").count()).isZero();
+        assertThat(meterRegistry.counter("claim.journal.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectedRow_isDroppedWithoutNotification() {
+        doThrow(new DataIntegrityViolationException("post deleted")).when(claimBatchWriter).write(anyList());
+        when(claimBatchWriter.writeEach(List.of(deleted)))
+                .thenReturn(new ClaimBatchWriter.Outcome(List.of(), List.of()));
+
+        claimJournal.append(deleted);
+
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+        assertThat(meterRegistry.counter("claim.journal.written").count()).isZero();
+    }
+
+    @Test
+    public void rowsWrittenOneByOne_areNotified() {
+        doThrow(new DataIntegrityViolationException("post deleted")).when(claimBatchWriter).write(anyList());
+        when(claimBatchWriter.writeEach(List.of(winner)))
+                .thenReturn(new ClaimBatchWriter.Outcome(List.of(winner), List.of()));
+
+        claimJournal.append(winner);
+
+        verify(emailService, times(1)).sendEmail(eq("winner@test.com"), anyString(), anyString());
+        assertThat(meterRegistry.counter("claim.journal.written").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void successfulBatch_isWrittenOnce() {
+        doNothing().when(claimBatchWriter).write(anyList());
+
+        claimJournal.append(winner);
+
+        verify(claimBatchWriter, times(1)).write(List.of(winner));
+        verify(claimBatchWriter, never()).writeEach(anyList());
+        verify(emailService).sendEmail(eq("winner@test.com"), anyString(), anyString());
+    }
+
+    @Test
+    public void fullQueue_blocksInsteadOfWritingAheadOfQueuedEntries() throws Exception {
+        ClaimJournalProperties properties = new ClaimJournalProperties();
+        properties.setCapacity(1);
+        properties.setWorkers(1);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        properties.setFlushInterval(Duration.ofMillis(1));
+        ClaimJournal journal = new ClaimJournal(claimBatchWriter, emailService, properties, meterRegistry);
+
+        List<ClaimJournalEntry> written = new CopyOnWriteArrayList<>();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            release.await();
+            written.addAll(inv.getArgument(0));
+            return null;
+        }).when(claimBatchWriter).write(anyList());
+
+        ClaimJournalEntry first = new ClaimJournalEntry(ClaimJournalEntry.Operation.CLAIM, 1L, 8L, "a@test.com", "Post 1", 1L, Instant.now());
+        ClaimJournalEntry queuedClaim = new ClaimJournalEntry(ClaimJournalEntry.Operation.CLAIM, 1L, 7L, "b@test.com", "Post 1", 2L, Instant.now());
+        ClaimJournalEntry declaim = ClaimJournalEntry.declaim(1L, 7L);
+
+        journal.start();
+        try {
+            journal.append(first);
+            writing.await(5, TimeUnit.SECONDS);   // 워커가 첫 배치를 기록하는 중
+            journal.append(queuedClaim);          // 큐가 가득 참
+
+            Thread late = Thread.ofPlatform().start(() -> journal.append(declaim));
+            late.join(200);
+            // 같은 게시물의 CLAIM이 큐에 있는 동안 DECLAIM을 먼저 기록하지 않는다
+            assertThat(late.isAlive()).isTrue();
+            assertThat(written).isEmpty();
+
+            release.countDown();
+            late.join(5_000);
+            assertThat(late.isAlive()).isFalse();
+        } finally {
+            release.countDown();
+            journal.stop();
+        }
+
+        assertThat(written).containsExactly(first, queuedClaim, declaim);
+        assertThat(meterRegistry.counter("claim.journal.overflow").count()).isEqualTo(1);
+    }
+
+    private static ClaimJournalEntry entry(Long postId, String email) {
+        return new ClaimJournalEntry(ClaimJournalEntry.Operation.CLAIM, postId, 7L, email, "Post " + postId, 1L, Instant.now());
+    }
+}
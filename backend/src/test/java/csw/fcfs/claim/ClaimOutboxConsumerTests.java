@@ -0,0 +1,272 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+/**
+ * 실제 Redis 스트림 + PostgreSQL로 outbox consumer의 기록/ACK/재시도/회수 경로 검증
+ * (애플리케이션 consumer가 같은 스트림을 XDEL 하지 않도록 끄고, 테스트마다 별도 group의 consumer를 직접 구동)
+ */
+@SpringBootTest(properties = "claim.outbox.enabled=false")
+@ActiveProfiles("test")
+public class ClaimOutboxConsumerTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+    private final String group = "test-writers-" + testRunId;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ClaimDescriptorCache claimDescriptorCache;
+    @Autowired
+    private ClaimRepository claimRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+
+    private Post post;
+    private String stream;
+
+    @BeforeEach
+    public void setUp() {
+        UserAccount owner = createUsers(1).get(0);
+        post = postRepository.save(Post.builder()
+                .title("Outbox Test Post " + testRunId)
+                .description("Post for outbox consumer testing")
+                .quota((short) 10)
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        stream = ClaimOutbox.streamKey(post.getId());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redisTemplate.delete(stream);
+        redisTemplate.opsForSet().remove(ClaimOutbox.REGISTRY_KEY, stream);
+        jdbcTemplate.update("DELETE FROM claim WHERE post_id = ?", post.getId());
+        try {
+            postRepository.deleteById(post.getId());
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void drain_insertsBatchThenAcksAndDeletes() {
+        List<UserAccount> users = createUsers(2);
+        addClaim(users.get(0), 1);
+        addClaim(users.get(1), 2);
+        ClaimOutboxConsumer consumer = consumer("node-a", newWriter(), properties());
+
+        ClaimOutboxConsumer.Drained drained = consumer.drain(stream, ReadOffset.lastConsumed());
+
+        assertThat(drained).isEqualTo(new ClaimOutboxConsumer.Drained(2, 2));
+        assertThat(claimRepository.findUserIdsByPostId(post.getId()))
+                .containsExactlyInAnyOrder(users.get(0).getId(), users.get(1).getId());
+        assertThat(redisTemplate.opsForStream().size(stream)).isZero();
+        assertThat(pendingCount()).isZero();
+        verify(emailService, times(2)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void failedWrite_staysPendingUntilRecoverPending() {
+        UserAccount user = createUsers(1).get(0);
+        addClaim(user, 1);
+        ClaimBatchWriter writer = spy(newWriter());
+        doThrow(new DataAccessResourceFailureException("database down")).doCallRealMethod().when(writer).write(anyList());
+        ClaimOutboxConsumer consumer = consumer("node-a", writer, properties());
+
+        assertThat(consumer.drain(stream, ReadOffset.lastConsumed())).isEqualTo(new ClaimOutboxConsumer.Drained(1, 0));
+        assertThat(claimRepository.countByPostId(post.getId())).isZero();
+        assertThat(redisTemplate.opsForStream().size(stream)).isEqualTo(1);
+        assertThat(pendingCount()).isEqualTo(1);
+
+        // 새 엔트리만 읽는 일반 drain은 이미 전달된 pending 엔트리를 다시 가져오지 않는다
+        assertThat(consumer.drain(stream, ReadOffset.lastConsumed())).isEqualTo(new ClaimOutboxConsumer.Drained(0, 0));
+
+        assertThat(consumer.recoverPending(stream)).isFalse();
+        assertThat(claimRepository.findUserIdsByPostId(post.getId())).containsExactly(user.getId());
+        assertThat(redisTemplate.opsForStream().size(stream)).isZero();
+        assertThat(pendingCount()).isZero();
+    }
+
+    @Test
+    public void reclaim_takesOverDeadConsumersPendingEntries() {
+        UserAccount user = createUsers(1).get(0);
+        addClaim(user, 1);
+        ClaimBatchWriter broken = spy(newWriter());
+        doThrow(new DataAccessResourceFailureException("database down")).when(broken).write(anyList());
+        ClaimOutboxProperties properties = properties();
+        properties.setReclaimMinIdle(Duration.ZERO);
+
+        // 읽은 뒤 기록하지 못하고 죽은 노드
+        consumer("dead-node", broken, properties).drain(stream, ReadOffset.lastConsumed());
+        assertThat(pendingCount()).isEqualTo(1);
+
+        ClaimOutboxConsumer survivor = consumer("live-node", newWriter(), properties);
+        assertThat(survivor.drain(stream, ReadOffset.lastConsumed())).isEqualTo(new ClaimOutboxConsumer.Drained(0, 0));
+        survivor.reclaim(stream);
+
+        assertThat(claimRepository.findUserIdsByPostId(post.getId())).containsExactly(user.getId());
+        assertThat(redisTemplate.opsForStream().size(stream)).isZero();
+        assertThat(pendingCount()).isZero();
+    }
+
+    @Test
+    public void claimThenDeclaimInSameStream_leavesNoRow() {
+        List<UserAccount> users = createUsers(2);
+        addClaim(users.get(0), 1);
+        addClaim(users.get(1), 2);
+        addDeclaim(users.get(0));
+        ClaimOutboxConsumer consumer = consumer("node-a", newWriter(), properties());
+
+        assertThat(consumer.drain(stream, ReadOffset.lastConsumed())).isEqualTo(new ClaimOutboxConsumer.Drained(3, 3));
+
+        assertThat(claimRepository.findUserIdsByPostId(post.getId())).containsExactly(users.get(1).getId());
+        assertThat(redisTemplate.opsForStream().size(stream)).isZero();
+    }
+
+    @Test
+    public void claimThenDeclaimAcrossBatches_leavesNoRow() {
+        UserAccount user = createUsers(1).get(0);
+        addClaim(user, 1);
+        addDeclaim(user);
+        ClaimOutboxProperties properties = properties();
+        properties.setBatchSize(1);
+        ClaimOutboxConsumer consumer = consumer("node-a", newWriter(), properties);
+
+        assertThat(consumer.drain(stream, ReadOffset.lastConsumed()).acked()).isEqualTo(1);
+        assertThat(claimRepository.countByPostId(post.getId())).isEqualTo(1);
+        assertThat(consumer.drain(stream, ReadOffset.lastConsumed()).acked()).isEqualTo(1);
+
+        assertThat(claimRepository.countByPostId(post.getId())).isZero();
+    }
+
+    @Test
+    public void unregisterIfIdle_keepsStreamWithPendingEntries() {
+        UserAccount user = createUsers(1).get(0);
+        redisTemplate.opsForSet().add(ClaimOutbox.REGISTRY_KEY, stream);
+        addClaim(user, 1);
+        ClaimBatchWriter writer = spy(newWriter());
+        doThrow(new DataAccessResourceFailureException("database down")).doCallRealMethod().when(writer).write(anyList());
+        ClaimOutboxProperties properties = properties();
+        properties.setIdleUnregister(Duration.ZERO);
+        ClaimOutboxConsumer consumer = consumer("node-a", writer, properties);
+        consumer.refreshStreams();
+
+        consumer.drain(stream, ReadOffset.lastConsumed());
+        // 읽을 새 엔트리는 없지만 ACK 하지 못한 엔트리가 남아 있으므로 레지스트리에서 빠지면 안 된다
+        assertThat(consumer.drain(stream, ReadOffset.lastConsumed())).isEqualTo(new ClaimOutboxConsumer.Drained(0, 0));
+        assertThat(redisTemplate.opsForSet().isMember(ClaimOutbox.REGISTRY_KEY, stream)).isTrue();
+
+        // 기록이 끝나 스트림이 비면 그때 제거
+        consumer.recoverPending(stream);
+        assertThat(claimRepository.countByPostId(post.getId())).isEqualTo(1);
+        assertThat(redisTemplate.opsForSet().isMember(ClaimOutbox.REGISTRY_KEY, stream)).isFalse();
+    }
+
+    private void addClaim(UserAccount user, long rank) {
+        redisTemplate.opsForStream().add(stream, Map.of(
+                "op", "CLAIM",
+                "user", String.valueOf(user.getId()),
+                "email", user.getEmail(),
+                "rank", String.valueOf(rank),
+                "at", String.valueOf(Instant.now().toEpochMilli() * 1000)));
+    }
+
+    private void addDeclaim(UserAccount user) {
+        redisTemplate.opsForStream().add(stream, Map.of(
+                "op", "DECLAIM",
+                "user", String.valueOf(user.getId())));
+    }
+
+    private long pendingCount() {
+        return redisTemplate.opsForStream().pending(stream, group).getTotalPendingMessages();
+    }
+
+    private ClaimBatchWriter newWriter() {
+        return new ClaimBatchWriter(jdbcTemplate, transactionTemplate);
+    }
+
+    private ClaimOutboxProperties properties() {
+        ClaimOutboxProperties properties = new ClaimOutboxProperties();
+        properties.setGroup(group);
+        return properties;
+    }
+
+    private ClaimOutboxConsumer consumer(String name, ClaimBatchWriter writer, ClaimOutboxProperties properties) {
+        properties.setConsumerName(name);
+        return new ClaimOutboxConsumer(redisTemplate, writer, claimDescriptorCache, emailService, properties);
+    }
+
+    private List<UserAccount> createUsers(int count) {
+        List<UserAccount> users = new ArrayList<>();
+        int offset = testUsers.size();
+        for (int i = 0; i < count; i++) {
+            users.add(UserAccount.builder()
+                    .email("outboxuser" + (offset + i) + "-" + testRunId + "@test.com")
+                    .oauth2Provider(OAuth2Provider.GOOGLE)
+                    .role(Role.USER)
+                    .build());
+        }
+        List<UserAccount> saved = userAccountRepository.saveAll(users);
+        testUsers.addAll(saved);
+        return saved;
+    }
+}
@@ -0,0 +1,121 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClaimSoldOutTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private ClaimService claimService;
+    @Autowired
+    private ClaimSoldOutCache claimSoldOutCache;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            try {
+                redisService.deleteKeys(
+                        "post:{" + postId + "}:claimants",
+                        "post:{" + postId + "}:claims_count");
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void soldOutPost_shortCircuitsUntilASlotIsFreed() {
+        Post post = createPost(1);
+        UserAccount winner = createUser("winner");
+        UserAccount late = createUser("late");
+
+        assertThat(claimService.claimPost(post.getId(), winner.getEmail())).isEqualTo("SUCCESS");
+        assertThat(claimService.claimPost(post.getId(), late.getEmail())).isEqualTo("QUOTA_EXCEEDED");
+        assertThat(claimSoldOutCache.isSoldOut(post.getId())).isTrue();
+
+        // 매진 이후 요청은 Redis를 거치지 않고 로컬에서 거절
+        double before = meterRegistry.counter("claim.sold_out.short_circuit").count();
+        assertThat(claimService.claimPost(post.getId(), late.getEmail())).isEqualTo("QUOTA_EXCEEDED");
+        assertThat(meterRegistry.counter("claim.sold_out.short_circuit").count()).isGreaterThan(before);
+
+        // 관리자가 당첨을 취소하면 매진 표시가 풀리고 다음 사용자가 클레임 가능
+        claimService.removeClaim(post.getId(), winner.getId());
+        assertThat(claimSoldOutCache.isSoldOut(post.getId())).isFalse();
+        assertThat(claimService.claimPost(post.getId(), late.getEmail())).isEqualTo("SUCCESS");
+    }
+
+    private Post createPost(int quota) {
+        UserAccount owner = createUser("owner");
+        Post post = postRepository.save(Post.builder()
+                .title("Sold-out Test Post " + testRunId)
+                .description("Post for sold-out short-circuit testing")
+                .quota((short) quota)
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        testPostIds.add(post.getId());
+        return post;
+    }
+
+    private UserAccount createUser(String name) {
+        UserAccount user = userAccountRepository.save(UserAccount.builder()
+                .email("soldout-" + name + "-" + testRunId + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build());
+        testUsers.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,178 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import csw.fcfs.config.security.jwt.JwtTokenProvider;
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.AuthenticatedUser;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ClaimUserResolutionTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+    private Statistics statistics;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private ClaimDescriptorCache claimDescriptorCache;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            try {
+                redisService.deleteKeys(
+                        "post:{" + postId + "}:claimants",
+                        "post:{" + postId + "}:claims_count");
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void tokenWithUid_claimsWithoutUserQueries() throws Exception {
+        Post first = createPost();
+        Post second = createPost();
+        UserAccount claimant = createUser("uid");
+        String token = jwtTokenProvider.createToken(claimant);
+
+        // 첫 요청은 role/premium 캐시 적재 (PK 1회)
+        assertThat(statementsFor(first, token, "SUCCESS")).isLessThanOrEqualTo(1);
+        // 이후 요청은 사용자 조회 없음
+        assertThat(statementsFor(second, token, "SUCCESS")).isZero();
+    }
+
+    @Test
+    public void legacyEmailToken_resolvesUserOnceThenFromCache() throws Exception {
+        Post first = createPost();
+        Post second = createPost();
+        UserAccount claimant = createUser("legacy");
+        String token = jwtTokenProvider.createToken(claimant.getEmail(), Role.USER);
+
+        // 이전 형식 토큰: 요청마다 하던 이메일 조회를 한 번만
+        assertThat(statementsFor(first, token, "SUCCESS")).isEqualTo(1);
+        assertThat(statementsFor(second, token, "SUCCESS")).isZero();
+    }
+
+    @Test
+    public void tokenCarriesUidRoleAndPremium() {
+        UserAccount user = createUser("claims");
+        user.setPremium(true);
+        userAccountRepository.save(user);
+
+        AuthenticatedUser principal = jwtTokenProvider.getUser(jwtTokenProvider.createToken(user));
+
+        assertThat(principal).isEqualTo(new AuthenticatedUser(user.getId(), user.getEmail(), Role.USER, true));
+        assertThat(principal.getName()).isEqualTo(user.getEmail());
+        assertThat(jwtTokenProvider.getAuthentication(principal).getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ROLE_USER");
+    }
+
+    private long statementsFor(Post post, String token, String expected) throws Exception {
+        // 게시물 descriptor는 미리 적재해 사용자 해석 비용만 센다
+        claimDescriptorCache.getDescriptor(post.getId());
+        statistics.clear();
+
+        MvcResult result = mockMvc.perform(post("/api/claims/" + post.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expected));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Post createPost() {
+        UserAccount owner = createUser("owner" + testPostIds.size());
+        Post post = postRepository.save(Post.builder()
+                .title("User Resolution Test Post " + testRunId)
+                .description("Post for per-request user resolution testing")
+                .quota((short) 10)
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        testPostIds.add(post.getId());
+        return post;
+    }
+
+    private UserAccount createUser(String name) {
+        UserAccount user = userAccountRepository.save(UserAccount.builder()
+                .email("resolve-" + name + "-" + testRunId + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build());
+        testUsers.add(user);
+        return user;
+    }
+}
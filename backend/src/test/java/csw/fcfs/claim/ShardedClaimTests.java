@@ -0,0 +1,275 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ShardedClaimTests {
+
+    private static final int SHARDS = 8;
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private ClaimService claimService;
+    @Autowired
+    private ClaimEngines claimEngines;
+    @Autowired
+    private ShardedClaimEngine shardedClaimEngine;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            try {
+                claimEngines.changeShards(postId, 1);
+            } catch (Exception e) {
+                // 당첨자가 남아있으면 샤드 키를 직접 정리
+                for (int shard = 0; shard < SHARDS; shard++) {
+                    redisService.deleteKeys(
+                            ShardedClaimEngine.claimantsKey(postId, shard),
+                            ShardedClaimEngine.tokensKey(postId, shard),
+                            ShardedClaimEngine.spilledKey(postId, shard));
+                }
+            }
+            try {
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void shardedPost_neverOverAllocatesUnderContention() throws Exception {
+        int quota = 100;
+        Post post = createShardedPost(quota);
+        List<UserAccount> users = createUsers(1000);
+
+        Map<String, AtomicInteger> results = claimConcurrently(post, users);
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(quota);
+        assertThat(results.get("QUOTA_EXCEEDED").get()).isEqualTo(users.size() - quota);
+        assertThat(shardedClaimEngine.countClaims(post.getId(), SHARDS)).isEqualTo(quota);
+
+        // 모든 토큰이 소진되고 음수가 된 샤드가 없어야 함
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertThat(redisService.get(ShardedClaimEngine.tokensKey(post.getId(), shard))).isEqualTo("0");
+        }
+    }
+
+    @Test
+    public void shardedPost_spillsOverWhenHomeShardRunsDry() throws Exception {
+        // quota < 샤드 수: 대부분의 home 샤드는 토큰이 0이라 spill 경로로만 당첨 가능
+        int quota = 3;
+        Post post = createShardedPost(quota);
+        List<UserAccount> users = createUsers(200);
+
+        Map<String, AtomicInteger> results = claimConcurrently(post, users);
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(quota);
+        assertThat(shardedClaimEngine.countClaims(post.getId(), SHARDS)).isEqualTo(quota);
+    }
+
+    @Test
+    public void shardedPost_rejectsDoubleClaimFromSameUser() throws Exception {
+        Post post = createShardedPost(50);
+        UserAccount user = createUsers(1).get(0);
+
+        List<UserAccount> sameUser = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            sameUser.add(user);
+        }
+        Map<String, AtomicInteger> results = claimConcurrently(post, sameUser);
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(1);
+        assertThat(results.get("ALREADY_CLAIMED").get()).isEqualTo(49);
+    }
+
+    @Test
+    public void shardedPost_declaimReturnsTokenAtomically() throws Exception {
+        int quota = 2;
+        Post post = createShardedPost(quota);
+        List<UserAccount> users = createUsers(20);
+
+        claimConcurrently(post, users);
+        assertThat(shardedClaimEngine.countClaims(post.getId(), SHARDS)).isEqualTo(quota);
+
+        // 당첨자 1명 취소 → 다른 사용자가 그 자리를 가져갈 수 있어야 함
+        UserAccount winner = users.stream()
+                .filter(u -> redisService.isMember(
+                        ShardedClaimEngine.claimantsKey(post.getId(), ShardedClaimEngine.homeShard(u.getId(), SHARDS)),
+                        String.valueOf(u.getId())))
+                .findFirst()
+                .orElseThrow();
+        claimService.removeClaim(post.getId(), winner.getId());
+        assertThat(shardedClaimEngine.countClaims(post.getId(), SHARDS)).isEqualTo(quota - 1);
+        // spill로 가져온 토큰이라도 취소 스크립트 안에서 home 샤드로 돌아와 합계가 유지된다
+        int homeShard = ShardedClaimEngine.homeShard(winner.getId(), SHARDS);
+        assertThat(redisService.get(ShardedClaimEngine.tokensKey(post.getId(), homeShard))).isEqualTo("1");
+
+        Map<String, AtomicInteger> retry = claimConcurrently(post, users);
+        assertThat(retry.get("SUCCESS").get()).isEqualTo(1);
+        assertThat(shardedClaimEngine.countClaims(post.getId(), SHARDS)).isEqualTo(quota);
+    }
+
+    @Test
+    public void shardedPost_reprimesWhenTokenKeysDisappear() throws Exception {
+        int quota = 5;
+        Post post = createShardedPost(quota);
+        claimConcurrently(post, createUsers(2));
+
+        // 다른 노드의 clear/Redis 초기화를 흉내 - 노드 로컬 상태 없이 스크립트가 감지해 남은 수량으로 다시 분배
+        for (int shard = 0; shard < SHARDS; shard++) {
+            redisService.deleteKeys(ShardedClaimEngine.tokensKey(post.getId(), shard));
+        }
+        Map<String, AtomicInteger> results = claimConcurrently(post, createUsers(20));
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(quota - 2);
+        assertThat(shardedClaimEngine.countClaims(post.getId(), SHARDS)).isEqualTo(quota);
+    }
+
+    @Test
+    public void changeShards_rejectsPostWithExistingClaims() throws Exception {
+        Post post = createShardedPost(10);
+        claimConcurrently(post, createUsers(1));
+
+        assertThatThrownBy(() -> claimEngines.changeShards(post.getId(), 4))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void changeShards_rejectsPostWithPersistedClaimsOnly() {
+        Post post = createShardedPost(10);
+        UserAccount user = createUsers(1).get(0);
+        // Redis 당첨자 SET은 비어 있지만(만료/유실) PostgreSQL에는 당첨자가 기록된 상황
+        Claim claim = claimRepository.save(Claim.builder().post(post).user(user).rank(1L).acceptedAt(Instant.now()).build());
+
+        try {
+            assertThat(claimEngines.countClaims(post)).isZero();
+            assertThatThrownBy(() -> claimEngines.changeShards(post.getId(), 4))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            claimRepository.delete(claim);
+        }
+    }
+
+    private Map<String, AtomicInteger> claimConcurrently(Post post, List<UserAccount> users) throws Exception {
+        Map<String, AtomicInteger> results = new ConcurrentHashMap<>();
+        for (String result : List.of("SUCCESS", "QUOTA_EXCEEDED", "ALREADY_CLAIMED")) {
+            results.put(result, new AtomicInteger());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UserAccount user : users) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    String result = claimService.claimPost(post.getId(), user.getEmail());
+                    results.computeIfAbsent(result, k -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+
+    private Post createShardedPost(int quota) {
+        UserAccount owner = UserAccount.builder()
+                .email("shardowner" + testRunId + "-" + testPostIds.size() + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build();
+        testUsers.add(userAccountRepository.save(owner));
+
+        Post post = postRepository.save(Post.builder()
+                .title("Sharded Test Post " + testRunId)
+                .description("Post for hot-post mode testing")
+                .quota((short) quota)
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        testPostIds.add(post.getId());
+
+        claimEngines.changeShards(post.getId(), SHARDS);
+        return post;
+    }
+
+    private List<UserAccount> createUsers(int count) {
+        List<UserAccount> users = new ArrayList<>();
+        int offset = testUsers.size();
+        for (int i = 0; i < count; i++) {
+            users.add(UserAccount.builder()
+                    .email("sharduser" + (offset + i) + "-" + testRunId + "@test.com")
+                    .oauth2Provider(OAuth2Provider.GOOGLE)
+                    .role(Role.USER)
+                    .build());
+        }
+        List<UserAccount> saved = userAccountRepository.saveAll(users);
+        testUsers.addAll(saved);
+        return saved;
+    }
+}
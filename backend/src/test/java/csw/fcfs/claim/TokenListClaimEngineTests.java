@@ -0,0 +1,216 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TokenListClaimEngineTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private ClaimService claimService;
+    @Autowired
+    private ClaimEngines claimEngines;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            redisService.deleteKeys("post:{" + postId + "}:claimants", TokenListClaimEngine.tokensKey(postId),
+                    TokenListClaimEngine.readyKey(postId), LuaClaimEngine.seqKey(postId));
+            try {
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void changeEngine_primesTokensBeforeFirstClaim() {
+        Post post = createTokenListPost(50);
+
+        // 오픈 전에 만들어져 첫 클레임 스크립트는 LPOP만 한다
+        assertThat(redisTemplate.opsForList().size(TokenListClaimEngine.tokensKey(post.getId()))).isEqualTo(50);
+        assertThat(redisService.get(TokenListClaimEngine.readyKey(post.getId()))).isEqualTo("50");
+    }
+
+    @Test
+    public void tokenList_neverOverAllocatesUnderContention() throws Exception {
+        int quota = 30;
+        Post post = createTokenListPost(quota);
+        List<UserAccount> users = createUsers(300);
+
+        Map<String, AtomicInteger> results = claimConcurrently(post, users);
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(quota);
+        assertThat(results.get("QUOTA_EXCEEDED").get()).isEqualTo(users.size() - quota);
+        assertThat(redisService.getSetSize("post:{" + post.getId() + "}:claimants")).isEqualTo(quota);
+        assertThat(redisTemplate.opsForList().size(TokenListClaimEngine.tokensKey(post.getId()))).isZero();
+    }
+
+    @Test
+    public void tokenList_rejectsDoubleClaimFromSameUser() throws Exception {
+        Post post = createTokenListPost(10);
+        UserAccount user = createUsers(1).get(0);
+
+        List<UserAccount> sameUser = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sameUser.add(user);
+        }
+        Map<String, AtomicInteger> results = claimConcurrently(post, sameUser);
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(1);
+        assertThat(results.get("ALREADY_CLAIMED").get()).isEqualTo(19);
+        assertThat(redisTemplate.opsForList().size(TokenListClaimEngine.tokensKey(post.getId()))).isEqualTo(9);
+    }
+
+    @Test
+    public void declaim_returnsTokenForNextClaimer() {
+        Post post = createTokenListPost(1);
+        List<UserAccount> users = createUsers(3);
+
+        assertThat(claimService.claimPost(post.getId(), users.get(0).getEmail())).isEqualTo("SUCCESS");
+        assertThat(claimService.claimPost(post.getId(), users.get(1).getEmail())).isEqualTo("QUOTA_EXCEEDED");
+
+        claimService.removeClaim(post.getId(), users.get(0).getId());
+        assertThat(redisTemplate.opsForList().size(TokenListClaimEngine.tokensKey(post.getId()))).isEqualTo(1);
+
+        assertThat(claimService.claimPost(post.getId(), users.get(1).getEmail())).isEqualTo("SUCCESS");
+        assertThat(claimService.claimPost(post.getId(), users.get(2).getEmail())).isEqualTo("QUOTA_EXCEEDED");
+    }
+
+    @Test
+    public void expiredList_isRegeneratedFromRemainingQuota() throws Exception {
+        int quota = 5;
+        Post post = createTokenListPost(quota);
+        claimConcurrently(post, createUsers(2));
+
+        // 리스트/준비 표시가 만료(또는 Redis flush)된 상황 - 클레임 스크립트의 fallback이 quota - 당첨자 수만큼 다시 생성
+        redisService.deleteKeys(TokenListClaimEngine.tokensKey(post.getId()), TokenListClaimEngine.readyKey(post.getId()));
+        Map<String, AtomicInteger> results = claimConcurrently(post, createUsers(20));
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(quota - 2);
+        assertThat(redisService.getSetSize("post:{" + post.getId() + "}:claimants")).isEqualTo(quota);
+    }
+
+    private Map<String, AtomicInteger> claimConcurrently(Post post, List<UserAccount> users) throws Exception {
+        Map<String, AtomicInteger> results = new ConcurrentHashMap<>();
+        for (String result : List.of("SUCCESS", "QUOTA_EXCEEDED", "ALREADY_CLAIMED")) {
+            results.put(result, new AtomicInteger());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UserAccount user : users) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    String result = claimService.claimPost(post.getId(), user.getEmail());
+                    results.computeIfAbsent(result, k -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+
+    private Post createTokenListPost(int quota) {
+        UserAccount owner = UserAccount.builder()
+                .email("tokenowner" + testRunId + "-" + testPostIds.size() + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build();
+        testUsers.add(userAccountRepository.save(owner));
+
+        Post post = postRepository.save(Post.builder()
+                .title("Token List Test Post " + testRunId)
+                .description("Post for token list engine testing")
+                .quota((short) quota)
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        testPostIds.add(post.getId());
+
+        claimEngines.changeEngine(post.getId(), ClaimEngineType.TOKEN_LIST);
+        return post;
+    }
+
+    private List<UserAccount> createUsers(int count) {
+        List<UserAccount> users = new ArrayList<>();
+        int offset = testUsers.size();
+        for (int i = 0; i < count; i++) {
+            users.add(UserAccount.builder()
+                    .email("tokenuser" + (offset + i) + "-" + testRunId + "@test.com")
+                    .oauth2Provider(OAuth2Provider.GOOGLE)
+                    .role(Role.USER)
+                    .build());
+        }
+        List<UserAccount> saved = userAccountRepository.saveAll(users);
+        testUsers.addAll(saved);
+        return saved;
+    }
+}
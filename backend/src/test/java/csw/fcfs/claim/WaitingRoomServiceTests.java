@@ -0,0 +1,89 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.UserCache;
+
+/**
+ * 클레임 경로의 티켓 확인 (입장 커서 스크립트는 mock)
+ */
+public class WaitingRoomServiceTests {
+
+    private static final String ADMIT_SHA1 = "queue-admit-sha1";
+
+    private RedisService redisService;
+    private WaitingRoomService waitingRoomService;
+
+    private final ClaimDescriptor queued = descriptor(1L, true);
+
+    @BeforeEach
+    public void setUp() {
+        redisService = mock(RedisService.class);
+        when(redisService.getQueueAdmitScriptSha1()).thenReturn(ADMIT_SHA1);
+        // 순번 5번까지 입장 허가
+        when(redisService.executeScriptBySha1(eq(ADMIT_SHA1), anyList(), any(String[].class))).thenReturn("5");
+        waitingRoomService = new WaitingRoomService(redisService, mock(ClaimDescriptorCache.class),
+                mock(PostRepository.class), mock(UserCache.class), new WaitingRoomProperties(), "test-secret");
+    }
+
+    @Test
+    public void admittedTicket_passes() {
+        assertThat(waitingRoomService.checkTicket(queued, 7L, waitingRoomService.sign(1L, 7L, 3))).isNull();
+        assertThat(waitingRoomService.checkTicket(queued, 7L, waitingRoomService.sign(1L, 7L, 5))).isNull();
+    }
+
+    @Test
+    public void ticketBehindCursor_isNotAdmitted() {
+        assertThat(waitingRoomService.checkTicket(queued, 7L, waitingRoomService.sign(1L, 7L, 6)))
+                .isEqualTo("NOT_ADMITTED");
+    }
+
+    @Test
+    public void ticketIsBoundToPostAndUser() {
+        String ticket = waitingRoomService.sign(1L, 7L, 1);
+
+        assertThat(waitingRoomService.checkTicket(queued, 8L, ticket)).isEqualTo("INVALID_QUEUE_TICKET");
+        assertThat(waitingRoomService.checkTicket(descriptor(2L, true), 7L, ticket)).isEqualTo("INVALID_QUEUE_TICKET");
+        // 순번만 앞당긴 위조 티켓
+        String late = waitingRoomService.sign(1L, 7L, 9);
+        String forged = "1" + late.substring(late.indexOf('.'));
+        assertThat(waitingRoomService.checkTicket(queued, 7L, forged)).isEqualTo("INVALID_QUEUE_TICKET");
+        assertThat(waitingRoomService.checkTicket(queued, 7L, "garbage")).isEqualTo("INVALID_QUEUE_TICKET");
+        assertThat(waitingRoomService.checkTicket(queued, 7L, "x.y")).isEqualTo("INVALID_QUEUE_TICKET");
+    }
+
+    @Test
+    public void missingTicket_isRequiredOnlyForWaitingRoomPosts() {
+        assertThat(waitingRoomService.checkTicket(queued, 7L, null)).isEqualTo("QUEUE_TICKET_REQUIRED");
+        assertThat(waitingRoomService.checkTicket(descriptor(3L, false), 7L, null)).isNull();
+    }
+
+    @Test
+    public void cursorIsFetchedOncePerNode() {
+        for (int i = 0; i < 100; i++) {
+            waitingRoomService.checkTicket(queued, 7L, waitingRoomService.sign(1L, 7L, 1));
+        }
+        // 이후 갱신은 tick 스레드 담당 - 클레임 경로는 로컬 커서만 읽는다
+        verify(redisService, times(1)).executeScriptBySha1(eq(ADMIT_SHA1), anyList(), any(String[].class));
+    }
+
+    private static ClaimDescriptor descriptor(Long postId, boolean waitingRoom) {
+        return new ClaimDescriptor(postId, (short) 10, 99L, PostVisibility.PUBLIC, Instant.now(), null,
+                "Queued", (short) 1, ClaimEngineType.LUA, waitingRoom);
+    }
+}
@@ -0,0 +1,158 @@
+package csw.fcfs.claim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.claim.dto.QueueTicketResponse;
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+// 오픈 시각에 2명만 입장시키고 이후 입장은 없도록
+@SpringBootTest(properties = {"claim.waiting-room.initial-burst=2", "claim.waiting-room.admit-rate=0"})
+@ActiveProfiles("test")
+public class WaitingRoomTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+    @Autowired
+    private ClaimService claimService;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            redisService.deleteKeys("post:{" + postId + "}:claimants", "post:{" + postId + "}:claims_count",
+                    LuaClaimEngine.seqKey(postId),
+                    "queue:{" + postId + "}", "queue:{" + postId + "}:seq", "queue:{" + postId + "}:admission");
+            try {
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void join_isIdempotentPerUser() {
+        Post post = createPost(Instant.now().plusSeconds(3600));
+        Principal first = principal(createUser("first"));
+        Principal second = principal(createUser("second"));
+
+        QueueTicketResponse ticket = waitingRoomService.join(post.getId(), first);
+        assertThat(waitingRoomService.join(post.getId(), first).ticket()).isEqualTo(ticket.ticket());
+        QueueTicketResponse next = waitingRoomService.join(post.getId(), second);
+
+        // 오픈 전에는 아무도 입장하지 않는다
+        assertThat(ticket.admitted()).isFalse();
+        assertThat(ticket.position()).isEqualTo(1);
+        assertThat(next.position()).isEqualTo(2);
+        assertThat(waitingRoomService.status(post.getId(), second, next.ticket())).isEqualTo(next);
+    }
+
+    @Test
+    public void claim_acceptsOnlyAdmittedTickets() throws Exception {
+        Post post = createPost(Instant.now().plusSeconds(1));
+        List<Principal> users = new ArrayList<>();
+        List<String> tickets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Principal user = principal(createUser("queued" + i));
+            users.add(user);
+            tickets.add(waitingRoomService.join(post.getId(), user).ticket());
+        }
+        // 오픈 후 다음 tick이 노드 로컬 커서를 갱신할 때까지 대기
+        Thread.sleep(1500);
+
+        assertThat(claimService.claimPostAsync(post.getId(), users.get(0)).get()).isEqualTo("QUEUE_TICKET_REQUIRED");
+        assertThat(claimService.claimPostAsync(post.getId(), users.get(0), tickets.get(1)).get())
+                .isEqualTo("INVALID_QUEUE_TICKET");
+        assertThat(claimService.claimPostAsync(post.getId(), users.get(0), tickets.get(0)).get()).isEqualTo("SUCCESS");
+        assertThat(claimService.claimPostAsync(post.getId(), users.get(1), tickets.get(1)).get()).isEqualTo("SUCCESS");
+        assertThat(claimService.claimPostAsync(post.getId(), users.get(2), tickets.get(2)).get()).isEqualTo("NOT_ADMITTED");
+
+        // 동기 경로도 같은 티켓 확인을 거친다
+        assertThat(claimService.claimPost(post.getId(), users.get(2).getName())).isEqualTo("QUEUE_TICKET_REQUIRED");
+        assertThat(claimService.claimPost(post.getId(), users.get(2).getName(), tickets.get(2))).isEqualTo("NOT_ADMITTED");
+    }
+
+    @Test
+    public void join_requiresWaitingRoomPost() {
+        Post post = createPost(Instant.now().plusSeconds(3600));
+        waitingRoomService.setEnabled(post.getId(), false);
+
+        Principal user = principal(createUser("plain"));
+        assertThatThrownBy(() -> waitingRoomService.join(post.getId(), user))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Post createPost(Instant openAt) {
+        UserAccount owner = createUser("owner" + testPostIds.size());
+        Post post = postRepository.save(Post.builder()
+                .title("Waiting Room Test Post " + testRunId)
+                .description("Post for waiting room testing")
+                .quota((short) 10)
+                .openAt(openAt)
+                .closeAt(openAt.plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .waitingRoom(true)
+                .build());
+        testPostIds.add(post.getId());
+        return post;
+    }
+
+    private UserAccount createUser(String name) {
+        UserAccount user = userAccountRepository.save(UserAccount.builder()
+                .email("queue-" + name + "-" + testRunId + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build());
+        testUsers.add(user);
+        return user;
+    }
+
+    private static Principal principal(UserAccount user) {
+        return user::getEmail;
+    }
+}
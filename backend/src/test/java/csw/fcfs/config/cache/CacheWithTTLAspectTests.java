@@ -0,0 +1,275 @@
+package csw.fcfs.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import csw.fcfs.config.JacksonConfig;
+
+/**
+ * Redis 템플릿을 Map 기반 mock으로 대체해 aspect 동작만 검증
+ */
+public class CacheWithTTLAspectTests {
+
+    public record Item(Long id, String name) {
+    }
+
+    public static class Catalog {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile long delayMillis;
+
+        @CacheWithTTL(value = "items", key = "#ownerId + ':' + #page", ttl = 1)
+        public List<Item> items(Long ownerId, int page) {
+            calls.incrementAndGet();
+            sleep();
+            return List.of(new Item(ownerId, "item-" + page), new Item(ownerId + 1, "item-" + page));
+        }
+
+        @CacheWithTTL(ttl = 1)
+        public Map<String, Long> counts(String a, String b) {
+            calls.incrementAndGet();
+            return Map.of(a, 1L, b, 2L);
+        }
+
+        @CacheWithTTL(value = "conditional", key = "#id", condition = "#id > 0", unless = "#result.isEmpty()")
+        public List<Item> conditional(long id) {
+            calls.incrementAndGet();
+            return id == 99 ? List.of() : List.of(new Item(id, "x"));
+        }
+
+        @CacheWithTTL(ttl = 1)
+        public Item byItem(Item item) {
+            calls.incrementAndGet();
+            return item;
+        }
+
+        @CacheWithTTL(value = "failing", key = "#id")
+        public Item failing(long id) {
+            calls.incrementAndGet();
+            sleep();
+            throw new IllegalStateException("boom");
+        }
+
+        private void sleep() {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private Catalog target;
+    private Catalog catalog;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenAnswer(inv -> store.get(inv.<String>getArgument(0)));
+        doAnswer(inv -> store.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(ops).set(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        target = new Catalog();
+        catalog = proxy(target, redisTemplate);
+    }
+
+    static Catalog proxy(Catalog target, StringRedisTemplate redisTemplate) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CacheWithTTLAspect(redisTemplate, new JacksonConfig().objectMapper()));
+        return factory.getProxy();
+    }
+
+    @Test
+    public void testReturnsTypedValueFromCache() {
+        List<Item> first = catalog.items(1L, 0);
+        List<Item> second = catalog.items(1L, 0);
+
+        assertThat(target.calls.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(second.get(0)).isInstanceOf(Item.class);
+        assertThat(store).containsKey("fcfs:items:1:0");
+    }
+
+    @Test
+    public void testDefaultKeyUsesAllArguments() {
+        catalog.counts("a", "b");
+        catalog.counts("a", "c");
+        Map<String, Long> cached = catalog.counts("a", "b");
+
+        assertThat(target.calls.get()).isEqualTo(2);
+        assertThat(cached).containsEntry("b", 2L);
+        assertThat(store).containsKeys("fcfs:Catalog.counts:[\"a\",\"b\"]", "fcfs:Catalog.counts:[\"a\",\"c\"]");
+    }
+
+    @Test
+    public void testDefaultKeyDoesNotCollideOnSeparators() {
+        // toString으로 이어 붙이면 둘 다 "[a, b, c]"
+        catalog.counts("a, b", "c");
+        Map<String, Long> other = catalog.counts("a", "b, c");
+
+        assertThat(target.calls.get()).isEqualTo(2);
+        assertThat(other).containsEntry("b, c", 2L);
+    }
+
+    @Test
+    public void testDefaultKeyRequiresValueTypeArguments() {
+        assertThatThrownBy(() -> catalog.byItem(new Item(1L, "x")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("explicit key");
+        assertThat(target.calls.get()).isZero();
+    }
+
+    @Test
+    public void testConditionAndUnless() {
+        catalog.conditional(-1);
+        catalog.conditional(-1);
+        assertThat(target.calls.get()).isEqualTo(2);
+
+        catalog.conditional(99);
+        catalog.conditional(99);
+        assertThat(target.calls.get()).isEqualTo(4);
+
+        catalog.conditional(1);
+        catalog.conditional(1);
+        assertThat(target.calls.get()).isEqualTo(5);
+        assertThat(store).containsOnlyKeys("fcfs:conditional:1");
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        target.delayMillis = 100;
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<List<Item>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return catalog.items(7L, 1);
+                }));
+            }
+            start.countDown();
+            for (Future<List<Item>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).hasSize(2);
+            }
+        }
+        assertThat(target.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWaitersReceiveLoaderFailure() throws Exception {
+        target.delayMillis = 100;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> first = executor.submit(() -> catalog.failing(1));
+            Thread.sleep(20);
+            Future<?> second = executor.submit(() -> catalog.failing(1));
+
+            assertThatThrownBy(first::get).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(second::get).hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(target.calls.get()).isEqualTo(1);
+        assertThat(store).isEmpty();
+    }
+
+    @Test
+    public void testEarlyRefreshNearExpiry() {
+        catalog.items(1L, 0);
+        String key = "fcfs:items:1:0";
+
+        // 만료 1ms 전, 재계산 시간 10초로 기록된 값 → 거의 확실히 조기 갱신
+        String json = store.get(key).substring(store.get(key).indexOf(':', store.get(key).indexOf(':') + 1) + 1);
+        store.put(key, (System.currentTimeMillis() + 1) + ":10000:" + json);
+        catalog.items(1L, 0);
+        assertThat(target.calls.get()).isEqualTo(2);
+
+        // 방금 갱신된 값은 만료까지 여유가 있어 그대로 사용
+        catalog.items(1L, 0);
+        assertThat(target.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testEarlyRefreshDoesNotBlockOtherCallers() throws Exception {
+        catalog.items(1L, 0);
+        String key = "fcfs:items:1:0";
+        String json = store.get(key).substring(store.get(key).indexOf(':', store.get(key).indexOf(':') + 1) + 1);
+        // 만료 10초 전이지만 재계산 시간이 매우 커서 모든 호출이 조기 갱신 대상
+        store.put(key, (System.currentTimeMillis() + 10_000) + ":100000000:" + json);
+        target.delayMillis = 500;
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<List<Item>> refresher = executor.submit(() -> catalog.items(1L, 0));
+            while (target.calls.get() < 2) {
+                Thread.onSpinWait();
+            }
+
+            // 진행 중인 갱신을 기다리지 않고 아직 유효한 값을 바로 반환
+            long start = System.nanoTime();
+            assertThat(catalog.items(1L, 0)).hasSize(2);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(250);
+
+            assertThat(refresher.get(5, TimeUnit.SECONDS)).hasSize(2);
+        }
+        assertThat(target.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRefreshProbability() {
+        long expiresAt = 10_000;
+        // 만료까지 남은 시간이 delta보다 훨씬 크면 갱신하지 않음
+        assertThat(CacheWithTTLAspect.shouldRefreshEarly(0, expiresAt, 10, 1.0, 0.5)).isFalse();
+        // 만료 시각이 지났으면 항상 갱신
+        assertThat(CacheWithTTLAspect.shouldRefreshEarly(expiresAt, expiresAt, 10, 1.0, 1.0)).isTrue();
+        // 남은 시간(100ms) < delta * -ln(rand) 이면 갱신
+        assertThat(CacheWithTTLAspect.shouldRefreshEarly(expiresAt - 100, expiresAt, 1000, 1.0, 0.5)).isTrue();
+        assertThat(CacheWithTTLAspect.shouldRefreshEarly(expiresAt - 100, expiresAt, 1000, 1.0, 0.95)).isFalse();
+    }
+
+    @Test
+    public void testRedisFailureFallsBackToMethod() {
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(catalog.items(1L, 0)).hasSize(2);
+        assertThat(catalog.items(1L, 0)).hasSize(2);
+        assertThat(target.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUnreadableValueIsReloaded() {
+        store.put("fcfs:items:1:0", "not-a-cache-entry");
+
+        assertThat(catalog.items(1L, 0)).hasSize(2);
+        assertThat(target.calls.get()).isEqualTo(1);
+        assertThat(store.get("fcfs:items:1:0")).isNotEqualTo("not-a-cache-entry");
+    }
+}
@@ -0,0 +1,160 @@
+package csw.fcfs.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import csw.fcfs.config.cache.CacheWithTTLAspectTests.Catalog;
+import csw.fcfs.config.cache.CacheWithTTLAspectTests.Item;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 핫 키가 만료된 순간 동시 요청이 몰릴 때 원본 조회 횟수 비교
+ * - Spring @Cacheable (sync = false, 기본값): 미스한 요청 모두 원본 조회
+ * - @CacheWithTTL: 노드 안 single-flight로 1회
+ * 두 경우 모두 저장소는 인-메모리 (Redis 왕복 비용 제외, 캐시 계층 동작만 비교)
+ */
+@Slf4j
+public class CacheWithTTLBenchmarkTest {
+
+    private static final int THREADS = 64;
+    private static final int WARMUP = 20_000;
+    private static final int ROUNDS = 20;
+    private static final long LOAD_MILLIS = 20;
+
+    public static class SpringCatalog {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        // CGLIB 프록시에서는 필드가 비어 있으므로 메서드로 노출
+        public int calls() {
+            return calls.get();
+        }
+
+        @Cacheable(value = "items", key = "#ownerId + ':' + #page")
+        public List<Item> items(Long ownerId, int page) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(LOAD_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new Item(ownerId, "item-" + page), new Item(ownerId + 1, "item-" + page));
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class SpringCacheConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("items");
+        }
+
+        @Bean
+        SpringCatalog springCatalog() {
+            return new SpringCatalog();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void benchmarkHotKeyExpiry_CacheableVsCacheWithTTL() throws Exception {
+        Map<String, String> store = new ConcurrentHashMap<>();
+        // stubOnly: 호출 기록을 남기지 않아 동시 호출 시 mock 자체 오버헤드 최소화
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class, withSettings().stubOnly());
+        ValueOperations<String, String> ops = mock(ValueOperations.class, withSettings().stubOnly());
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenAnswer(inv -> store.get(inv.<String>getArgument(0)));
+        doAnswer(inv -> store.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(ops).set(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        Catalog target = new Catalog();
+        target.delayMillis = LOAD_MILLIS;
+        Catalog catalog = CacheWithTTLAspectTests.proxy(target, redisTemplate);
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(SpringCacheConfig.class)) {
+            SpringCatalog springCatalog = context.getBean(SpringCatalog.class);
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+
+            // JIT 워밍업 (프록시/SpEL/직렬화 경로)
+            for (int i = 0; i < WARMUP; i++) {
+                springCatalog.items(1L, 0);
+                catalog.items(1L, 0);
+            }
+            int springWarmupCalls = springCatalog.calls();
+            int aspectWarmupCalls = target.calls.get();
+
+            long springNanos = 0;
+            long aspectNanos = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                // 매 라운드 시작 시 키 만료
+                cacheManager.getCache("items").clear();
+                store.clear();
+
+                springNanos += stampede(() -> springCatalog.items(1L, 0));
+                aspectNanos += stampede(() -> catalog.items(1L, 0));
+            }
+
+            int springLoads = springCatalog.calls() - springWarmupCalls;
+            int aspectLoads = target.calls.get() - aspectWarmupCalls;
+            log.info("Hot key expiry x{} with {} concurrent readers: @Cacheable {} loads / {} ms, @CacheWithTTL {} loads / {} ms",
+                    ROUNDS, THREADS,
+                    springLoads, TimeUnit.NANOSECONDS.toMillis(springNanos),
+                    aspectLoads, TimeUnit.NANOSECONDS.toMillis(aspectNanos));
+
+            assertThat(aspectLoads).isEqualTo(ROUNDS);
+            assertThat(springLoads).isGreaterThan(aspectLoads);
+        }
+    }
+
+    private static long stampede(Supplier<List<Item>> call) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        assertThat(call.get()).hasSize(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            done.await(10, TimeUnit.SECONDS);
+            return System.nanoTime() - begin;
+        }
+    }
+}
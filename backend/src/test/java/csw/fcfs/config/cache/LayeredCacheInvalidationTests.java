@@ -0,0 +1,71 @@
+package csw.fcfs.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 조회 도중 도착한 무효화 메시지 처리 (Redis 계층은 메모리 캐시로 대체)
+ */
+public class LayeredCacheInvalidationTests {
+
+    private Cache<String, Object> local;
+    private LayeredCache cache;
+    private Runnable duringRemoteRead = () -> { };
+
+    @BeforeEach
+    public void setUp() {
+        local = Caffeine.newBuilder().build();
+        ConcurrentMapCache remote = new ConcurrentMapCache("remote") {
+            @Override
+            public ValueWrapper get(Object key) {
+                ValueWrapper wrapper = super.get(key);
+                duringRemoteRead.run();
+                return wrapper;
+            }
+        };
+        remote.put(1L, "stale");
+        cache = new LayeredCache("test", local, remote, (name, key) -> { }, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void evictDuringRemoteRead_doesNotLeaveStaleLocalEntry() {
+        // 다른 노드의 EVICT가 Redis 조회와 로컬 put 사이에 도착
+        duringRemoteRead = () -> cache.evictLocal("1");
+
+        assertThat(cache.get(1L, String.class)).isEqualTo("stale");
+        assertThat(local.getIfPresent("1")).isNull();
+    }
+
+    @Test
+    public void evictDuringLoad_doesNotLeaveStaleLocalEntry() throws InterruptedException {
+        // 로더 실행 중에는 같은 키의 무효화가 다른 스레드(pub/sub 리스너)에서 들어온다
+        Thread[] listener = new Thread[1];
+        duringRemoteRead = () -> {
+            listener[0] = Thread.ofPlatform().start(() -> cache.evictLocal("2"));
+            while (listener[0].getState() == Thread.State.NEW || listener[0].getState() == Thread.State.RUNNABLE) {
+                Thread.onSpinWait();
+            }
+        };
+
+        assertThat(cache.get(2L, () -> "loaded")).isEqualTo("loaded");
+        listener[0].join();
+        assertThat(local.getIfPresent("2")).isNull();
+    }
+
+    @Test
+    public void readWithoutInvalidation_fillsLocalTier() {
+        assertThat(cache.get(1L, String.class)).isEqualTo("stale");
+        assertThat(cache.get(3L, () -> "loaded")).isEqualTo("loaded");
+
+        assertThat(local.getIfPresent("1")).isEqualTo("stale");
+        assertThat(local.getIfPresent("3")).isEqualTo("loaded");
+    }
+}
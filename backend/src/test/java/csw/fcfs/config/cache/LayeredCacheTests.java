@@ -0,0 +1,159 @@
+package csw.fcfs.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class LayeredCacheTests {
+
+    private static final String CACHE = "layered-test";
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private LayeredCacheProperties properties;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.getCache(CACHE).clear();
+    }
+
+    @Test
+    public void testLocalTierServesRepeatedReads() {
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put(1L, "first");
+
+        double before = localHits();
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.get(1L, String.class)).isEqualTo("first");
+        }
+        assertThat(localHits() - before).isEqualTo(100);
+    }
+
+    @Test
+    public void testLocalMissIsFilledFromRedisTier() {
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put(2L, "shared");
+
+        // 다른 노드처럼 로컬 계층만 비운 뒤 조회하면 Redis 계층에서 채워진다
+        nativeLocal(cache).invalidateAll();
+        assertThat(cache.get(2L, String.class)).isEqualTo("shared");
+        assertThat(nativeLocal(cache).getIfPresent("2")).isEqualTo("shared");
+    }
+
+    @Test
+    public void testRemoteInvalidationEvictsOnlyLocalTier() {
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put(3L, "stale");
+
+        // 다른 노드가 보낸 EVICT 메시지
+        ((LayeredCacheManager) cacheManager).onMessage(message("EVICT|other-node|" + CACHE + "|3"), null);
+        assertThat(nativeLocal(cache).getIfPresent("3")).isNull();
+
+        ((LayeredCacheManager) cacheManager).onMessage(message("CLEAR|other-node|" + CACHE), null);
+        assertThat(nativeLocal(cache).estimatedSize()).isZero();
+    }
+
+    @Test
+    public void testEvictIsBroadcastToOtherNodes() throws InterruptedException {
+        // 같은 Redis를 바라보는 두 번째 노드
+        LayeredCacheManager otherNode = new LayeredCacheManager(
+                ((LayeredCacheManager) cacheManager).redisCacheManager(), properties,
+                properties.getTtl(), redisTemplate, meterRegistry);
+        otherNode.afterPropertiesSet();
+
+        Cache local = cacheManager.getCache(CACHE);
+        Cache remote = otherNode.getCache(CACHE);
+        local.put(4L, "v1");
+        assertThat(remote.get(4L, String.class)).isEqualTo("v1");
+
+        ChannelTopic topic = new ChannelTopic(properties.getInvalidationChannel());
+        listenerContainer.addMessageListener(otherNode, topic);
+        try {
+            local.evict(4L);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (nativeLocal(remote).getIfPresent("4") != null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(nativeLocal(remote).getIfPresent("4")).isNull();
+        } finally {
+            listenerContainer.removeMessageListener(otherNode, topic);
+        }
+        assertThat(remote.get(4L)).isNull();
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws InterruptedException {
+        Cache cache = cacheManager.getCache(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        cache.get(5L, () -> {
+                            loads.incrementAndGet();
+                            Thread.sleep(50);
+                            return "loaded";
+                        });
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.get(5L, String.class)).isEqualTo("loaded");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<String, Object> nativeLocal(Cache cache) {
+        Object unwrapped = cache.getNativeCache();
+        return (com.github.benmanes.caffeine.cache.Cache<String, Object>) unwrapped;
+    }
+
+    private double localHits() {
+        return meterRegistry.counter("cache.layered.gets", "cache", CACHE, "tier", "local", "result", "hit").count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(new byte[0], body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,148 @@
+package csw.fcfs.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import csw.fcfs.config.security.jwt.JwtTokenProvider;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import jakarta.servlet.FilterChain;
+
+public class RateLimitFilterTests {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private RateLimitService rateLimitService;
+    private JwtTokenProvider jwtTokenProvider;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        rateLimitService = mock(RateLimitService.class);
+        when(rateLimitService.resolveEndpoint(anyString())).thenReturn(null);
+        when(rateLimitService.resolveEndpoint("/api/claims/1")).thenReturn("claims");
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3_600_000);
+        filter = new RateLimitFilter(rateLimitService, jwtTokenProvider);
+    }
+
+    @Test
+    public void rejectedRequest_stopsBeforeChainWithRetryAfterAndNoBody() throws Exception {
+        when(rateLimitService.tryConsume("claims", "ip:10.0.0.1")).thenReturn(RateLimitDecision.rejected(1_500));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/claims/1");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, never()).doFilter(request, response);
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentLength()).isZero();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    public void allowedRequest_continuesChain() throws Exception {
+        when(rateLimitService.tryConsume("claims", "ip:10.0.0.1")).thenReturn(RateLimitDecision.ALLOWED);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/claims/1");
+        request.setRemoteAddr("10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    public void postClaimRoute_sharesClaimLimit() throws Exception {
+        // 기본 설정의 실제 경로 매칭으로 /api/posts/{id}/claim도 claims 버킷에서 거절되는지
+        RedisService redisService = mock(RedisService.class);
+        when(redisService.getRateLimitScriptSha1()).thenReturn("sha");
+        when(redisService.executeListScriptBySha1(eq("sha"), anyList(), any(String[].class)))
+                .thenReturn(List.of("0", "30000"));
+        RateLimitFilter realFilter = new RateLimitFilter(
+                new RateLimitService(redisService, new RateLimitProperties()), jwtTokenProvider);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/posts/5/claim");
+        request.setRemoteAddr("10.0.0.4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        realFilter.doFilter(request, response, chain);
+
+        verify(chain, never()).doFilter(request, response);
+        assertThat(response.getStatus()).isEqualTo(429);
+        verify(redisService).executeListScriptBySha1(eq("sha"),
+                eq(List.of("ratelimit:claims:ip:10.0.0.4")), any(String[].class));
+    }
+
+    @Test
+    public void unlimitedPath_skipsLimiter() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        verify(rateLimitService, never()).tryConsume(anyString(), anyString());
+    }
+
+    @Test
+    public void clientKey_usesUserOnlyForVerifiedTokens() {
+        String token = jwtTokenProvider.createToken(UserAccount.builder()
+                .id(7L)
+                .email("user7@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build());
+        MockHttpServletRequest verified = new MockHttpServletRequest("POST", "/api/claims/1");
+        verified.addHeader("Authorization", "Bearer " + token);
+        verified.setRemoteAddr("10.0.0.1");
+        assertThat(filter.clientKey(verified)).isEqualTo("uid:7");
+
+        // 이전 형식 토큰(uid 없음)은 subject로
+        MockHttpServletRequest legacy = new MockHttpServletRequest("POST", "/api/claims/1");
+        legacy.addHeader("Authorization", "Bearer " + jwtTokenProvider.createToken("legacy@test.com", Role.USER));
+        assertThat(filter.clientKey(legacy)).isEqualTo("sub:legacy@test.com");
+    }
+
+    @Test
+    public void clientKey_forgedTokensShareTheIpBucket() {
+        // 서명만 바꾼 토큰마다 새 버킷을 받지 못하도록 검증 실패는 IP 키
+        for (String signature : new String[] {"forged1", "forged2"}) {
+            MockHttpServletRequest forged = new MockHttpServletRequest("POST", "/api/claims/1");
+            forged.addHeader("Authorization", "Bearer aaa.bbb." + signature);
+            forged.setRemoteAddr("10.0.0.2");
+            assertThat(filter.clientKey(forged)).isEqualTo("ip:10.0.0.2");
+        }
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("POST", "/api/claims/1");
+        anonymous.setRemoteAddr("10.0.0.2");
+        assertThat(filter.clientKey(anonymous)).isEqualTo("ip:10.0.0.2");
+    }
+
+    @Test
+    public void clientKey_ignoresClientSuppliedForwardedFor() {
+        // 신뢰 프록시 처리는 RemoteIpValve 몫 - 필터는 헤더를 직접 읽지 않는다
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/claims/1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+        request.setRemoteAddr("10.0.0.3");
+        assertThat(filter.clientKey(request)).isEqualTo("ip:10.0.0.3");
+    }
+}
@@ -0,0 +1,128 @@
+package csw.fcfs.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import csw.fcfs.service.RedisService;
+
+/**
+ * 로컬 tier 동작 (Redis 스크립트 호출은 mock)
+ */
+public class RateLimitServiceTests {
+
+    private static final String SHA1 = "rate-limit-sha1";
+
+    private RedisService redisService;
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        redisService = mock(RedisService.class);
+        when(redisService.getRateLimitScriptSha1()).thenReturn(SHA1);
+        properties = new RateLimitProperties();
+    }
+
+    @Test
+    public void leasedTokens_areConsumedLocally() {
+        // 5개씩 가져오므로 10개 요청에 Redis 왕복 2회
+        when(redisService.executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class)))
+                .thenReturn(List.of("5", "0"));
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.tryConsume("claims", "user@test.com").allowed()).isTrue();
+        }
+
+        verify(redisService, times(2)).executeListScriptBySha1(eq(SHA1),
+                eq(List.of("ratelimit:claims:user@test.com")), eq("10"), eq("60000"), eq("5"));
+    }
+
+    @Test
+    public void rejection_isServedLocallyUntilNextToken() {
+        when(redisService.executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class)))
+                .thenReturn(List.of("0", "30000"));
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        RateLimitDecision first = service.tryConsume("claims", "flood");
+        RateLimitDecision second = service.tryConsume("claims", "flood");
+
+        assertThat(first.allowed()).isFalse();
+        assertThat(first.retryAfterMillis()).isEqualTo(30_000);
+        assertThat(second.allowed()).isFalse();
+        assertThat(second.retryAfterMillis()).isBetween(1L, 30_000L);
+        verify(redisService, times(1)).executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class));
+    }
+
+    @Test
+    public void expiredLease_goesBackToRedis() throws Exception {
+        properties.setLeaseTimeout(Duration.ofMillis(20));
+        when(redisService.executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class)))
+                .thenReturn(List.of("5", "0"));
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        service.tryConsume("claims", "slow");
+        Thread.sleep(50);
+        service.tryConsume("claims", "slow");
+
+        verify(redisService, times(2)).executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class));
+    }
+
+    @Test
+    public void localBuckets_areBounded() {
+        properties.setMaxLocalBuckets(100);
+        when(redisService.executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class)))
+                .thenReturn(List.of("1", "0"));
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        // X-Forwarded-For로 IP를 바꿔가며 보내도 로컬 버킷 수는 상한을 넘지 않는다
+        for (int i = 0; i < 10_000; i++) {
+            service.tryConsume("claims", "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertThat(service.localBucketCount()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    public void endpoints_matchByPathPrefix() {
+        properties.getEndpoints().put("posts",
+                new RateLimitProperties.Endpoint("/api/posts", 100, Duration.ofSeconds(1), 10));
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        assertThat(service.resolveEndpoint("/api/claims/42")).isEqualTo("claims");
+        assertThat(service.resolveEndpoint("/api/posts")).isEqualTo("posts");
+        assertThat(service.resolveEndpoint("/api/users/me")).isNull();
+
+        properties.setEnabled(false);
+        assertThat(service.resolveEndpoint("/api/claims/42")).isNull();
+    }
+
+    @Test
+    public void claimEndpoint_coversPostClaimRoute() {
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        assertThat(service.resolveEndpoint("/api/posts/42/claim")).isEqualTo("claims");
+        assertThat(service.resolveEndpoint("/api/posts/42")).isNull();
+        assertThat(service.resolveEndpoint("/api/posts/42/claims")).isNull();
+    }
+
+    @Test
+    public void redisFailure_allowsRequest() {
+        when(redisService.executeListScriptBySha1(eq(SHA1), anyList(), any(String[].class)))
+                .thenThrow(new RedisService.RedisOperationException("down", new RuntimeException()));
+        RateLimitService service = new RateLimitService(redisService, properties);
+
+        assertThat(service.tryConsume("claims", "user").allowed()).isTrue();
+    }
+}
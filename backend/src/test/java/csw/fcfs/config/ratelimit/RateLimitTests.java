@@ -1,7 +1,9 @@
 package csw.fcfs.config.ratelimit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.Instant;
@@ -41,6 +43,12 @@ public class RateLimitTests {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
     // Track test-specific data for cleanup
     private List<UserAccount> testUsers = new ArrayList<>();
     private List<Long> testPostIds = new ArrayList<>();
@@ -50,6 +58,8 @@ public class RateLimitTests {
         // Clear test data trackers
         testUsers.clear();
         testPostIds.clear();
+        // 버킷이 Redis에 남으므로 이전 실행/다른 테스트의 소비량을 지운다 (MockMvc 요청은 IP 키)
+        rateLimitService.reset("claims", "ip:127.0.0.1");
 
         // Create test user
         UserAccount user = UserAccount.builder()
@@ -76,6 +86,9 @@ public class RateLimitTests {
 
     @AfterEach
     public void tearDown() {
+        rateLimitService.reset("claims", "ip:127.0.0.1");
+        rateLimitService.reset("claims", "cluster-user");
+
         // Clean up test-specific Redis data
         for (Long postId : testPostIds) {
             try {
@@ -118,6 +131,28 @@ public class RateLimitTests {
 
         // 11th request should be rate limited
         mvc.perform(post("/api/claims/" + testPostIds.get(10)).with(csrf()))
-                .andExpect(status().isTooManyRequests());
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    public void limitIsSharedAcrossNodes() {
+        // 같은 Redis를 쓰는 두 노드가 번갈아 받아도 합계는 capacity를 넘지 않는다
+        RateLimitService nodeA = new RateLimitService(redisService, rateLimitProperties);
+        RateLimitService nodeB = new RateLimitService(redisService, rateLimitProperties);
+        rateLimitService.reset("claims", "cluster-user");
+
+        int allowed = 0;
+        for (int i = 0; i < 40; i++) {
+            RateLimitService node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryConsume("claims", "cluster-user").allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(10);
+        RateLimitDecision rejected = nodeA.tryConsume("claims", "cluster-user");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isPositive();
     }
 }
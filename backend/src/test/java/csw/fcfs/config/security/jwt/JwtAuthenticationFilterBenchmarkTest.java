@@ -0,0 +1,163 @@
+package csw.fcfs.config.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import csw.fcfs.user.AuthenticatedUser;
+import csw.fcfs.user.UserCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 같은 토큰으로 클레임 엔드포인트를 반복 호출할 때 JWT 필터 비용 비교
+ * - 이전: validateToken + getAuthentication, 요청마다 parser 생성 + HMAC 검증 2회
+ * - 이후: 재사용 parser로 1회 검증, 같은 토큰은 다이제스트 캐시에서 (HMAC 검증 없음)
+ * JMH 의존성이 없으므로 워밍업 후 단일 스레드 ns/op를 직접 측정한다.
+ */
+@Slf4j
+public class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int DISTINCT_TOKENS = 20_000;
+    private static final int ROUNDS = 3;
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    /**
+     * 변경 전 필터 동작을 그대로 재현
+     */
+    static class LegacyJwtFilter extends OncePerRequestFilter {
+
+        private final SecretKey key = Keys.hmacShaKeyFor(JwtTokenProviderTests.SECRET.getBytes(StandardCharsets.UTF_8));
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String token = request.getHeader("Authorization").substring(7);
+            if (validateToken(token)) {
+                Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        claims.getSubject(), null,
+                        Collections.singletonList(new SimpleGrantedAuthority((String) claims.get("role")))));
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean validateToken(String token) {
+            try {
+                Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    @Test
+    public void benchmarkFilter_sameToken() throws Exception {
+        JwtTokenProvider provider = new JwtTokenProvider(JwtTokenProviderTests.SECRET, 3_600_000);
+        String token = provider.createToken(JwtTokenProviderTests.user(1L));
+
+        long legacy = nanosPerOp(LegacyJwtFilter::new, i -> token);
+        long current = nanosPerOp(() -> newFilter(new JwtTokenProvider(JwtTokenProviderTests.SECRET, 3_600_000)),
+                i -> token);
+
+        log.info("JWT filter, same token: legacy {} ns/op, cached {} ns/op ({}x)",
+                legacy, current, String.format("%.1f", (double) legacy / current));
+        assertThat(current).isLessThan(legacy);
+    }
+
+    @Test
+    public void benchmarkFilter_distinctTokens() throws Exception {
+        // 캐시 미스 경로: 단일 파싱 + 재사용 parser 효과만 측정
+        JwtTokenProvider provider = new JwtTokenProvider(JwtTokenProviderTests.SECRET, 3_600_000);
+        String[] tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = provider.createToken(JwtTokenProviderTests.user((long) i));
+        }
+
+        long legacy = nanosPerOp(LegacyJwtFilter::new, i -> tokens[i % tokens.length]);
+        // 측정 구간은 새 provider로 토큰마다 한 번씩만 호출 (모두 캐시 미스)
+        long current = nanosPerOp(() -> newFilter(new JwtTokenProvider(JwtTokenProviderTests.SECRET, 3_600_000)),
+                i -> tokens[i], DISTINCT_TOKENS);
+
+        log.info("JWT filter, distinct tokens (cache miss): legacy {} ns/op, single-pass {} ns/op ({}x)",
+                legacy, current, String.format("%.1f", (double) legacy / current));
+        // 미스 경로는 다이제스트 계산 + 캐시 적재가 줄어든 파싱 1회를 일부 상쇄하므로 회귀 여부만 본다
+        assertThat(current).isLessThanOrEqualTo(legacy * 5 / 4);
+    }
+
+    private static OncePerRequestFilter newFilter(JwtTokenProvider provider) {
+        // role/premium 갱신은 측정 대상이 아니므로 토큰 값을 그대로 사용 (mock 호출 비용 제외)
+        UserCache userCache = new UserCache(null, null) {
+            @Override
+            public AuthenticatedUser refresh(AuthenticatedUser fromToken) {
+                return fromToken;
+            }
+        };
+        return new JwtAuthenticationFilter(provider, userCache);
+    }
+
+    private interface TokenSource {
+        String token(int iteration);
+    }
+
+    private static long nanosPerOp(Supplier<OncePerRequestFilter> filters, TokenSource tokens) throws Exception {
+        return nanosPerOp(filters, tokens, ITERATIONS);
+    }
+
+    private static long nanosPerOp(Supplier<OncePerRequestFilter> filters, TokenSource tokens, int iterations)
+            throws Exception {
+        // JIT 워밍업은 별도 인스턴스로, iterations마다 새로 만들어 캐시 미스 경로도 워밍업한다
+        OncePerRequestFilter warmup = null;
+        for (int i = 0; i < WARMUP; i++) {
+            if (i % iterations == 0) {
+                warmup = filters.get();
+            }
+            run(warmup, tokens.token(i % iterations));
+        }
+
+        // 측정 인스턴스의 토큰 캐시는 비어 있는 상태로 시작, GC/JIT 잡음을 줄이려 최솟값 사용
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            OncePerRequestFilter filter = filters.get();
+            long begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                run(filter, tokens.token(i));
+            }
+            best = Math.min(best, (System.nanoTime() - begin) / iterations);
+        }
+        SecurityContextHolder.clearContext();
+        return best;
+    }
+
+    private static void run(OncePerRequestFilter filter, String token) throws Exception {
+        // OncePerRequestFilter는 요청 속성으로 재진입을 막으므로 요청마다 새 객체
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/claims/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,78 @@
+package csw.fcfs.config.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import csw.fcfs.user.AuthenticatedUser;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+
+public class JwtTokenProviderTests {
+
+    static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000);
+
+    @Test
+    public void verifiedToken_isServedFromCacheWithSameUser() {
+        String token = provider.createToken(user(7L));
+
+        AuthenticatedUser first = provider.authenticate(token).orElseThrow();
+        AuthenticatedUser second = provider.authenticate(token).orElseThrow();
+
+        assertThat(first).isEqualTo(new AuthenticatedUser(7L, "user7@test.com", Role.USER, false));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void tamperedToken_isRejectedEvenAfterOriginalWasCached() {
+        String token = provider.createToken(user(7L));
+        provider.authenticate(token);
+
+        // 서명 첫 문자를 바꾸면 다이제스트가 달라 캐시를 타지 않고 검증에서 실패
+        // (마지막 문자는 하위 비트가 버려져 같은 서명으로 디코딩될 수 있음)
+        int signature = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signature);
+        String tampered = token.substring(0, signature) + (first == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertThat(provider.authenticate(tampered)).isEmpty();
+        assertThat(provider.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    public void tokenFromOtherKey_isRejected() {
+        JwtTokenProvider other = new JwtTokenProvider("another-secret-key-that-is-long-enough-for-hs256", 3_600_000);
+
+        assertThat(provider.authenticate(other.createToken(user(7L)))).isEmpty();
+    }
+
+    @Test
+    public void cachedToken_expiresWithToken() throws Exception {
+        JwtTokenProvider shortLived = new JwtTokenProvider(SECRET, 1_000);
+        String token = shortLived.createToken(user(7L));
+        assertThat(shortLived.authenticate(token)).isPresent();
+
+        Thread.sleep(1_100);
+
+        assertThat(shortLived.authenticate(token)).isEmpty();
+    }
+
+    @Test
+    public void legacyToken_hasNoUid() {
+        String token = provider.createToken("legacy@test.com", Role.ADMIN);
+
+        assertThat(provider.authenticate(token))
+                .contains(new AuthenticatedUser(null, "legacy@test.com", Role.ADMIN, false));
+    }
+
+    static UserAccount user(Long id) {
+        return UserAccount.builder()
+                .id(id)
+                .email("user" + id + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build();
+    }
+}
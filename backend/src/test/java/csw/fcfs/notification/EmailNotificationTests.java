@@ -8,6 +8,7 @@ import java.security.Principal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import csw.fcfs.service.RedisService;
 import org.junit.jupiter.api.AfterEach;
@@ -23,6 +24,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import csw.fcfs.claim.ClaimService;
 import csw.fcfs.post.Post;
+import csw.fcfs.post.PostVisibility;
 import csw.fcfs.post.repository.PostRepository;
 import csw.fcfs.user.OAuth2Provider;
 import csw.fcfs.user.Role;
@@ -66,14 +68,24 @@ public class EmailNotificationTests {
                 .build();
         testUsers.add(userAccountRepository.save(user));
 
+        // 소유자는 자기 게시물을 클레임할 수 없으므로 별도 사용자
+        UserAccount owner = UserAccount.builder()
+                .email("email-owner@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build();
+        testUsers.add(userAccountRepository.save(owner));
+
         // Create test post
         Post post = Post.builder()
                 .title("Test Post for Email")
                 .description("Test Description")
                 .quota((short) 1)
-                .owner(user)
+                .owner(owner)
                 .openAt(Instant.now())
                 .state(csw.fcfs.post.PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
                 .build();
         Post savedPost = postRepository.save(post);
         testPostIds.add(savedPost.getId());
@@ -119,13 +131,14 @@ public class EmailNotificationTests {
     }
 
     @Test
-    public void testEmailSentOnSuccessfulClaim() {
+    public void testEmailSentOnSuccessfulClaim() throws Exception {
         // Get the test user and post
         UserAccount user = testUsers.get(0);
         Long postId = testPostIds.get(0);
 
+        // 컨트롤러와 같은 비동기 경로 (저널이 기록 후 메일 발송)
         Principal principal = () -> user.getEmail();
-        claimService.claimPost(postId, principal);
+        assertThat(claimService.claimPostAsync(postId, principal).get()).isEqualTo("SUCCESS");
 
         ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
         verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
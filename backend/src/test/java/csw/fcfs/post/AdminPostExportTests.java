@@ -0,0 +1,149 @@
+package csw.fcfs.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.claim.dto.ClaimDto;
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.dto.PostAdminDto;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AdminPostExportTests {
+
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+    private UserAccount owner;
+    private UserAccount claimant;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userAccountRepository.save(user("exportowner"));
+        claimant = userAccountRepository.save(user("exportclaimant"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            try {
+                jdbcTemplate.update("DELETE FROM claim WHERE post_id = ?", postId);
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        try {
+            userAccountRepository.deleteById(owner.getId());
+            userAccountRepository.deleteById(claimant.getId());
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
+    }
+
+    @Test
+    public void export_deliversEveryPostOnceInBoundedBatches() {
+        // 배치 크기(200)를 넘겨 여러 배치에 걸치도록
+        seed(450);
+        Long claimedPostId = testPostIds.get(321);
+        Instant acceptedAt = Instant.now();
+        jdbcTemplate.update("INSERT INTO claim (post_id, user_id, rank, accepted_at, created_at) VALUES (?, ?, ?, ?, ?)",
+                claimedPostId, claimant.getId(), 1L, Timestamp.from(acceptedAt), Timestamp.from(acceptedAt));
+
+        List<Integer> batchSizes = new ArrayList<>();
+        Map<Long, PostAdminDto> exported = new HashMap<>();
+        Set<Long> duplicates = new HashSet<>();
+        List<Long> order = new ArrayList<>();
+        postService.forEachPostForAdmin(batch -> {
+            batchSizes.add(batch.size());
+            for (PostAdminDto post : batch) {
+                if (exported.put(post.id(), post) != null) {
+                    duplicates.add(post.id());
+                }
+                order.add(post.id());
+            }
+        });
+
+        assertThat(duplicates).isEmpty();
+        assertThat(exported.keySet()).containsAll(testPostIds);
+        assertThat(order).isSorted();
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(200));
+        assertThat(batchSizes.size()).isGreaterThanOrEqualTo(3);
+
+        List<ClaimDto> claims = exported.get(claimedPostId).claims();
+        assertThat(claims).hasSize(1);
+        assertThat(claims.get(0).user().id()).isEqualTo(claimant.getId());
+        assertThat(exported.get(testPostIds.get(0)).claims()).isEmpty();
+    }
+
+    @Test
+    public void getAllPostsForAdmin_matchesExport() {
+        seed(5);
+
+        List<Long> exported = new ArrayList<>();
+        postService.forEachPostForAdmin(batch -> batch.forEach(post -> exported.add(post.id())));
+
+        assertThat(postService.getAllPostsForAdmin().stream().map(PostAdminDto::id).toList())
+                .containsExactlyElementsOf(exported);
+    }
+
+    private void seed(int count) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(Post.builder()
+                    .owner(owner)
+                    .title("Export " + i + " " + testRunId)
+                    .description("Admin export test post")
+                    .quota((short) 10)
+                    .state(PostState.OPEN)
+                    .visibility(PostVisibility.PUBLIC)
+                    .shareCode(UUID.randomUUID())
+                    .openAt(Instant.now())
+                    .closeAt(Instant.now().plusSeconds(3600))
+                    .build());
+        }
+        postRepository.saveAll(posts).forEach(post -> testPostIds.add(post.getId()));
+    }
+
+    private UserAccount user(String prefix) {
+        return UserAccount.builder()
+                .email(prefix + testRunId + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build();
+    }
+}
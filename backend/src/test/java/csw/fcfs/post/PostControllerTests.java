@@ -1,7 +1,9 @@
 package csw.fcfs.post;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
@@ -26,9 +28,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import csw.fcfs.config.ratelimit.RateLimitService;
 import csw.fcfs.config.security.jwt.JwtTokenProvider;
+import csw.fcfs.post.dto.KeysetPageResponse;
 import csw.fcfs.post.dto.PostDto;
 import csw.fcfs.storage.StorageService;
+import csw.fcfs.user.UserCache;
 
 @WebMvcTest(PostController.class)
 public class PostControllerTests {
@@ -45,6 +50,12 @@ public class PostControllerTests {
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    private UserCache userCache;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -103,6 +114,39 @@ public class PostControllerTests {
                 .andExpect(jsonPath("$.content[0].title").value("Test Title"));
     }
 
+    @Test
+    public void shouldGetPostsInKeysetMode() throws Exception {
+        PostDto postDto = PostDto.withAuthor(1L, "Test Title", "Test Description", (short) 10, 
+                Instant.now(), Instant.now().plusSeconds(3600), 
+                Collections.singletonList("test"), Collections.emptyList(), 
+                0, "testuser", null);
+        given(postService.getVisiblePostsKeyset(any(), eq(PostSortField.CREATED_AT), eq(true), eq("abc"), eq(9), eq(true)))
+                .willReturn(KeysetPageResponse.of(List.of(postDto), "next", 9, "createdAt", "desc", 42L));
+
+        mvc.perform(get("/api/posts")
+                .param("mode", "keyset")
+                .param("sortBy", "createdAt")
+                .param("cursor", "abc")
+                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.approximateTotal").value(42));
+    }
+
+    @Test
+    public void shouldRejectUnindexedSortField() throws Exception {
+        mvc.perform(get("/api/posts")
+                .param("sortBy", "description"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/posts")
+                .param("mode", "keyset")
+                .param("sortBy", "title"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(postService);
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     public void shouldUpdatePost() throws Exception {
@@ -0,0 +1,253 @@
+package csw.fcfs.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.Principal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.dto.CursorPageResponse;
+import csw.fcfs.post.dto.PostDto;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+import csw.fcfs.util.CursorUtil;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PostKeysetPaginationTests {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+    private UserAccount owner;
+    private Principal principal;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private RedisService redisService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        clearFeed();
+        owner = userAccountRepository.save(UserAccount.builder()
+                .email("keysetowner" + testRunId + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build());
+        principal = owner::getEmail;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            try {
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        try {
+            userAccountRepository.deleteById(owner.getId());
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
+        clearFeed();
+    }
+
+    @Test
+    public void deepPublicPage_readsIndexWithoutSortOrOffset() {
+        seed(200, PostVisibility.PUBLIC);
+        Post deep = oldestSeeded();
+
+        JsonNode plan = explain(PostRepository.PUBLIC_KEYSET_OLDER, Map.of(
+                "createdAt", timestamp(deep.getCreatedAt()), "id", deep.getId() + 100, "limit", PAGE_SIZE + 1));
+
+        assertKeysetPlan(plan, "ix_post_public_keyset");
+    }
+
+    @Test
+    public void deepOwnerPage_readsIndexWithoutSortOrOffset() {
+        seed(200, PostVisibility.PRIVATE);
+        Post deep = oldestSeeded();
+
+        JsonNode plan = explain(PostRepository.OWNER_HIDDEN_KEYSET_OLDER, Map.of(
+                "ownerId", owner.getId(), "createdAt", timestamp(deep.getCreatedAt()),
+                "id", deep.getId() + 100, "limit", PAGE_SIZE + 1));
+
+        assertKeysetPlan(plan, "ix_post_owner_hidden_keyset");
+    }
+
+    @Test
+    public void backwardPage_readsIndexWithoutSort() {
+        seed(200, PostVisibility.PUBLIC);
+        Post deep = oldestSeeded();
+
+        JsonNode plan = explain(PostRepository.PUBLIC_KEYSET_NEWER, Map.of(
+                "createdAt", timestamp(deep.getCreatedAt()), "id", deep.getId(), "limit", PAGE_SIZE + 1));
+
+        assertKeysetPlan(plan, "ix_post_public_keyset");
+    }
+
+    @Test
+    public void forwardAndBackward_walkSamePagesWithTiedTimestamps() {
+        // 같은 created_at을 공유하는 게시물이 페이지 경계에 걸치도록 3개씩 묶음
+        seed(12, PostVisibility.PUBLIC);
+        List<Long> seeded = new ArrayList<>(testPostIds);
+        Instant base = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < seeded.size(); i++) {
+            jdbcTemplate.update("UPDATE post SET created_at = ? WHERE id = ?",
+                    Timestamp.from(base.plusSeconds(i / 3)), seeded.get(i));
+        }
+
+        List<CursorPageResponse<PostDto>> forward = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<PostDto> page = postService.getVisiblePostsCursor(cursor, 4, principal);
+            forward.add(page);
+            cursor = page.nextCursor();
+        } while (cursor != null && forward.size() < 3);
+
+        List<Long> walked = new ArrayList<>();
+        forward.forEach(page -> walked.addAll(ids(page)));
+        List<Long> expected = new ArrayList<>(seeded);
+        Collections.reverse(expected); // created_at DESC, id DESC
+        assertThat(walked).containsExactlyElementsOf(expected);
+        assertThat(forward.get(0).prevCursor()).isNull();
+        assertThat(forward.get(1).prevCursor()).isNotNull();
+
+        // 세 번째 페이지에서 뒤로 두 번 가면 처음 두 페이지와 같다
+        CursorPageResponse<PostDto> second = postService.getVisiblePostsCursor(forward.get(2).prevCursor(), 4, principal);
+        assertThat(ids(second)).containsExactlyElementsOf(ids(forward.get(1)));
+        assertThat(second.nextCursor()).isEqualTo(forward.get(1).nextCursor());
+
+        CursorPageResponse<PostDto> first = postService.getVisiblePostsCursor(second.prevCursor(), 4, principal);
+        assertThat(ids(first)).containsExactlyElementsOf(ids(forward.get(0)));
+        assertThat(first.prevCursor()).isNull();
+    }
+
+    @Test
+    public void legacyTimestampCursor_isStillAccepted() {
+        seed(3, PostVisibility.PUBLIC);
+        Post newest = postRepository.findById(testPostIds.get(testPostIds.size() - 1)).orElseThrow();
+
+        String legacy = CursorUtil.encodeCursor(newest.getCreatedAt());
+        assertThat(CursorUtil.isValidCursor(legacy)).isTrue();
+        assertThat(ids(postService.getVisiblePostsCursor(legacy, PAGE_SIZE, principal)))
+                .doesNotContain(newest.getId());
+    }
+
+    private void assertKeysetPlan(JsonNode plan, String indexName) {
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(plan.get(0).get("Plan"), nodes);
+
+        List<String> nodeTypes = nodes.stream().map(node -> node.get("Node Type").asText()).toList();
+        assertThat(nodeTypes).doesNotContain("Sort", "Incremental Sort", "Seq Scan");
+
+        JsonNode scan = nodes.stream()
+                .filter(node -> indexName.equals(node.path("Index Name").asText()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Index " + indexName + " not used: " + plan));
+        assertThat(scan.get("Node Type").asText()).isIn("Index Only Scan", "Index Scan");
+        // OFFSET처럼 앞 페이지를 읽고 버리지 않고, LIMIT+1 행에서 멈춘다
+        assertThat(scan.get("Actual Rows").asLong()).isLessThanOrEqualTo(PAGE_SIZE + 1);
+    }
+
+    private JsonNode explain(String sql, Map<String, Object> params) {
+        return transactionTemplate.execute(status -> {
+            // 시드 행 수가 적어 planner가 seq scan을 고르지 않도록
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            String json = namedJdbcTemplate.queryForObject("EXPLAIN (ANALYZE, FORMAT JSON) " + sql, params, String.class);
+            try {
+                return objectMapper.readTree(json);
+            } catch (Exception e) {
+                throw new IllegalStateException("Unreadable plan: " + json, e);
+            }
+        });
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+
+    private void seed(int count, PostVisibility visibility) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(Post.builder()
+                    .owner(owner)
+                    .title("Keyset " + i + " " + testRunId)
+                    .description("Keyset pagination test post")
+                    .quota((short) 10)
+                    .state(PostState.OPEN)
+                    .visibility(visibility)
+                    .shareCode(UUID.randomUUID())
+                    .openAt(Instant.now())
+                    .closeAt(Instant.now().plusSeconds(3600))
+                    .build());
+        }
+        postRepository.saveAll(posts).forEach(post -> testPostIds.add(post.getId()));
+    }
+
+    private Post oldestSeeded() {
+        return postRepository.findById(testPostIds.get(0)).orElseThrow();
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static List<Long> ids(CursorPageResponse<PostDto> page) {
+        return page.content().stream().map(PostDto::id).toList();
+    }
+
+    private void clearFeed() {
+        redisService.deleteKeys(PublicFeedCache.FEED_KEY, PublicFeedCache.POSTS_KEY,
+                PublicFeedCache.READY_KEY, PublicFeedCache.LOCK_KEY);
+    }
+}
@@ -0,0 +1,123 @@
+package csw.fcfs.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import csw.fcfs.claim.ClaimDescriptorCache;
+import csw.fcfs.claim.ClaimEngine;
+import csw.fcfs.claim.ClaimEngines;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+
+/**
+ * 예약된 전환의 일괄 처리 (poll 스크립트/저장소는 mock)
+ */
+public class PostLifecycleServiceTests {
+
+    private static final String POLL_SHA1 = "lifecycle-poll-sha1";
+
+    private RedisService redisService;
+    private PostRepository postRepository;
+    private ClaimEngines claimEngines;
+    private ClaimDescriptorCache claimDescriptorCache;
+    private PostLifecycleService postLifecycleService;
+
+    @BeforeEach
+    public void setUp() {
+        redisService = mock(RedisService.class);
+        postRepository = mock(PostRepository.class);
+        claimEngines = mock(ClaimEngines.class);
+        claimDescriptorCache = mock(ClaimDescriptorCache.class);
+        when(redisService.getLifecyclePollScriptSha1()).thenReturn(POLL_SHA1);
+        when(redisService.executeListScriptBySha1(eq(POLL_SHA1), anyList(), any(String[].class))).thenReturn(List.of());
+        when(redisService.rangeByScore(anyString(), anyDouble(), anyDouble())).thenReturn(Set.of());
+        postLifecycleService = new PostLifecycleService(redisService, postRepository, claimEngines,
+                claimDescriptorCache, new PostLifecycleProperties(), mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        postLifecycleService.destroy();
+    }
+
+    @Test
+    public void dueEntries_areAppliedInBulk() {
+        when(redisService.executeListScriptBySha1(eq(POLL_SHA1), anyList(), any(String[].class)))
+                .thenReturn(List.of("open:1", "open:2", "close:3", "close:4", "close:5"));
+        when(postRepository.openScheduled(anyList(), any())).thenReturn(2);
+        when(postRepository.close(anyList())).thenReturn(3);
+
+        postLifecycleService.tick();
+
+        // 게시물마다가 아니라 전환 종류별 UPDATE 1회
+        verify(postRepository).openScheduled(eq(List.of(1L, 2L)), any());
+        verify(postRepository).close(List.of(3L, 4L, 5L));
+    }
+
+    @Test
+    public void prime_skipsPostsThatAlreadyHaveClaims() {
+        Post fresh = Post.builder().id(1L).build();
+        Post claimed = Post.builder().id(2L).build();
+        ClaimEngine engine = mock(ClaimEngine.class);
+        when(redisService.executeListScriptBySha1(eq(POLL_SHA1), anyList(), any(String[].class)))
+                .thenReturn(List.of("prime:1", "prime:2"));
+        when(postRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(fresh, claimed));
+        when(claimEngines.hasClaims(fresh)).thenReturn(false);
+        when(claimEngines.hasClaims(claimed)).thenReturn(true);
+        when(claimEngines.forPost(fresh)).thenReturn(engine);
+
+        postLifecycleService.tick();
+
+        verify(engine).prime(fresh);
+        verify(claimEngines, never()).forPost(claimed);
+        verify(postRepository, never()).openScheduled(anyList(), any());
+    }
+
+    @Test
+    public void upcomingOpens_warmDescriptorsOnEveryNode() {
+        when(redisService.rangeByScore(eq(PostLifecycleService.SCHEDULE_KEY), anyDouble(), anyDouble()))
+                .thenReturn(Set.of("open:7", "close:8"));
+
+        postLifecycleService.tick();
+
+        verify(claimDescriptorCache).getDescriptor(7L);
+        verify(claimDescriptorCache, never()).getDescriptor(8L);
+    }
+
+    @Test
+    public void soldOut_isScheduledOncePerNode() {
+        for (int i = 0; i < 100; i++) {
+            postLifecycleService.closeSoldOut(9L);
+        }
+
+        verify(redisService, times(1)).addToSortedSet(PostLifecycleService.SCHEDULE_KEY, "close:9", 0);
+    }
+
+    @Test
+    public void stateAt_followsOpenAndCloseTimes() {
+        Instant now = Instant.now();
+
+        assertThat(PostLifecycleService.stateAt(now.plusSeconds(60), now.plusSeconds(120), now)).isEqualTo(PostState.SCHEDULED);
+        assertThat(PostLifecycleService.stateAt(now, now.plusSeconds(120), now)).isEqualTo(PostState.OPEN);
+        assertThat(PostLifecycleService.stateAt(now.minusSeconds(60), null, now)).isEqualTo(PostState.OPEN);
+        assertThat(PostLifecycleService.stateAt(now.minusSeconds(120), now, now)).isEqualTo(PostState.CLOSED);
+    }
+}
@@ -0,0 +1,171 @@
+package csw.fcfs.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.dto.CursorPageResponse;
+import csw.fcfs.post.dto.PostDto;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.service.RedisService;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PublicFeedCacheTests {
+
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+    private UserAccount owner;
+    private Principal principal;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private RedisService redisService;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        clearFeed();
+        owner = userAccountRepository.save(UserAccount.builder()
+                .email("feedowner" + testRunId + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .isPremium(true) // 동시 게시물 10개까지
+                .build());
+        principal = owner::getEmail;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            redisService.deleteKeys("post:{" + postId + "}:claimants");
+            try {
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        try {
+            userAccountRepository.deleteById(owner.getId());
+        } catch (Exception e) {
+            // Ignore cleanup errors
+        }
+        clearFeed();
+    }
+
+    @Test
+    public void firstPage_isBuiltOnceAndServedFromRedis() {
+        PostDto older = create("older", PostVisibility.PUBLIC);
+        PostDto newer = create("newer", PostVisibility.PUBLIC);
+        create("hidden", PostVisibility.PRIVATE);
+
+        CursorPageResponse<PostDto> page = postService.getPublicPostsCursor(null, 50);
+        assertThat(ids(page)).containsSubsequence(newer.id(), older.id());
+        assertThat(redisTemplate.hasKey(PublicFeedCache.READY_KEY)).isTrue();
+
+        // DB 행을 서비스 밖에서 지워도 피드는 Redis에서 그대로 응답 (PostgreSQL 미조회)
+        postRepository.deleteById(older.id());
+        assertThat(ids(postService.getPublicPostsCursor(null, 50))).contains(older.id());
+    }
+
+    @Test
+    public void createUpdateDelete_areAppliedIncrementally() {
+        postService.getPublicPostsCursor(null, 10); // 피드 준비
+
+        PostDto post = create("incremental", PostVisibility.PUBLIC);
+        assertThat(ids(postService.getPublicPostsCursor(null, 10))).first().isEqualTo(post.id());
+
+        PostDto hidden = postService.updatePost(post.id(), withVisibility(post, PostVisibility.PRIVATE), null, principal);
+        assertThat(ids(postService.getPublicPostsCursor(null, 10))).doesNotContain(hidden.id());
+
+        PostDto shown = postService.updatePost(post.id(), withVisibility(post, PostVisibility.PUBLIC), null, principal);
+        assertThat(ids(postService.getPublicPostsCursor(null, 10))).contains(shown.id());
+
+        postService.deletePost(post.id(), principal);
+        assertThat(ids(postService.getPublicPostsCursor(null, 10))).doesNotContain(post.id());
+    }
+
+    @Test
+    public void claimCounts_areMergedAtReadTime() {
+        PostDto post = create("claims", PostVisibility.PUBLIC);
+        postService.getPublicPostsCursor(null, 10);
+
+        redisTemplate.opsForSet().add("post:{" + post.id() + "}:claimants", "1", "2", "3");
+
+        PostDto cached = postService.getPublicPostsCursor(null, 10).content().stream()
+                .filter(p -> p.id().equals(post.id()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(cached.currentClaims()).isEqualTo(3);
+    }
+
+    @Test
+    public void cursorPages_matchDatabaseOrder() {
+        for (int i = 0; i < 5; i++) {
+            create("page-" + i, PostVisibility.PUBLIC);
+        }
+
+        List<Long> fromFeed = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<PostDto> page = postService.getPublicPostsCursor(cursor, 2);
+            fromFeed.addAll(ids(page));
+            cursor = page.nextCursor();
+        } while (cursor != null && fromFeed.size() < 50);
+
+        List<Long> fromDatabase = postRepository.findFirstPublicPosts(
+                PageRequest.of(0, fromFeed.size())).stream()
+                .map(Post::getId)
+                .toList();
+        assertThat(fromFeed).containsExactlyElementsOf(fromDatabase);
+    }
+
+    private PostDto create(String title, PostVisibility visibility) {
+        PostDto dto = new PostDto(null, "Feed " + title + " " + testRunId, "Public feed test post", (short) 10,
+                Instant.now(), Instant.now().plusSeconds(3600), List.of(), List.of(), 0, null, null, visibility, null);
+        PostDto created = postService.createPost(dto, null, principal);
+        testPostIds.add(created.id());
+        return created;
+    }
+
+    private static PostDto withVisibility(PostDto post, PostVisibility visibility) {
+        return new PostDto(post.id(), post.title(), post.description(), post.quota(), post.openAt(), post.closeAt(),
+                post.tags(), post.images(), 0, post.authorName(), post.authorId(), visibility, post.shareCode());
+    }
+
+    private static List<Long> ids(CursorPageResponse<PostDto> page) {
+        return page.content().stream().map(PostDto::id).toList();
+    }
+
+    private void clearFeed() {
+        redisService.deleteKeys(PublicFeedCache.FEED_KEY, PublicFeedCache.POSTS_KEY,
+                PublicFeedCache.READY_KEY, PublicFeedCache.LOCK_KEY);
+    }
+}
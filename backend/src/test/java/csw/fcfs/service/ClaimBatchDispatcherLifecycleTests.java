@@ -0,0 +1,69 @@
+package csw.fcfs.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 종료 시 남은 배치를 실행하고 응답까지 기다리는지 (Redis 없이 AsyncRedisService mock)
+ */
+public class ClaimBatchDispatcherLifecycleTests {
+
+    private final CompletableFuture<List<String>> response = new CompletableFuture<>();
+    private ClaimBatchDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        AsyncRedisService asyncRedisService = mock(AsyncRedisService.class);
+        when(asyncRedisService.executeListScriptBySha1(any(), anyList(), any(String[].class))).thenReturn(response);
+        RedisService redisService = mock(RedisService.class);
+        when(redisService.getClaimBatchScriptSha1()).thenReturn("sha");
+
+        ClaimBatchProperties properties = new ClaimBatchProperties();
+        properties.setEnabled(true);
+        // window가 끝나기 전에 종료되는 상황
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+
+        dispatcher = new ClaimBatchDispatcher(redisService, asyncRedisService, properties, new SimpleMeterRegistry());
+        dispatcher.start();
+    }
+
+    @Test
+    public void stop_dispatchesOpenBatchesAndWaitsForResponses() throws Exception {
+        CompletableFuture<String> claim = dispatcher.submit(List.of("post:{1}:claimants", "post:{1}:claims_count"), 10, 1L, "a@test.com");
+
+        Thread stopper = Thread.ofPlatform().start(dispatcher::stop);
+        stopper.join(200);
+        // 응답 전에는 stop이 끝나지 않아 AsyncRedisService 연결이 아직 닫히지 않는다
+        assertThat(stopper.isAlive()).isTrue();
+        assertThat(dispatcher.isEnabled()).isFalse();
+
+        response.complete(List.of("SUCCESS"));
+        stopper.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(stopper.isAlive()).isFalse();
+        assertThat(claim.get(1, TimeUnit.SECONDS)).isEqualTo("SUCCESS");
+    }
+
+    @Test
+    public void submitAfterStop_dispatchesImmediately() throws Exception {
+        response.complete(List.of("SUCCESS"));
+        dispatcher.stop();
+
+        CompletableFuture<String> late = dispatcher.submit(List.of("post:{2}:claimants", "post:{2}:claims_count"), 10, 2L, "b@test.com");
+
+        assertThat(late.get(1, TimeUnit.SECONDS)).isEqualTo("SUCCESS");
+    }
+}
@@ -0,0 +1,164 @@
+package csw.fcfs.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import csw.fcfs.claim.ClaimResult;
+import csw.fcfs.claim.ClaimService;
+import csw.fcfs.claim.LuaClaimEngine;
+import csw.fcfs.notification.EmailService;
+import csw.fcfs.post.Post;
+import csw.fcfs.post.PostState;
+import csw.fcfs.post.PostVisibility;
+import csw.fcfs.post.repository.PostRepository;
+import csw.fcfs.user.OAuth2Provider;
+import csw.fcfs.user.Role;
+import csw.fcfs.user.UserAccount;
+import csw.fcfs.user.repository.UserAccountRepository;
+
+@SpringBootTest(properties = "claim.batch.enabled=true")
+@ActiveProfiles("test")
+public class ClaimBatchDispatcherTests {
+
+    private final List<UserAccount> testUsers = new ArrayList<>();
+    private final List<Long> testPostIds = new ArrayList<>();
+    private final String testRunId = String.valueOf(System.currentTimeMillis());
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private ClaimBatchDispatcher claimBatchDispatcher;
+    @Autowired
+    private ClaimService claimService;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private RedisService redisService;
+
+    @AfterEach
+    public void tearDown() {
+        for (Long postId : testPostIds) {
+            redisService.deleteKeys("post:{" + postId + "}:claimants", "post:{" + postId + "}:claims_count",
+                    LuaClaimEngine.seqKey(postId));
+            try {
+                postRepository.deleteById(postId);
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+        for (UserAccount user : testUsers) {
+            try {
+                userAccountRepository.deleteById(user.getId());
+            } catch (Exception e) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    @Test
+    public void batchedClaims_neverOverAllocateUnderContention() throws Exception {
+        int quota = 50;
+        Post post = createPost(quota);
+        List<UserAccount> users = createUsers(500);
+
+        Map<String, AtomicInteger> results = new ConcurrentHashMap<>();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (UserAccount user : users) {
+            futures.add(claimService.claimPostAsync(post.getId(), user.getEmail())
+                    .whenComplete((result, e) -> results.computeIfAbsent(String.valueOf(result), k -> new AtomicInteger())
+                            .incrementAndGet()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertThat(results.get("SUCCESS").get()).isEqualTo(quota);
+        assertThat(results.get("QUOTA_EXCEEDED").get()).isEqualTo(users.size() - quota);
+        assertThat(redisService.getSetSize("post:{" + post.getId() + "}:claimants")).isEqualTo((long) quota);
+    }
+
+    @Test
+    public void batchedClaims_preserveArrivalOrderWithinBatch() throws Exception {
+        // DB 없이 키만으로 배치 스크립트를 검증 (존재하지 않는 게시물 ID 사용)
+        long postId = -System.nanoTime();
+        testPostIds.add(postId);
+        List<String> keys = List.of("post:{" + postId + "}:claimants", "post:{" + postId + "}:claims_count",
+                LuaClaimEngine.seqKey(postId));
+        int quota = 5;
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 20; userId++) {
+            futures.add(claimBatchDispatcher.submit(keys, quota, userId, "user" + userId + "@test.com"));
+        }
+        // 같은 배치 안의 중복 요청
+        CompletableFuture<String> duplicate = claimBatchDispatcher.submit(keys, quota, 1L, "user1@test.com");
+
+        // 먼저 제출한 quota명만 제출 순서대로 순번을 받아 당첨되어야 함
+        for (int i = 0; i < futures.size(); i++) {
+            ClaimResult result = ClaimResult.parse(futures.get(i).get(5, TimeUnit.SECONDS));
+            if (i < quota) {
+                assertThat(result.status()).isEqualTo("SUCCESS");
+                assertThat(result.rank()).isEqualTo(i + 1L);
+            } else {
+                assertThat(result.status()).isEqualTo("QUOTA_EXCEEDED");
+            }
+        }
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("ALREADY_CLAIMED");
+        assertThat(redisService.get("post:{" + postId + "}:claims_count")).isEqualTo(String.valueOf(quota));
+    }
+
+    private Post createPost(int quota) {
+        UserAccount owner = UserAccount.builder()
+                .email("batchowner" + testRunId + "-" + testPostIds.size() + "@test.com")
+                .oauth2Provider(OAuth2Provider.GOOGLE)
+                .role(Role.USER)
+                .build();
+        testUsers.add(userAccountRepository.save(owner));
+
+        Post post = postRepository.save(Post.builder()
+                .title("Batch Test Post " + testRunId)
+                .description("Post for micro-batched claim testing")
+                .quota((short) quota)
+                .openAt(Instant.now())
+                .closeAt(Instant.now().plusSeconds(3600))
+                .owner(owner)
+                .state(PostState.OPEN)
+                .visibility(PostVisibility.PUBLIC)
+                .shareCode(UUID.randomUUID())
+                .build());
+        testPostIds.add(post.getId());
+        return post;
+    }
+
+    private List<UserAccount> createUsers(int count) {
+        List<UserAccount> users = new ArrayList<>();
+        int offset = testUsers.size();
+        for (int i = 0; i < count; i++) {
+            users.add(UserAccount.builder()
+                    .email("batchuser" + (offset + i) + "-" + testRunId + "@test.com")
+                    .oauth2Provider(OAuth2Provider.GOOGLE)
+                    .role(Role.USER)
+                    .build());
+        }
+        List<UserAccount> saved = userAccountRepository.saveAll(users);
+        testUsers.addAll(saved);
+        return saved;
+    }
+}
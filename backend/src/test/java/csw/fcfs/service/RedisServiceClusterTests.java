@@ -0,0 +1,162 @@
+package csw.fcfs.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import csw.fcfs.claim.ClaimResult;
+import csw.fcfs.claim.LuaClaimEngine;
+
+/**
+ * redis/setup-redis-cluster.sh 로 띄운 로컬 클러스터 대상 통합 테스트
+ * <p>
+ * 실행 예: REDIS_CLUSTER_NODES=localhost:9001,localhost:9002,localhost:9003 ./gradlew test --tests '*RedisServiceClusterTests'
+ * (비밀번호는 REDIS_CLUSTER_PASSWORD, 기본값은 setup 스크립트의 myredispassword)
+ */
+@EnabledIfEnvironmentVariable(named = "REDIS_CLUSTER_NODES", matches = ".+")
+public class RedisServiceClusterTests {
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static RedisService redisService;
+
+    private final List<Long> postIds = new ArrayList<>();
+
+    @BeforeAll
+    public static void setUpCluster() {
+        RedisClusterConfiguration config = new RedisClusterConfiguration(
+                Arrays.asList(System.getenv("REDIS_CLUSTER_NODES").split(",")));
+        String password = System.getenv().getOrDefault("REDIS_CLUSTER_PASSWORD", "myredispassword");
+        if (!password.isEmpty()) {
+            config.setPassword(password);
+        }
+
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        redisService = new RedisService(redisTemplate);
+        redisService.loadScriptSha1s();
+    }
+
+    @AfterAll
+    public static void tearDownCluster() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        for (Long postId : postIds) {
+            redisService.deleteKeys(claimantsKey(postId), countKey(postId), LuaClaimEngine.seqKey(postId));
+        }
+    }
+
+    @Test
+    public void claimAndDeclaim_routeToEveryMasterWithDeclaredKeys() {
+        // 여러 게시물을 만들어 모든 master의 슬롯을 거치도록 함
+        Set<String> masters = new HashSet<>();
+        for (long i = 0; i < 64; i++) {
+            Long postId = uniquePostId(i);
+            masters.add(masterFor(claimantsKey(postId)));
+
+            assertThat(claim(postId, 1L, 1)).isEqualTo("SUCCESS");
+            assertThat(claim(postId, 2L, 1)).isEqualTo("QUOTA_EXCEEDED");
+            assertThat(declaim(postId, 1L)).isEqualTo("SUCCESS");
+            assertThat(declaim(postId, 1L)).isEqualTo("NOT_CLAIMED");
+            assertThat(redisService.get(countKey(postId))).isEqualTo("0");
+        }
+        assertThat(masters).as("posts should span several masters").hasSizeGreaterThan(1);
+    }
+
+    @Test
+    public void evalSha_recoversFromNoScriptAfterScriptCacheLoss() {
+        // failover 후 새 master처럼 모든 노드의 스크립트 캐시를 비움 (Lettuce 클러스터는 SCRIPT FLUSH를 전 노드에 전파)
+        try (RedisClusterConnection conn = connectionFactory.getClusterConnection()) {
+            conn.scriptingCommands().scriptFlush();
+        }
+
+        for (long i = 0; i < 64; i++) {
+            Long postId = uniquePostId(i);
+            assertThat(claim(postId, 1L, 5)).isEqualTo("SUCCESS");
+            assertThat(claim(postId, 1L, 5)).isEqualTo("ALREADY_CLAIMED");
+            assertThat(declaim(postId, 1L)).isEqualTo("SUCCESS");
+        }
+    }
+
+    @Test
+    public void getSetSizes_pipelinesScardAcrossMasters() {
+        List<String> keys = new ArrayList<>();
+        Set<String> masters = new HashSet<>();
+        for (long i = 0; i < 64; i++) {
+            Long postId = uniquePostId(i);
+            keys.add(claimantsKey(postId));
+            masters.add(masterFor(claimantsKey(postId)));
+            for (long userId = 1; userId <= i % 4; userId++) {
+                claim(postId, userId, 10);
+            }
+        }
+
+        Map<String, Long> sizes = redisService.getSetSizes(keys);
+
+        assertThat(masters).hasSizeGreaterThan(1);
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(sizes.get(keys.get(i))).isEqualTo(i % 4L);
+        }
+    }
+
+    private Long uniquePostId(long i) {
+        Long postId = System.nanoTime() % 1_000_000_000L * 100 + i;
+        postIds.add(postId);
+        return postId;
+    }
+
+    private String claim(Long postId, Long userId, int quota) {
+        return ClaimResult.parse(redisService.executeScriptBySha1(
+                redisService.getClaimScriptSha1(),
+                List.of(claimantsKey(postId), countKey(postId), LuaClaimEngine.seqKey(postId)),
+                String.valueOf(userId), String.valueOf(quota))).status();
+    }
+
+    private String declaim(Long postId, Long userId) {
+        return redisService.executeScriptBySha1(
+                redisService.getDeclaimScriptSha1(),
+                List.of(claimantsKey(postId), countKey(postId)),
+                String.valueOf(userId));
+    }
+
+    private String masterFor(String key) {
+        try (RedisClusterConnection conn = connectionFactory.getClusterConnection()) {
+            RedisClusterNode node = conn.clusterGetNodeForKey(key.getBytes());
+            return node.getHost() + ":" + node.getPort();
+        }
+    }
+
+    private static String claimantsKey(Long postId) {
+        return "post:{" + postId + "}:claimants";
+    }
+
+    private static String countKey(Long postId) {
+        return "post:{" + postId + "}:claims_count";
+    }
+}
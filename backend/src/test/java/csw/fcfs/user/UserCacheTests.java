@@ -0,0 +1,70 @@
+package csw.fcfs.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import csw.fcfs.user.repository.UserAccountRepository;
+
+/**
+ * 토큰 role/premium 갱신 (계층 캐시 대신 메모리 캐시)
+ */
+public class UserCacheTests {
+
+    private UserAccountRepository userAccountRepository;
+    private UserCache userCache;
+
+    private final UserAccount user = UserAccount.builder()
+            .id(42L)
+            .email("cached@test.com")
+            .oauth2Provider(OAuth2Provider.GOOGLE)
+            .role(Role.ADMIN)
+            .isPremium(true)
+            .build();
+
+    @BeforeEach
+    public void setUp() {
+        userAccountRepository = mock(UserAccountRepository.class);
+        when(userAccountRepository.findById(42L)).thenReturn(Optional.of(user));
+        userCache = new UserCache(userAccountRepository, new ConcurrentMapCacheManager(UserCache.CACHE_NAME));
+        userCache.initUsers();
+    }
+
+    @Test
+    public void refresh_replacesTokenClaimsWithCachedUser() {
+        AuthenticatedUser fromToken = new AuthenticatedUser(42L, "cached@test.com", Role.USER, false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(userCache.refresh(fromToken))
+                    .isEqualTo(new AuthenticatedUser(42L, "cached@test.com", Role.ADMIN, true));
+        }
+        verify(userAccountRepository, times(1)).findById(42L);
+    }
+
+    @Test
+    public void evict_reloadsUser() {
+        AuthenticatedUser fromToken = new AuthenticatedUser(42L, "cached@test.com", Role.USER, false);
+        userCache.refresh(fromToken);
+
+        userCache.evict(42L, "cached@test.com");
+        userCache.refresh(fromToken);
+
+        verify(userAccountRepository, times(2)).findById(42L);
+    }
+
+    @Test
+    public void unknownUser_keepsTokenClaims() {
+        AuthenticatedUser fromToken = new AuthenticatedUser(7L, "gone@test.com", Role.USER, false);
+        when(userAccountRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThat(userCache.refresh(fromToken)).isSameAs(fromToken);
+    }
+}